@@ -12,15 +12,19 @@ import org.springframework.jdbc.datasource.DriverManagerDataSource;
 
 import javax.sql.DataSource;
 
-@Import(V2Config.class)
-//@Import(QuerydslConfig.class)
-//@Import(SpringDataJpaConfig.class)
-//@Import(JpaConfig.class)
-//@Import(MyBatisConfig.class)
-//@Import(JdbcTemplateV3Config.class)
-//@Import(JdbcTemplateV2Config.class)
-//@Import(JdbcTemplateV1Config.class)
-//@Import(MemoryConfig.class)
+// *** 저장소 backend는 itemservice.backend 속성으로 선택 (기본값 v2)
+// - backend 설정들은 모두 @Import 해두고, 각 설정의 @ConditionalOnProperty로 하나만 등록
+//   memory / jdbc-v1 / jdbc-v2 / jdbc-v3 / mybatis / jpa / spring-data-jpa / querydsl / v2 / sharded
+// - 선택되지 않은 JPA/MyBatis의 자동 설정은 BackendEnvironmentPostProcessor가 제외
+@Import({
+		MemoryConfig.class, JdbcTemplateV1Config.class, JdbcTemplateV2Config.class, JdbcTemplateV3Config.class,
+		MyBatisConfig.class, JpaConfig.class, SpringDataJpaConfig.class, QuerydslConfig.class, V2Config.class,
+		ShardingConfig.class,
+		AsyncConfig.class, R2dbcConfig.class, RoutingDataSourceConfig.class, CqrsConfig.class, ImportConfig.class,
+		GeneratorConfig.class, WarmupConfig.class, StartupReportConfig.class, ShadowConfig.class,
+		HttpCacheConfig.class, StatsConfig.class, OutboxConfig.class, ItemWriteConfig.class, DeadlineConfig.class,
+		ConcurrencyLimitConfig.class, ConnectionProfilerConfig.class, LazyConnectionConfig.class,
+		PoolTunerConfig.class})
 // *** @Import 어노테이션
 // - @Configuration 어노테이션이 붙은 클래스간의 계층을 구성하거나 이어줄 때 사용
 // 1. @SpringBootApplication 어노테이션은 @Configuration 어노테이션을 포함하지만 ComponentScan에서 제외 대상이 아님
@@ -0,0 +1,94 @@
+package hello.itemservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import hello.itemservice.service.ItemService;
+import hello.itemservice.service.async.AsyncItemService;
+import hello.itemservice.service.async.ExecutorAsyncItemService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AsyncItemService 설정
+ *  - itemservice.async.pool-size : executor 스레드 수 (0이면 Hikari의 maximumPoolSize와 동일하게)
+ *  - itemservice.async.queue-capacity : 스레드가 모두 사용중일 때 대기할 수 있는 작업 수
+ *  - itemservice.async.virtual-threads : JDK 21 이상이면 virtual thread executor 사용
+ */
+@Slf4j
+@Configuration
+public class AsyncConfig {
+
+    @Value("${itemservice.async.pool-size:0}")
+    private int poolSize;
+
+    @Value("${itemservice.async.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${itemservice.async.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    // *** executor를 ExecutorService 타입의 Bean으로 등록하지 않는 이유
+    // - Executor Bean이 있으면 SpringBoot가 applicationTaskExecutor를 자동 등록하지 않음
+    //   -> MVC의 Callable/StreamingResponseBody 처리용 executor까지 바뀌어버리므로 내부에서만 사용
+    @Bean
+    public AsyncItemService asyncItemService(ItemService itemService, DataSource dataSource) {
+        return new ExecutorAsyncItemService(itemService, itemServiceExecutor(dataSource));
+    }
+
+    private ExecutorService itemServiceExecutor(DataSource dataSource) {
+        if (virtualThreads) {
+            ExecutorService executor = virtualThreadExecutor();
+            if (executor != null) {
+                // * virtual thread는 개수 제한이 없으므로 DB 동시 실행 수는 커넥션 풀이 제한
+                log.info("async item service executor = virtual thread");
+                return executor;
+            }
+        }
+
+        int threads = poolSize > 0 ? poolSize : connectionPoolSize(dataSource);
+        log.info("async item service executor = fixed thread pool, threads={}, queueCapacity={}", threads, queueCapacity);
+
+        // *** 고정 크기 + 제한된 크기의 큐 -> 큐까지 가득 차면 AbortPolicy로 RejectedExecutionException
+        // - 요청에는 503 + Retry-After로 응답 (AsyncRejectedExceptionHandler)
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("item-async-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor()는 JDK 21부터 존재 -> 컴파일 대상(Java 11)에서 직접 호출할 수 없으므로 리플렉션 사용
+    private ExecutorService virtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (NoSuchMethodException e) {
+            log.warn("virtual thread를 지원하지 않는 JDK입니다. 고정 크기 스레드풀을 사용합니다. java.version={}",
+                    System.getProperty("java.version"));
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("virtual thread executor 생성 실패", e);
+        }
+    }
+
+    private int connectionPoolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            log.warn("커넥션 풀 크기 확인 실패", e);
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,90 @@
+package hello.itemservice.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * itemservice.backend로 선택되지 않은 persistence 스택의 자동 설정을 제외
+ *  - build.gradle에는 JPA/Spring Data JPA/MyBatis가 모두 있으므로 그대로 두면 매 시작마다 전부 초기화됨
+ *    (EntityManagerFactory 생성 + entity 스캔, Spring Data repository 스캔, MyBatis mapper 스캔)
+ *  - spring.autoconfigure.exclude에 이미 있는 값(R2DBC 등)은 유지하고 뒤에 추가
+ *  - itemservice.shadow.backend가 있으면 두 backend 모두 사용하지 않는 것만 제외
+ *  - DataSource/JdbcTemplate/트랜잭션 매니저는 모든 backend에서 사용하므로 제외하지 않음
+ *    -> JPA가 빠지면 DataSourceTransactionManager가 자동 등록됨
+ * *** 자동 설정 목록이 결정되기 전에 적용되어야 하므로 META-INF/spring.factories에 등록
+ */
+public class BackendEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String BACKEND_PROPERTY = "itemservice.backend";
+    static final String DEFAULT_BACKEND = "v2";
+    static final String SHADOW_BACKEND_PROPERTY = "itemservice.shadow.backend";
+
+    private static final String EXCLUDE_PROPERTY = "spring.autoconfigure.exclude";
+
+    private static final List<String> JPA = List.of(
+            "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration");
+    private static final List<String> SPRING_DATA_JPA = List.of(
+            "org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration");
+    private static final List<String> MYBATIS = List.of(
+            "org.mybatis.spring.boot.autoconfigure.MybatisAutoConfiguration",
+            "org.mybatis.spring.boot.autoconfigure.MybatisLanguageDriverAutoConfiguration");
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        Binder binder = Binder.get(environment);
+        String backend = binder.bind(BACKEND_PROPERTY, String.class).orElse(DEFAULT_BACKEND);
+
+        Set<String> excludes = new LinkedHashSet<>(
+                binder.bind(EXCLUDE_PROPERTY, Bindable.listOf(String.class)).orElse(List.of()));
+        List<String> unused = new ArrayList<>(unusedAutoConfigurations(backend));
+        // * shadow 조회 backend가 있으면 그 backend가 사용하는 자동 설정도 남겨둠
+        binder.bind(SHADOW_BACKEND_PROPERTY, String.class)
+                .ifBound(shadowBackend -> unused.retainAll(unusedAutoConfigurations(shadowBackend)));
+        excludes.addAll(unused);
+
+        environment.getPropertySources().addFirst(new MapPropertySource("itemserviceBackendExcludes",
+                Map.of(EXCLUDE_PROPERTY, String.join(",", excludes))));
+    }
+
+    static List<String> unusedAutoConfigurations(String backend) {
+        List<String> excludes = new ArrayList<>();
+        switch (backend) {
+            case "v2":
+            case "spring-data-jpa":
+                excludes.addAll(MYBATIS);
+                break;
+            case "jpa":
+            case "querydsl":
+                excludes.addAll(MYBATIS);
+                excludes.addAll(SPRING_DATA_JPA);
+                break;
+            case "mybatis":
+                excludes.addAll(JPA);
+                excludes.addAll(SPRING_DATA_JPA);
+                break;
+            // * sharded는 shard마다 SqlSessionFactory를 직접 만들기 때문에 MyBatis 자동 설정이 필요 없음
+            case "memory":
+            case "jdbc-v1":
+            case "jdbc-v2":
+            case "jdbc-v3":
+            case "sharded":
+                excludes.addAll(JPA);
+                excludes.addAll(SPRING_DATA_JPA);
+                excludes.addAll(MYBATIS);
+                break;
+            default:
+                throw new IllegalArgumentException("지원하지 않는 " + BACKEND_PROPERTY + ": " + backend);
+        }
+        return excludes;
+    }
+}
@@ -0,0 +1,77 @@
+package hello.itemservice.config;
+
+import hello.itemservice.web.AimdConcurrencyLimiter;
+import hello.itemservice.web.ConcurrencyLimitInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * DB를 사용하는 item 요청의 적응형 동시 처리 제한 - itemservice.concurrency-limit.enabled=true 일 때만 등록
+ *  - 조회(GET)와 저장/수정(POST)은 서로 다른 limiter -> 조회가 몰려도 저장이 밀리지 않음
+ *  - 커넥션 풀이 포화되면 Tomcat 스레드가 풀을 기다리며 쌓이는 대신 바로 503 -> 정적 페이지 등 다른 요청은 영향 없음
+ *  - itemservice.concurrency-limit.{read,write}.initial-limit / min-limit / max-limit : limiter별 제한값 범위
+ *  - itemservice.concurrency-limit.latency-threshold-ms : 이 시간보다 오래 걸리면 제한을 줄임
+ *  - itemservice.concurrency-limit.backoff-ratio : 줄일 때 곱하는 비율
+ *  - 화면만 보여주는 /items/add(GET)와 오래 걸리는 것이 정상인 export/stream은 제외
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "itemservice.concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${itemservice.concurrency-limit.latency-threshold-ms:500}")
+    private long latencyThresholdMs;
+
+    @Value("${itemservice.concurrency-limit.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Value("${itemservice.concurrency-limit.retry-after-seconds:1}")
+    private String retryAfterSeconds;
+
+    @Value("${itemservice.concurrency-limit.read.initial-limit:20}")
+    private int readInitialLimit;
+
+    @Value("${itemservice.concurrency-limit.read.min-limit:2}")
+    private int readMinLimit;
+
+    @Value("${itemservice.concurrency-limit.read.max-limit:200}")
+    private int readMaxLimit;
+
+    @Value("${itemservice.concurrency-limit.write.initial-limit:10}")
+    private int writeInitialLimit;
+
+    @Value("${itemservice.concurrency-limit.write.min-limit:2}")
+    private int writeMinLimit;
+
+    @Value("${itemservice.concurrency-limit.write.max-limit:50}")
+    private int writeMaxLimit;
+
+    @Bean
+    public AimdConcurrencyLimiter readConcurrencyLimiter() {
+        return new AimdConcurrencyLimiter("read", readInitialLimit, readMinLimit, readMaxLimit,
+                latencyThresholdMs, backoffRatio, meterRegistry);
+    }
+
+    @Bean
+    public AimdConcurrencyLimiter writeConcurrencyLimiter() {
+        return new AimdConcurrencyLimiter("write", writeInitialLimit, writeMinLimit, writeMaxLimit,
+                latencyThresholdMs, backoffRatio, meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConcurrencyLimitInterceptor(readConcurrencyLimiter(), "GET", retryAfterSeconds))
+                .addPathPatterns("/items", "/items/*", "/items/*/edit")
+                .excludePathPatterns("/items/add", "/items/export", "/items/stream");
+        registry.addInterceptor(new ConcurrencyLimitInterceptor(writeConcurrencyLimiter(), "POST", retryAfterSeconds))
+                .addPathPatterns("/items/add", "/items/*/edit");
+    }
+}
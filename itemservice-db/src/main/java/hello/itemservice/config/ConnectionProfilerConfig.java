@@ -0,0 +1,42 @@
+package hello.itemservice.config;
+
+import hello.itemservice.datasource.ConnectionHoldProfiler;
+import hello.itemservice.web.ConnectionUsageInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 커넥션 보유 시간 측정 - itemservice.connection-profiler.enabled=true 일 때만 등록
+ *  - dataSource Bean을 ConnectionHoldProfiler로 감쌈 (가장 안쪽 -> 실제로 풀에서 꺼낸 시간만 측정)
+ *  - 모든 요청에 ConnectionUsageInterceptor 적용 -> endpoint별 메트릭 + 요청 단위 합계
+ *  - itemservice.connection-profiler.idle-threshold-ms : SQL 없이 이 시간보다 오래 잡고 있던 커넥션을 flagged로 셈
+ *  - routing DataSource(LazyConnectionDataSourceProxy)를 쓰는 경우에는 그 바깥을 감싸므로 논리적인 커넥션 기준으로 측정됨
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "itemservice.connection-profiler.enabled", havingValue = "true")
+public class ConnectionProfilerConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    // * BeanPostProcessor는 다른 Bean보다 먼저 만들어져야 하므로 static + 필요한 Bean은 ObjectProvider로 늦게 가져옴
+    @Bean
+    public static DataSourceWrapper connectionProfilerPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistryProvider,
+            @Value("${itemservice.connection-profiler.idle-threshold-ms:100}") long idleThresholdMs) {
+        return new DataSourceWrapper(DataSourceWrapper.PROFILER, dataSource ->
+                new ConnectionHoldProfiler(dataSource, meterRegistryProvider.getObject(), idleThresholdMs));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConnectionUsageInterceptor(meterRegistry));
+    }
+}
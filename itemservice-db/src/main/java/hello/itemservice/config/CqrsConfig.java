@@ -0,0 +1,61 @@
+package hello.itemservice.config;
+
+import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.service.ItemService;
+import hello.itemservice.service.cqrs.CqrsItemService;
+import hello.itemservice.service.cqrs.ItemReadModel;
+import hello.itemservice.service.cqrs.ItemReadModelUpdater;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * CQRS 읽기 모델 설정 - itemservice.cqrs.enabled=true 일 때만 등록
+ *  - 선택된 backend 설정(V2Config 등)의 itemService를 쓰기용으로 감싸는 @Primary ItemService 등록
+ *    -> 컨트롤러(AsyncItemService)는 CqrsItemService를 주입받고, 목록/상세 조회는 DB를 사용하지 않음
+ *  - 쓰기와 변경 이벤트 발행은 하나의 트랜잭션 (memory/sharded backend는 트랜잭션 없이)
+ *  - itemservice.cqrs.consistency-check-interval-ms : DB와의 정합성 검사 주기
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "itemservice.cqrs.enabled", havingValue = "true")
+public class CqrsConfig {
+
+    @Value("${itemservice.backend:v2}")
+    private String backend;
+
+    @Bean
+    public ItemReadModel itemReadModel() {
+        return new ItemReadModel();
+    }
+
+    @Bean
+    public ItemReadModelUpdater itemReadModelUpdater(ItemRepository itemRepository, MeterRegistry meterRegistry) {
+        return new ItemReadModelUpdater(itemReadModel(), itemRepository, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public ItemService cqrsItemService(@Qualifier("itemService") ItemService itemService,
+                                       ApplicationEventPublisher eventPublisher,
+                                       PlatformTransactionManager transactionManager) {
+        return new CqrsItemService(itemService, itemReadModel(), eventPublisher, transactionOperations(transactionManager));
+    }
+
+    // * sharded는 shard마다 DB가 다르므로 하나의 트랜잭션으로 묶을 수 없음
+    private TransactionOperations transactionOperations(PlatformTransactionManager transactionManager) {
+        if ("memory".equals(backend) || "sharded".equals(backend)) {
+            return TransactionOperations.withoutTransaction();
+        }
+        return new TransactionTemplate(transactionManager);
+    }
+}
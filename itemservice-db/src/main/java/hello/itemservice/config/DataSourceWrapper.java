@@ -0,0 +1,57 @@
+package hello.itemservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.util.function.UnaryOperator;
+
+/**
+ * dataSource Bean을 감싸는 BeanPostProcessor
+ *  - 여러 설정이 같은 dataSource를 감쌀 때 order가 작은 것이 먼저 감쌈 -> 안쪽(실제 풀에 가까운 쪽)
+ *    DEADLINE(query timeout, 풀 대기) -> PROFILER(커넥션 보유 시간) -> LAZY(첫 statement까지 가져오기 미룸) 순서
+ *  - pools() : dataSource Bean 대신 모든 HikariDataSource Bean(커넥션 풀)을 감쌈
+ *    -> routing의 primary/replica처럼 dataSource Bean 안쪽에 있는 풀에도 적용
+ *  - 감싼 DataSource가 dataSource Bean이 되므로 close()로 안쪽까지 닫아야 함 (TargetDataSources 참고)
+ *  - Ordered는 Bean을 만들기 전에 타입으로 확인하므로 @Bean 메서드의 반환 타입을 이 클래스로 선언해야 함
+ */
+class DataSourceWrapper implements BeanPostProcessor, Ordered {
+
+    static final int DEADLINE = Ordered.HIGHEST_PRECEDENCE;
+    static final int PROFILER = 0;
+    static final int LAZY = Ordered.LOWEST_PRECEDENCE;
+
+    private final int order;
+    private final boolean pools;
+    private final UnaryOperator<DataSource> wrapper;
+
+    DataSourceWrapper(int order, UnaryOperator<DataSource> wrapper) {
+        this(order, false, wrapper);
+    }
+
+    private DataSourceWrapper(int order, boolean pools, UnaryOperator<DataSource> wrapper) {
+        this.order = order;
+        this.pools = pools;
+        this.wrapper = wrapper;
+    }
+
+    static DataSourceWrapper pools(int order, UnaryOperator<DataSource> wrapper) {
+        return new DataSourceWrapper(order, true, wrapper);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        boolean target = pools ? bean instanceof HikariDataSource
+                : "dataSource".equals(beanName) && bean instanceof DataSource;
+        if (target) {
+            return wrapper.apply((DataSource) bean);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return order;
+    }
+}
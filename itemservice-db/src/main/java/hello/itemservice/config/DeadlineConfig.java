@@ -0,0 +1,41 @@
+package hello.itemservice.config;
+
+import hello.itemservice.datasource.DeadlineDataSource;
+import hello.itemservice.web.RequestDeadlineInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 요청 마감 시각 -> JDBC query timeout 설정 - itemservice.deadline.enabled=true 일 때만 등록
+ *  - itemservice.deadline.timeout-ms : item 요청 하나가 DB 작업에 쓸 수 있는 최대 시간 (헤더로 더 짧게 요청 가능)
+ *  - 커넥션 풀(HikariDataSource Bean)마다 DeadlineDataSource로 감쌈 (BeanPostProcessor)
+ *    -> 기본은 dataSource Bean 자체, routing이면 primary/replica 풀 (LazyConnectionDataSourceProxy의 안쪽)
+ *  - 풀에서 기다리는 시간은 요청마다 남은 시간까지만 - 풀의 connectionTimeout은 바꾸지 않음
+ *    -> 마감이 없는 export/stream, 적재, 스케줄러 등은 기존 connectionTimeout 그대로
+ *  - export/stream은 결과 전체를 오래 내려보내는 요청이므로 제외
+ *  - sharded backend의 shard DataSource는 ShardingConfig가 직접 만들므로 적용되지 않음 (shard.timeout-ms로 제한)
+ */
+@Configuration
+@ConditionalOnProperty(name = "itemservice.deadline.enabled", havingValue = "true")
+public class DeadlineConfig implements WebMvcConfigurer {
+
+    @Value("${itemservice.deadline.timeout-ms:3000}")
+    private long timeoutMs;
+
+    // * BeanPostProcessor는 다른 Bean보다 먼저 만들어져야 하므로 static
+    @Bean
+    public static DataSourceWrapper deadlineDataSourcePostProcessor() {
+        return DataSourceWrapper.pools(DataSourceWrapper.DEADLINE, DeadlineDataSource::new);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestDeadlineInterceptor(timeoutMs))
+                .addPathPatterns("/items", "/items/**")
+                .excludePathPatterns("/items/export", "/items/stream");
+    }
+}
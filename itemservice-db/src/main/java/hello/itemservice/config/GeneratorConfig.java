@@ -0,0 +1,43 @@
+package hello.itemservice.config;
+
+import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.service.generator.ItemDataGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * 성능 테스트용 데이터 생성 - perf 프로필일 때만 등록 (local 프로필의 TestDataInit 대신 사용)
+ *  ex) --spring.profiles.active=perf --itemservice.generator.count=1000000
+ *  - itemservice.generator.seed : 같은 seed면 항상 같은 데이터
+ *  - itemservice.generator.name-skew / price-skew : Zipf 분포의 지수 (클수록 치우침)
+ */
+@Configuration
+@Profile("perf")
+public class GeneratorConfig {
+
+    @Value("${itemservice.generator.seed:42}")
+    private long seed;
+
+    @Value("${itemservice.generator.name-skew:1.1}")
+    private double nameSkew;
+
+    @Value("${itemservice.generator.price-skew:1.2}")
+    private double priceSkew;
+
+    @Bean
+    public ItemDataGenerator itemDataGenerator() {
+        return new ItemDataGenerator(seed, nameSkew, priceSkew);
+    }
+
+    @Bean
+    public ApplicationRunner perfDataInit(ItemRepository itemRepository, PlatformTransactionManager transactionManager,
+                                          @Value("${itemservice.generator.count:100000}") long count,
+                                          @Value("${itemservice.generator.batch-size:1000}") int batchSize,
+                                          @Value("${itemservice.generator.threads:4}") int threads) {
+        return args -> itemDataGenerator().generate(itemRepository, transactionManager, count, batchSize, threads);
+    }
+}
@@ -0,0 +1,44 @@
+package hello.itemservice.config;
+
+import hello.itemservice.service.version.ItemVersionAspect;
+import hello.itemservice.service.version.ItemVersionTracker;
+import hello.itemservice.web.ItemEtagInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * item 페이지의 ETag/조건부 GET 설정 - itemservice.http-cache.enabled=true 일 때만 등록
+ *  - itemservice.http-cache.cache-control : item 페이지 응답의 Cache-Control 헤더
+ *    ex) no-cache -> 브라우저/중간 캐시가 저장은 하되 매번 If-None-Match로 확인 (변경이 없으면 304)
+ *        private, max-age=10 -> 10초 동안은 서버에 묻지 않고 캐시 사용
+ *  - 버전은 메모리에만 있으므로 이 애플리케이션만 DB에 쓰는 경우에만 사용 (ItemVersionTracker)
+ *  - "/items/*"에 걸리지만 item 페이지가 아닌 add/export/stream/stats는 제외
+ */
+@Configuration
+@ConditionalOnProperty(name = "itemservice.http-cache.enabled", havingValue = "true")
+public class HttpCacheConfig implements WebMvcConfigurer {
+
+    @Value("${itemservice.http-cache.cache-control:no-cache}")
+    private String cacheControl;
+
+    @Bean
+    public ItemVersionTracker itemVersionTracker() {
+        return new ItemVersionTracker();
+    }
+
+    @Bean
+    public ItemVersionAspect itemVersionAspect() {
+        return new ItemVersionAspect(itemVersionTracker());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ItemEtagInterceptor(itemVersionTracker(), cacheControl))
+                .addPathPatterns("/items", "/items/*", "/items/*/edit")
+                .excludePathPatterns("/items/add", "/items/export", "/items/stream", "/items/stats");
+    }
+}
@@ -0,0 +1,45 @@
+package hello.itemservice.config;
+
+import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.service.importer.ItemCsvImporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+
+/**
+ * CSV/TSV 대량 적재 설정
+ *  - itemservice.import.batch-size : batch 하나(= commit 하나)의 row 수
+ *  - itemservice.import.writer-threads : 동시에 저장하는 스레드 수 (커넥션 풀 크기보다 작게)
+ *  - itemservice.import.queue-capacity : 파싱 후 저장을 기다리는 batch의 최대 개수
+ *  - itemservice.import.file : 지정하면 애플리케이션 시작 시 해당 파일을 적재
+ *    ex) --itemservice.import.file=/data/items.csv
+ */
+@Configuration
+public class ImportConfig {
+
+    @Value("${itemservice.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${itemservice.import.writer-threads:4}")
+    private int writerThreads;
+
+    @Value("${itemservice.import.queue-capacity:8}")
+    private int queueCapacity;
+
+    @Bean
+    public ItemCsvImporter itemCsvImporter(ItemRepository itemRepository, PlatformTransactionManager transactionManager) {
+        return new ItemCsvImporter(itemRepository, transactionManager, batchSize, writerThreads, queueCapacity);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "itemservice.import.file")
+    public ApplicationRunner itemImportRunner(ItemCsvImporter itemCsvImporter,
+                                              @Value("${itemservice.import.file}") String file) {
+        return args -> itemCsvImporter.importFile(Path.of(file));
+    }
+}
@@ -0,0 +1,42 @@
+package hello.itemservice.config;
+
+import hello.itemservice.service.write.ItemWriteAspect;
+import hello.itemservice.service.write.ItemWriteListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Collectors;
+
+/**
+ * item 쓰기 capture 설정 - 재고 집계(StatsConfig)나 outbox(OutboxConfig)가 켜졌을 때만 등록
+ *  - 각 설정이 등록한 ItemWriteListener를 모아서 ItemWriteAspect 하나가 전달
+ *    -> 쓰기를 잡는 pointcut, 겹친 호출 판단, 트랜잭션이 listener마다 따로 생기지 않음
+ */
+@Configuration
+@ConditionalOnExpression("${itemservice.stats.enabled:false} or ${itemservice.outbox.enabled:false}")
+public class ItemWriteConfig {
+
+    @Value("${itemservice.backend:v2}")
+    private String backend;
+
+    @Bean
+    public ItemWriteAspect itemWriteAspect(ObjectProvider<ItemWriteListener> listeners,
+                                           PlatformTransactionManager transactionManager) {
+        return new ItemWriteAspect(listeners.orderedStream().collect(Collectors.toList()),
+                transactionOperations(transactionManager));
+    }
+
+    // * sharded는 shard마다 DB가 다르므로 item 쓰기와 같은 트랜잭션으로 묶을 수 있는 테이블이 없음
+    private TransactionOperations transactionOperations(PlatformTransactionManager transactionManager) {
+        if ("memory".equals(backend) || "sharded".equals(backend)) {
+            return TransactionOperations.withoutTransaction();
+        }
+        return new TransactionTemplate(transactionManager);
+    }
+}
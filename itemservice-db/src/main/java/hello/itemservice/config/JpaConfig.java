@@ -5,6 +5,7 @@ import hello.itemservice.repository.jpa.JpaItemRepository;
 import hello.itemservice.service.ItemService;
 import hello.itemservice.service.ItemServiceV1;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -12,6 +13,7 @@ import javax.persistence.EntityManager;
 
 
 @Configuration
+@ConditionalOnProperty(name = "itemservice.backend", havingValue = "jpa")
 //@RequiredArgsConstructor //생성자를 명시했으므로
 public class JpaConfig {
 
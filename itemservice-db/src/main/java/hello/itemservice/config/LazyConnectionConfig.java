@@ -0,0 +1,43 @@
+package hello.itemservice.config;
+
+import hello.itemservice.datasource.CloseableLazyConnectionDataSourceProxy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * 커넥션 지연 획득 - itemservice.datasource.lazy-connection=true 일 때만 등록
+ *  - dataSource Bean을 LazyConnectionDataSourceProxy로 감쌈 (가장 바깥)
+ *    -> 트랜잭션을 시작해도 첫 statement를 만들 때까지 풀에서 커넥션을 꺼내지 않음
+ *    -> SQL 없이 끝나는 트랜잭션(캐시 적중, 검증 실패 등)은 커넥션을 아예 사용하지 않음
+ *  - autoCommit/readOnly/isolation 설정은 기록해뒀다가 실제 커넥션을 가져올 때 적용
+ *  - 종료 시 안쪽 HikariDataSource까지 닫음 (CloseableLazyConnectionDataSourceProxy)
+ *  - routing DataSource는 이미 LazyConnectionDataSourceProxy이므로 한번 더 감싸지 않음
+ *    -> profiler가 그 바깥을 감쌌을 수 있으므로 DelegatingDataSource를 따라 안쪽까지 확인
+ */
+@Configuration
+@ConditionalOnProperty(name = "itemservice.datasource.lazy-connection", havingValue = "true")
+public class LazyConnectionConfig {
+
+    // * BeanPostProcessor는 다른 Bean보다 먼저 만들어져야 하므로 static
+    @Bean
+    public static DataSourceWrapper lazyConnectionPostProcessor() {
+        return new DataSourceWrapper(DataSourceWrapper.LAZY, dataSource ->
+                hasLazyProxy(dataSource) ? dataSource : new CloseableLazyConnectionDataSourceProxy(dataSource));
+    }
+
+    static boolean hasLazyProxy(DataSource dataSource) {
+        DataSource current = dataSource;
+        while (current instanceof DelegatingDataSource) {
+            if (current instanceof LazyConnectionDataSourceProxy) {
+                return true;
+            }
+            current = ((DelegatingDataSource) current).getTargetDataSource();
+        }
+        return false;
+    }
+}
@@ -4,10 +4,12 @@ import hello.itemservice.repository.ItemRepository;
 import hello.itemservice.repository.memory.MemoryItemRepository;
 import hello.itemservice.service.ItemService;
 import hello.itemservice.service.ItemServiceV1;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@ConditionalOnProperty(name = "itemservice.backend", havingValue = "memory")
 public class MemoryConfig {
 
     // 이후 구현체를 편하게 교체하기 위해 수동으로 Bean 등록
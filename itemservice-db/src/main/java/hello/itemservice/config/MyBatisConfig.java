@@ -6,11 +6,17 @@ import hello.itemservice.repository.mybatis.MyBatisItemRepository;
 import hello.itemservice.service.ItemService;
 import hello.itemservice.service.ItemServiceV1;
 import lombok.RequiredArgsConstructor;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 
 @Configuration
+@ConditionalOnProperty(name = "itemservice.backend", havingValue = "mybatis")
 @RequiredArgsConstructor
 public class MyBatisConfig {
 
@@ -26,6 +32,13 @@ public class MyBatisConfig {
     // *** MyBatis가 생성한 매퍼 구현체는 Exception 변환 처리까지 수행
     //     -> MyBatis에서 발생한 Exception을 스프링 예외 추상화인 DataAccessException에 맞게 변환해서 반환
 
+    private final SqlSessionFactory sqlSessionFactory;
+
+    // *** saveAll()을 BATCH executor로 처리할지 여부
+    //     - 기본 매퍼의 executor는 mybatis.executor-type (simple/reuse/batch)
+    @Value("${itemservice.mybatis.batch-save-all:false}")
+    private boolean batchSaveAll;
+
     @Bean
     public ItemService itemService() {
         return new ItemServiceV1(itemRepository());
@@ -33,6 +46,10 @@ public class MyBatisConfig {
 
     @Bean
     public ItemRepository itemRepository() {
-        return new MyBatisItemRepository(itemMapper);
+        if (!batchSaveAll) {
+            return new MyBatisItemRepository(itemMapper);
+        }
+        ItemMapper batchItemMapper = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH).getMapper(ItemMapper.class);
+        return new MyBatisItemRepository(itemMapper, batchItemMapper);
     }
 }
@@ -0,0 +1,87 @@
+package hello.itemservice.config;
+
+import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.service.outbox.ItemChangeFeed;
+import hello.itemservice.service.outbox.ItemChangeListener;
+import hello.itemservice.service.outbox.ItemOutbox;
+import hello.itemservice.service.outbox.ItemOutboxRelay;
+import hello.itemservice.service.outbox.ItemOutboxWriteListener;
+import hello.itemservice.service.outbox.JdbcItemOutbox;
+import hello.itemservice.service.outbox.MemoryItemOutbox;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * item 변경 outbox 설정 - itemservice.outbox.enabled=true 일 때만 등록
+ *  - memory/sharded backend는 프로세스 메모리(MemoryItemOutbox), 그 외 DB backend는 item_outbox 테이블(JdbcItemOutbox)
+ *  - itemservice.outbox.max-batch-size : ItemChangeFeed.poll() 한번에 읽을 수 있는 최대 건수
+ *  - itemservice.outbox.gap-timeout-ms : 비어있는 sequence 앞에서 기다리는 시간 - 지나면 건너뛰고 이후 poll마다 다시 확인
+ *  - itemservice.outbox.gap-expiry-ms : 건너뛴 sequence를 다시 확인하는 기간 - 지나면 rollback된 것으로 봄
+ *  - itemservice.outbox.poll-interval-ms / batch-size : in-process consumer(ItemOutboxRelay)의 poll 주기와 batch 크기
+ *  - itemservice.outbox.retention-hours / purge-interval-ms : 기록 보관 기간과 삭제 주기
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "itemservice.outbox.enabled", havingValue = "true")
+public class OutboxConfig {
+
+    @Value("${itemservice.backend:v2}")
+    private String backend;
+
+    @Value("${itemservice.outbox.max-batch-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${itemservice.outbox.gap-timeout-ms:5000}")
+    private long gapTimeoutMs;
+
+    @Value("${itemservice.outbox.gap-expiry-ms:600000}")
+    private long gapExpiryMs;
+
+    @Value("${itemservice.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${itemservice.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    @Bean
+    public ItemOutbox itemOutbox(ItemRepository itemRepository, DataSource dataSource) {
+        if (inMemory()) {
+            return new MemoryItemOutbox(itemRepository);
+        }
+        return new JdbcItemOutbox(dataSource);
+    }
+
+    // * 쓰기는 ItemWriteAspect가 잡아서 전달 (ItemWriteConfig)
+    @Bean
+    public ItemOutboxWriteListener itemOutboxWriteListener(ItemOutbox itemOutbox) {
+        return new ItemOutboxWriteListener(itemOutbox);
+    }
+
+    @Bean
+    public ItemChangeFeed itemChangeFeed(ItemOutbox itemOutbox) {
+        return new ItemChangeFeed(itemOutbox, maxBatchSize, Duration.ofMillis(gapTimeoutMs),
+                Duration.ofMillis(gapExpiryMs));
+    }
+
+    @Bean
+    public ItemOutboxRelay itemOutboxRelay(ItemOutbox itemOutbox, ObjectProvider<ItemChangeListener> listeners,
+                                           MeterRegistry meterRegistry) {
+        return new ItemOutboxRelay(itemChangeFeed(itemOutbox), itemOutbox,
+                listeners.orderedStream().collect(Collectors.toList()),
+                batchSize, Duration.ofHours(retentionHours), meterRegistry);
+    }
+
+    // * sharded는 shard마다 DB가 다르므로 item 쓰기와 같은 트랜잭션으로 묶을 수 있는 테이블이 없음
+    private boolean inMemory() {
+        return "memory".equals(backend) || "sharded".equals(backend);
+    }
+}
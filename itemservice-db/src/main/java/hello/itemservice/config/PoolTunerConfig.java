@@ -0,0 +1,42 @@
+package hello.itemservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import hello.itemservice.datasource.HikariPoolTuner;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * 커넥션 풀 크기 자동 조정 - itemservice.pool-tuner.enabled=true 일 때만 등록
+ *  - itemservice.pool-tuner.min-pool-size / max-pool-size : 조정 범위, min-idle : minimumIdle의 하한
+ *  - itemservice.pool-tuner.wait-threshold-ms : 평균 대기 시간이 이보다 길면 커넥션이 부족한 것으로 판단
+ *  - itemservice.pool-tuner.latency-tolerance : 커넥션 사용 시간이 baseline의 몇 배를 넘으면 DB 포화로 판단
+ *  - dataSource를 감싼 DataSource(Deadline, Lazy 등)에서 HikariDataSource를 꺼내서 사용 -> Hikari가 아니면 시작 실패
+ *  - 비동기 executor(AsyncConfig)는 시작 시점의 풀 크기로 만들어지므로, 같이 쓸 때는 itemservice.async.pool-size를 max-pool-size로 지정
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "itemservice.pool-tuner.enabled", havingValue = "true")
+public class PoolTunerConfig {
+
+    @Bean
+    public HikariPoolTuner hikariPoolTuner(DataSource dataSource, MeterRegistry meterRegistry,
+                                           @Value("${itemservice.pool-tuner.min-pool-size:5}") int minPoolSize,
+                                           @Value("${itemservice.pool-tuner.max-pool-size:50}") int maxPoolSize,
+                                           @Value("${itemservice.pool-tuner.min-idle:2}") int minIdle,
+                                           @Value("${itemservice.pool-tuner.wait-threshold-ms:5}") long waitThresholdMs,
+                                           @Value("${itemservice.pool-tuner.latency-tolerance:1.5}") double latencyTolerance,
+                                           @Value("${itemservice.pool-tuner.step:2}") int step) throws SQLException {
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            throw new IllegalStateException("pool-tuner는 HikariDataSource에서만 사용할 수 있습니다. dataSource=" + dataSource);
+        }
+        return new HikariPoolTuner(dataSource.unwrap(HikariDataSource.class), meterRegistry,
+                minPoolSize, maxPoolSize, minIdle, waitThresholdMs, latencyTolerance, step);
+    }
+}
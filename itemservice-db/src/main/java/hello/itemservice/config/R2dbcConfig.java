@@ -0,0 +1,57 @@
+package hello.itemservice.config;
+
+import hello.itemservice.repository.r2dbc.R2dbcItemRepository;
+import hello.itemservice.repository.r2dbc.ReactiveItemRepository;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.Disposable;
+
+/**
+ * R2DBC 리액티브 Repository 설정 - 기존 JDBC 기반 Repository와 함께 띄워서 비교하기 위한 용도
+ *  - itemservice.r2dbc.enabled=true 일 때만 등록
+ *  - itemservice.r2dbc.url : r2dbc:pool:h2:... 형식이면 r2dbc-pool로 커넥션 풀 사용
+ *
+ * *** ConnectionFactory를 Bean으로 등록하지 않는 이유
+ *  - ConnectionFactory Bean이 있으면 SpringBoot가 R2dbcTransactionManager, R2DBC용 schema.sql 초기화를 자동 등록
+ *    -> JPA의 TransactionManager, JDBC의 schema.sql 초기화가 등록되지 않는 문제가 생김
+ *  - 같은 이유로 application.properties에서 R2dbcAutoConfiguration 자체도 제외해둠
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "itemservice.r2dbc.enabled", havingValue = "true")
+public class R2dbcConfig implements DisposableBean {
+
+    private final ConnectionFactory connectionFactory;
+
+    public R2dbcConfig(@Value("${itemservice.r2dbc.url}") String url,
+                       @Value("${itemservice.r2dbc.username:sa}") String username,
+                       @Value("${itemservice.r2dbc.password:}") String password) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionFactory = ConnectionFactories.get(options);
+        log.info("r2dbc connectionFactory = {}", connectionFactory.getMetadata().getName());
+    }
+
+    @Bean
+    public ReactiveItemRepository reactiveItemRepository() {
+        return new R2dbcItemRepository(DatabaseClient.create(connectionFactory));
+    }
+
+    // r2dbc-pool의 ConnectionPool은 reactor의 Disposable - 종료 시 커넥션 정리
+    @Override
+    public void destroy() {
+        if (connectionFactory instanceof Disposable) {
+            ((Disposable) connectionFactory).dispose();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package hello.itemservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import hello.itemservice.datasource.ReplicaLagMonitor;
+import hello.itemservice.datasource.ReplicationRoutingDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import javax.sql.DataSource;
+
+/**
+ * 읽기/쓰기 분리 DataSource 설정 - itemservice.datasource.routing.enabled=true 일 때만 등록
+ *  - primary : 기존 spring.datasource.* 설정 그대로 사용
+ *  - replica : itemservice.datasource.replica.* 설정
+ *  - @Primary DataSource를 직접 등록하므로 SpringBoot의 DataSource 자동 등록은 빠지고,
+ *    JdbcTemplate/MyBatis/JPA 모두 이 DataSource를 주입받아 동일하게 라우팅됨
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "itemservice.datasource.routing.enabled", havingValue = "true")
+public class RoutingDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("itemservice.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${itemservice.datasource.replica.url}") String url,
+                                              @Value("${itemservice.datasource.replica.username:sa}") String username,
+                                              @Value("${itemservice.datasource.replica.password:}") String password) {
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               @Value("${itemservice.datasource.replica.lag-query:}") String lagQuery,
+                                               @Value("${itemservice.datasource.replica.max-lag-seconds:5}") long maxLagSeconds) {
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(replicaDataSource, lagQuery, maxLagSeconds);
+        lagMonitor.checkLag();
+        return lagMonitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor) {
+        ReplicationRoutingDataSource routingDataSource =
+                new ReplicationRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor);
+        routingDataSource.afterPropertiesSet(); // Bean으로 등록하지 않으므로 직접 호출해서 targetDataSources 초기화
+
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
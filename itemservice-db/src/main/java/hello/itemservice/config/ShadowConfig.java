@@ -0,0 +1,112 @@
+package hello.itemservice.config;
+
+import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.jdbctemplate.JdbcTemplateItemRepositoryV1;
+import hello.itemservice.repository.jdbctemplate.JdbcTemplateItemRepositoryV2;
+import hello.itemservice.repository.jdbctemplate.JdbcTemplateItemRepositoryV3;
+import hello.itemservice.repository.jpa.JpaItemRepository;
+import hello.itemservice.repository.jpa.JpaItemRepositoryV2;
+import hello.itemservice.repository.jpa.JpaItemRepositoryV3;
+import hello.itemservice.repository.jpa.SpringDataJpaItemRepository;
+import hello.itemservice.repository.mybatis.ItemMapper;
+import hello.itemservice.repository.mybatis.MyBatisItemRepository;
+import hello.itemservice.service.ItemService;
+import hello.itemservice.service.ItemServiceV1;
+import hello.itemservice.service.shadow.ShadowReadItemService;
+import hello.itemservice.service.shadow.ShadowReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+
+/**
+ * shadow 조회 설정 - itemservice.shadow.backend를 지정했을 때만 등록
+ *  - 선택된 backend(itemservice.backend)의 itemService Bean을 ShadowReadItemService로 감쌈 (BeanPostProcessor)
+ *  - shadow backend의 ItemRepository/ItemService도 Spring Bean으로 등록 (같은 DataSource)
+ *    -> @Transactional, @Repository 예외 변환 등 AOP가 primary와 똑같이 적용됨
+ *    -> autowireCandidate = false : 타입으로 ItemRepository/ItemService를 주입받는 곳에는 주입되지 않음
+ *    -> shadow backend의 자동 설정(JPA/MyBatis)도 필요하므로 BackendEnvironmentPostProcessor가 제외하지 않음
+ *  - 양쪽 모두 ItemService 단위로 응답 시간을 잼 (shadow는 ItemServiceV1 + shadow backend의 ItemRepository)
+ *  - memory는 사용할 수 없음 - MemoryItemRepository의 저장소는 static이라 primary와 같은 데이터를 보게 됨
+ *  - itemservice.shadow.sample-rate : 재실행할 요청의 비율 (0 ~ 1)
+ *  - itemservice.shadow.threads / queue-capacity : 재실행 스레드 수와 대기 큐 크기 (가득 차면 버림)
+ */
+@Configuration
+@ConditionalOnProperty(name = BackendEnvironmentPostProcessor.SHADOW_BACKEND_PROPERTY)
+public class ShadowConfig {
+
+    @Value("${itemservice.shadow.backend}")
+    private String shadowBackend;
+
+    private final DataSource dataSource;
+    private final ObjectProvider<EntityManager> em;
+    private final ObjectProvider<SpringDataJpaItemRepository> springDataJpaItemRepository;
+    private final ObjectProvider<ItemMapper> itemMapper;
+
+    public ShadowConfig(DataSource dataSource, ObjectProvider<EntityManager> em,
+                        ObjectProvider<SpringDataJpaItemRepository> springDataJpaItemRepository,
+                        ObjectProvider<ItemMapper> itemMapper) {
+        this.dataSource = dataSource;
+        this.em = em;
+        this.springDataJpaItemRepository = springDataJpaItemRepository;
+        this.itemMapper = itemMapper;
+    }
+
+    // * BeanPostProcessor는 다른 Bean보다 먼저 만들어져야 하므로 static + 필요한 Bean은 ObjectProvider로 늦게 가져옴
+    @Bean
+    public static BeanPostProcessor shadowItemServicePostProcessor(ObjectProvider<ShadowReader> shadowReaderProvider) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("itemService".equals(beanName) && bean instanceof ItemService) {
+                    return new ShadowReadItemService((ItemService) bean, shadowReaderProvider);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public ShadowReader shadowReader(@Value("${itemservice.shadow.sample-rate:0.1}") double sampleRate,
+                                     @Value("${itemservice.shadow.threads:2}") int threads,
+                                     @Value("${itemservice.shadow.queue-capacity:100}") int queueCapacity,
+                                     MeterRegistry meterRegistry) {
+        return new ShadowReader(shadowItemService(), shadowBackend, sampleRate, threads, queueCapacity, meterRegistry);
+    }
+
+    @Bean(autowireCandidate = false)
+    public ItemService shadowItemService() {
+        return new ItemServiceV1(shadowItemRepository());
+    }
+
+    @Bean(autowireCandidate = false)
+    public ItemRepository shadowItemRepository() {
+        switch (shadowBackend) {
+            case "jdbc-v1":
+                return new JdbcTemplateItemRepositoryV1(dataSource);
+            case "jdbc-v2":
+                return new JdbcTemplateItemRepositoryV2(dataSource);
+            case "jdbc-v3":
+                return new JdbcTemplateItemRepositoryV3(dataSource);
+            case "mybatis":
+                return new MyBatisItemRepository(itemMapper.getObject());
+            case "jpa":
+                return new JpaItemRepository(em.getObject());
+            case "spring-data-jpa":
+                return new JpaItemRepositoryV2(springDataJpaItemRepository.getObject(), em.getObject());
+            case "querydsl":
+            case "v2":
+                return new JpaItemRepositoryV3(em.getObject());
+            case "memory":
+                throw new IllegalArgumentException("memory는 primary와 같은 static 저장소를 사용하므로 shadow backend로 사용할 수 없음");
+            default:
+                throw new IllegalArgumentException("shadow backend로 사용할 수 없음: " + shadowBackend);
+        }
+    }
+}
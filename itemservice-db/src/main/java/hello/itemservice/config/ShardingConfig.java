@@ -0,0 +1,141 @@
+package hello.itemservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import hello.itemservice.datasource.DeadlineDataSource;
+import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.jdbctemplate.JdbcTemplateItemRepositoryV1;
+import hello.itemservice.repository.jdbctemplate.JdbcTemplateItemRepositoryV2;
+import hello.itemservice.repository.jdbctemplate.JdbcTemplateItemRepositoryV3;
+import hello.itemservice.repository.mybatis.ItemMapper;
+import hello.itemservice.repository.mybatis.MyBatisItemRepository;
+import hello.itemservice.repository.shard.ItemShardIdAllocator;
+import hello.itemservice.repository.shard.ShardedItemRepository;
+import hello.itemservice.service.ItemService;
+import hello.itemservice.service.ItemServiceV1;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * item을 여러 DB에 나누어 저장하는 ShardedItemRepository 설정
+ *  - itemservice.shard.urls : shard DB의 jdbc url 목록 (순서 = shard 번호이므로 운영 중에 바꾸면 안됨)
+ *  - itemservice.shard.backend : shard 하나를 처리할 Repository (jdbc-v1, jdbc-v2, jdbc-v3, mybatis)
+ *  - itemservice.shard.init-schema : 시작 시 shard 번호가 인코딩된 identity로 item 테이블 생성
+ *    -> 켜지 않은 경우(직접 만든 테이블)를 포함해서 shard마다 identity를 확인하고, 다르면 시작 실패
+ *  - itemservice.shard.timeout-ms : shard 작업 하나의 timeout - 커넥션 대기 + JDBC query timeout(초 단위 올림)으로 적용
+ *  - itemservice.shard.queue-capacity : 검색(scatter)을 기다리는 작업 수 제한
+ *  - 트랜잭션 매니저는 spring.datasource의 DataSource 기준이므로 shard의 쿼리는 각각 auto commit
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "itemservice.backend", havingValue = "sharded")
+public class ShardingConfig implements DisposableBean {
+
+    @Value("${itemservice.shard.urls}")
+    private List<String> urls;
+
+    @Value("${itemservice.shard.username:sa}")
+    private String username;
+
+    @Value("${itemservice.shard.password:}")
+    private String password;
+
+    @Value("${itemservice.shard.backend:jdbc-v3}")
+    private String backend;
+
+    @Value("${itemservice.shard.timeout-ms:3000}")
+    private long timeoutMs;
+
+    @Value("${itemservice.shard.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${itemservice.shard.init-schema:false}")
+    private boolean initSchema;
+
+    private final List<HikariDataSource> shardDataSources = new ArrayList<>();
+
+    @Bean
+    public ItemService itemService() {
+        return new ItemServiceV1(itemRepository());
+    }
+
+    @Bean
+    public ItemRepository itemRepository() {
+        ItemShardIdAllocator idAllocator = new ItemShardIdAllocator(urls.size());
+        List<ItemRepository> shards = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(i))
+                    .username(username)
+                    .password(password)
+                    .build();
+            dataSource.setPoolName("shard-" + i);
+            // 커넥션을 기다리는 시간도 shard timeout 안으로 (Hikari 최소값 250ms)
+            dataSource.setConnectionTimeout(Math.max(250, timeoutMs));
+            shardDataSources.add(dataSource);
+
+            if (initSchema) {
+                idAllocator.createTableIfNotExists(dataSource, i);
+            }
+            idAllocator.verifyIdentity(dataSource, i);
+            // * shard 작업마다 설정되는 마감 시각을 JDBC query timeout으로 적용
+            shards.add(shardRepository(new DeadlineDataSource(dataSource)));
+        }
+        log.info("sharded item repository backend={}, shards={}", backend, urls);
+        return new ShardedItemRepository(shards, idAllocator, Duration.ofMillis(timeoutMs), queueCapacity);
+    }
+
+    private ItemRepository shardRepository(DataSource dataSource) {
+        switch (backend) {
+            case "jdbc-v1":
+                return new JdbcTemplateItemRepositoryV1(dataSource);
+            case "jdbc-v2":
+                return new JdbcTemplateItemRepositoryV2(dataSource);
+            case "jdbc-v3":
+                return new JdbcTemplateItemRepositoryV3(dataSource);
+            case "mybatis":
+                return new MyBatisItemRepository(itemMapper(dataSource));
+            default:
+                throw new IllegalArgumentException("지원하지 않는 shard backend: " + backend);
+        }
+    }
+
+    // *** MyBatis 자동 설정은 spring.datasource 하나에만 매퍼를 연결하므로, shard마다 SqlSessionFactory를 직접 생성
+    //     - application.properties의 mybatis.* 설정과 동일하게 맞춰줌
+    private ItemMapper itemMapper(DataSource dataSource) {
+        SqlSessionFactoryBean factoryBean = new SqlSessionFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setTypeAliasesPackage("hello.itemservice.domain");
+        factoryBean.setMapperLocations(new ClassPathResource("hello/itemservice/repository/mybatis/ItemMapper.xml"));
+
+        org.apache.ibatis.session.Configuration configuration = new org.apache.ibatis.session.Configuration();
+        configuration.setMapUnderscoreToCamelCase(true);
+        factoryBean.setConfiguration(configuration);
+
+        try {
+            SqlSessionFactory sqlSessionFactory = factoryBean.getObject();
+            return new SqlSessionTemplate(sqlSessionFactory).getMapper(ItemMapper.class);
+        } catch (Exception e) {
+            throw new IllegalStateException("shard SqlSessionFactory 생성 실패", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        shardDataSources.forEach(HikariDataSource::close);
+    }
+}
@@ -7,15 +7,20 @@ import hello.itemservice.repository.jpa.SpringDataJpaItemRepository;
 import hello.itemservice.service.ItemService;
 import hello.itemservice.service.ItemServiceV1;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import javax.persistence.EntityManager;
+
 
 @Configuration
+@ConditionalOnProperty(name = "itemservice.backend", havingValue = "spring-data-jpa")
 @RequiredArgsConstructor
 public class SpringDataJpaConfig {
 
     private final SpringDataJpaItemRepository springDataJpaItemRepository;
+    private final EntityManager em;
 
     @Bean
     public ItemService itemService() {
@@ -24,6 +29,6 @@ public class SpringDataJpaConfig {
 
     @Bean
     public ItemRepository itemRepository() {
-        return new JpaItemRepositoryV2(springDataJpaItemRepository);
+        return new JpaItemRepositoryV2(springDataJpaItemRepository, em);
     }
 }
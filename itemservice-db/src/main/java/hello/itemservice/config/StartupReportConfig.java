@@ -0,0 +1,43 @@
+package hello.itemservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+/**
+ * backend별 시작 시간/메모리 비교용 로그
+ *  - startup : JVM 시작부터 ApplicationReadyEvent까지의 시간
+ *  - heap : itemservice.startup-report.gc=true 이면 GC 후 측정 (backend 간 비교할 때 사용)
+ *  - 같은 설정으로 itemservice.backend만 바꿔가며 실행해서 비교
+ *    ex) --itemservice.backend=jdbc-v3 --itemservice.warmup.enabled=false --itemservice.startup-report.gc=true
+ */
+@Slf4j
+@Configuration
+public class StartupReportConfig {
+
+    @Value("${" + BackendEnvironmentPostProcessor.BACKEND_PROPERTY + ":" + BackendEnvironmentPostProcessor.DEFAULT_BACKEND + "}")
+    private String backend;
+
+    @Value("${itemservice.startup-report.gc:false}")
+    private boolean gcBeforeReport;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report(ApplicationReadyEvent event) {
+        if (gcBeforeReport) {
+            System.gc();
+        }
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        log.info("startup report backend={}, startup={}ms, heapUsed={}MB, nonHeapUsed={}MB, loadedClasses={}, beans={}",
+                backend,
+                ManagementFactory.getRuntimeMXBean().getUptime(),
+                memory.getHeapMemoryUsage().getUsed() / (1024 * 1024),
+                memory.getNonHeapMemoryUsage().getUsed() / (1024 * 1024),
+                ManagementFactory.getClassLoadingMXBean().getLoadedClassCount(),
+                event.getApplicationContext().getBeanDefinitionCount());
+    }
+}
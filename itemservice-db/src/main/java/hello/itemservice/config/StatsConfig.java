@@ -0,0 +1,68 @@
+package hello.itemservice.config;
+
+import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.service.stats.ItemStatsReconciler;
+import hello.itemservice.service.stats.ItemStatsStore;
+import hello.itemservice.service.stats.ItemStatsWriteListener;
+import hello.itemservice.service.stats.JdbcItemStatsStore;
+import hello.itemservice.service.stats.MemoryItemStatsStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * 재고 집계 설정 - itemservice.stats.enabled=true 일 때만 등록
+ *  - 집계는 ItemStatsStore Bean으로 조회 (ItemStatsController) - 쓰기마다 ItemStatsWriteListener가 변화량을 반영 (ItemWriteConfig)
+ *  - memory/sharded backend는 LongAdder(MemoryItemStatsStore), 그 외 DB backend는 item_stats 테이블(JdbcItemStatsStore)
+ *    * sharded는 shard마다 DB가 다르므로 item 쓰기와 같은 트랜잭션으로 묶을 수 있는 테이블이 없음
+ *  - itemservice.stats.reconcile-interval-ms : item 전체 scan과 비교하는 정합성 검사 주기
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "itemservice.stats.enabled", havingValue = "true")
+public class StatsConfig {
+
+    @Value("${itemservice.backend:v2}")
+    private String backend;
+
+    @Bean
+    public ItemStatsStore itemStatsStore(ItemRepository itemRepository, DataSource dataSource) {
+        if (inMemory()) {
+            return new MemoryItemStatsStore(itemRepository);
+        }
+        return new JdbcItemStatsStore(dataSource);
+    }
+
+    @Bean
+    public ItemStatsWriteListener itemStatsWriteListener(ItemStatsStore itemStatsStore) {
+        return new ItemStatsWriteListener(itemStatsStore);
+    }
+
+    @Bean
+    public ItemStatsReconciler itemStatsReconciler(ItemStatsStore itemStatsStore, ItemRepository itemRepository,
+                                                   PlatformTransactionManager transactionManager,
+                                                   MeterRegistry meterRegistry) {
+        return new ItemStatsReconciler(itemStatsStore, itemRepository, transactionOperations(transactionManager),
+                meterRegistry);
+    }
+
+    // * TransactionOperations를 Bean으로 등록하면 자동 설정의 TransactionTemplate이 등록되지 않으므로 직접 생성해서 전달
+    private TransactionOperations transactionOperations(PlatformTransactionManager transactionManager) {
+        if (inMemory()) {
+            return TransactionOperations.withoutTransaction();
+        }
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private boolean inMemory() {
+        return "memory".equals(backend) || "sharded".equals(backend);
+    }
+}
@@ -7,6 +7,7 @@ import hello.itemservice.repository.v2.ItemRepositoryV2;
 import hello.itemservice.service.ItemService;
 import hello.itemservice.service.ItemServiceV2;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -16,6 +17,7 @@ import javax.persistence.EntityManager;
  * 현재 Test는 ItemRepository 인터페이스의 test + JpaRepositoryV3가 주입되어있으므로, Querydsl을 테스트하는 것은 서버 띄운 후 가능
  */
 @Configuration
+@ConditionalOnProperty(name = "itemservice.backend", havingValue = "v2", matchIfMissing = true)
 @RequiredArgsConstructor
 public class V2Config {
 
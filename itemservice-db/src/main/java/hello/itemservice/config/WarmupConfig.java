@@ -0,0 +1,29 @@
+package hello.itemservice.config;
+
+import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.service.ItemService;
+import hello.itemservice.service.warmup.ItemServiceWarmup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * 시작 시 warm-up 설정 - itemservice.warmup.enabled=true 일 때만 등록
+ *  - itemservice.warmup.connections : 미리 만들어 둘 커넥션 수 (0이면 Hikari의 maximumPoolSize)
+ *  - itemservice.warmup.iterations / threads : 반복 실행할 조회 workload의 크기
+ */
+@Configuration
+@ConditionalOnProperty(name = "itemservice.warmup.enabled", havingValue = "true")
+public class WarmupConfig {
+
+    @Bean
+    public ItemServiceWarmup itemServiceWarmup(ItemService itemService, ItemRepository itemRepository, DataSource dataSource,
+                                               @Value("${itemservice.warmup.connections:0}") int connections,
+                                               @Value("${itemservice.warmup.iterations:200}") int iterations,
+                                               @Value("${itemservice.warmup.threads:4}") int threads) {
+        return new ItemServiceWarmup(itemService, itemRepository, dataSource, connections, iterations, threads);
+    }
+}
@@ -0,0 +1,20 @@
+package hello.itemservice.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * 종료 시 안쪽 DataSource까지 닫는 LazyConnectionDataSourceProxy (TargetDataSources 참고)
+ */
+public class CloseableLazyConnectionDataSourceProxy extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    public CloseableLazyConnectionDataSourceProxy(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public void close() throws Exception {
+        TargetDataSources.close(obtainTargetDataSource());
+    }
+}
@@ -0,0 +1,158 @@
+package hello.itemservice.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 커넥션을 가져온 시점부터 반납(close)까지의 시간을 기록하는 DataSource
+ *  - hold : 커넥션을 가져와서 반납할 때까지 / sql : 그 중 statement가 하나라도 열려있던 시간 (실행 + 결과 읽기)
+ *  - hold - sql = SQL 없이 커넥션만 잡고 있던 시간 (트랜잭션 안의 다른 작업, 뷰 렌더링 등) -> 그동안 다른 요청은 풀에서 기다림
+ *  - 메트릭 : itemservice.connection.hold / itemservice.connection.idle (endpoint 태그)
+ *    + idle이 idleThreshold를 넘은 커넥션은 itemservice.connection.idle.flagged 로 세고 로그로 남김
+ *  - 요청 단위의 합계는 ConnectionUsage에 더함 (ConnectionUsageInterceptor가 요청이 끝날 때 기록)
+ * * LazyConnectionDataSourceProxy와 같이 쓸 때는 이 DataSource가 안쪽이어야 실제로 풀에서 꺼낸 시점부터 측정됨
+ */
+@Slf4j
+public class ConnectionHoldProfiler extends DelegatingDataSource implements AutoCloseable {
+
+    private final MeterRegistry meterRegistry;
+    private final long idleThresholdNanos;
+
+    public ConnectionHoldProfiler(DataSource targetDataSource, MeterRegistry meterRegistry, long idleThresholdMillis) {
+        super(targetDataSource);
+        this.meterRegistry = meterRegistry;
+        this.idleThresholdNanos = TimeUnit.MILLISECONDS.toNanos(idleThresholdMillis);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return profile(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return profile(super.getConnection(username, password));
+    }
+
+    // * dataSource Bean을 대신하므로 종료 시 안쪽 DataSource(HikariDataSource)까지 닫음 (TargetDataSources 참고)
+    @Override
+    public void close() throws Exception {
+        TargetDataSources.close(obtainTargetDataSource());
+    }
+
+    private Connection profile(Connection connection) {
+        HeldConnection held = new HeldConnection(connection, ConnectionUsage.current());
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class}, held);
+    }
+
+    private void record(ConnectionUsage usage, long holdNanos, long sqlNanos) {
+        String endpoint = usage == null ? ConnectionUsage.NO_ENDPOINT : usage.getEndpoint();
+        long idleNanos = holdNanos - sqlNanos;
+        timer("itemservice.connection.hold", "커넥션을 가져와서 반납할 때까지의 시간", endpoint)
+                .record(holdNanos, TimeUnit.NANOSECONDS);
+        timer("itemservice.connection.idle", "SQL 없이 커넥션만 잡고 있던 시간", endpoint)
+                .record(idleNanos, TimeUnit.NANOSECONDS);
+        if (idleNanos > idleThresholdNanos) {
+            meterRegistry.counter("itemservice.connection.idle.flagged", "endpoint", endpoint).increment();
+            log.info("connection held outside sql endpoint={}, holdMs={}, sqlMs={}", endpoint,
+                    TimeUnit.NANOSECONDS.toMillis(holdNanos), TimeUnit.NANOSECONDS.toMillis(sqlNanos));
+        }
+        if (usage != null) {
+            usage.record(holdNanos, sqlNanos);
+        }
+    }
+
+    private Timer timer(String name, String description, String endpoint) {
+        return Timer.builder(name).description(description).tag("endpoint", endpoint).register(meterRegistry);
+    }
+
+    /**
+     * 커넥션 하나의 hold/sql 시간 측정
+     *  - 커넥션은 한번에 한 스레드만 사용하므로 동기화하지 않음
+     *  - close()하지 않은 statement는 커넥션을 반납할 때 같이 닫힌 것으로 봄
+     */
+    private class HeldConnection implements InvocationHandler {
+
+        private final Connection target;
+        private final ConnectionUsage usage;
+        private final long acquiredAt = System.nanoTime();
+        private int openStatements;
+        private long sqlStartedAt;
+        private long sqlNanos;
+        private boolean closed;
+
+        HeldConnection(Connection target, ConnectionUsage usage) {
+            this.target = target;
+            this.usage = usage;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            // * 트랜잭션 동기화 등에서 같은 커넥션인지 비교할 때 proxy 자체로 비교되도록
+            if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+                return proxy == args[0];
+            }
+            if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0) {
+                return System.identityHashCode(proxy);
+            }
+            if ("close".equals(method.getName()) && !closed) {
+                closed = true;
+                long now = System.nanoTime();
+                if (openStatements > 0) {
+                    sqlNanos += now - sqlStartedAt;
+                }
+                record(usage, now - acquiredAt, sqlNanos);
+            }
+            Object result = invoke(target, method, args);
+            if (result instanceof Statement) {
+                return statementOpened((Statement) result);
+            }
+            return result;
+        }
+
+        private Statement statementOpened(Statement statement) {
+            if (openStatements++ == 0) {
+                sqlStartedAt = System.nanoTime();
+            }
+            Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                    : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+            boolean[] statementClosed = {false};
+            return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> {
+                        if ("close".equals(method.getName()) && !statementClosed[0]) {
+                            statementClosed[0] = true;
+                            statementClosed();
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private void statementClosed() {
+            if (--openStatements == 0 && !closed) {
+                sqlNanos += System.nanoTime() - sqlStartedAt;
+            }
+        }
+
+        private Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
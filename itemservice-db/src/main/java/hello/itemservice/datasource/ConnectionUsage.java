@@ -0,0 +1,81 @@
+package hello.itemservice.datasource;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 요청 하나가 사용한 커넥션의 합계 - 현재 스레드에 보관 (ThreadLocal)
+ *  - 웹 계층(ConnectionUsageInterceptor)에서 만들고, ConnectionHoldProfiler가 커넥션을 반납할 때마다 더함
+ *  - 다른 스레드에서 이어서 처리하는 경우(AsyncItemService) propagate()로 감싸서 같은 객체에 더함 -> 여러 스레드가 더하므로 LongAdder
+ *  - endpoint : "GET /items/{itemId}" 처럼 method + 매핑 패턴 (메트릭 태그)
+ */
+public class ConnectionUsage {
+
+    public static final String NO_ENDPOINT = "none";
+
+    private static final ThreadLocal<ConnectionUsage> CURRENT = new ThreadLocal<>();
+
+    private final String endpoint;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final LongAdder holdNanos = new LongAdder();
+    private final LongAdder sqlNanos = new LongAdder();
+
+    public ConnectionUsage(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public static ConnectionUsage current() {
+        return CURRENT.get();
+    }
+
+    public static void set(ConnectionUsage usage) {
+        CURRENT.set(usage);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static Runnable propagate(Runnable task) {
+        ConnectionUsage usage = CURRENT.get();
+        if (usage == null) {
+            return task;
+        }
+        return () -> {
+            ConnectionUsage previous = CURRENT.get();
+            CURRENT.set(usage);
+            try {
+                task.run();
+            } finally {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    void record(long holdNanos, long sqlNanos) {
+        connections.incrementAndGet();
+        this.holdNanos.add(holdNanos);
+        this.sqlNanos.add(sqlNanos);
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public int getConnections() {
+        return connections.get();
+    }
+
+    public long getHoldMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(holdNanos.sum());
+    }
+
+    public long getSqlMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(sqlNanos.sum());
+    }
+
+    public long getHoldNanos() {
+        return holdNanos.sum();
+    }
+}
@@ -0,0 +1,155 @@
+package hello.itemservice.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.pool.HikariPool;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 요청의 마감 시각(RequestDeadline)을 JDBC statement의 query timeout으로 적용하는 DataSource
+ *  - JdbcTemplate(setQueryTimeout), MyBatis(timeout 속성), JPA(javax.persistence.query.timeout 힌트)가 결국 호출하는
+ *    Statement.setQueryTimeout()을 DataSource 한 곳에서 처리 -> 모든 backend에 같이 적용되고, 요청마다 남은 시간이 다름
+ *  - 커넥션을 가져올 때 이미 마감이 지났으면 풀에서 꺼내지 않고 바로 SQLTimeoutException
+ *  - 안쪽이 HikariDataSource면 풀에서 기다리는 시간도 남은 시간까지만 (풀의 connectionTimeout은 그대로 -> 마감 없는 사용자는 영향 없음)
+ *  - 각 backend가 직접 더 짧은 timeout을 설정하면 그 값을 사용 (남은 시간보다 길게는 설정할 수 없음)
+ *  - 마감이 없는 스레드(스케줄러 등)의 커넥션은 감싸지 않고 그대로 반환
+ * * 커넥션을 가져온 요청의 마감 시각을 기준으로 함 - 트랜잭션이 커넥션을 잡고 있는 동안 만들어지는 statement 모두 적용
+ * *** 실제 커넥션 풀을 바로 감싸서 사용 (DeadlineConfig) - LazyConnectionDataSourceProxy 등의 바깥에 두면
+ *     풀 대기 시간을 제한할 수 없고, 실제 커넥션을 가져오는 시점도 알 수 없음
+ */
+public class DeadlineDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    public DeadlineDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        RequestDeadline deadline = checkDeadline();
+        if (deadline == null) {
+            return super.getConnection();
+        }
+        return withDeadline(getPooledConnection(deadline), deadline);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        RequestDeadline deadline = checkDeadline();
+        return withDeadline(super.getConnection(username, password), deadline);
+    }
+
+    // * dataSource Bean을 대신하므로 종료 시 안쪽 DataSource(HikariDataSource)까지 닫음 (TargetDataSources 참고)
+    @Override
+    public void close() throws Exception {
+        TargetDataSources.close(obtainTargetDataSource());
+    }
+
+    private RequestDeadline checkDeadline() throws SQLTimeoutException {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline != null && deadline.isExpired()) {
+            throw new SQLTimeoutException("request deadline exceeded before getting connection");
+        }
+        return deadline;
+    }
+
+    // *** 풀의 connectionTimeout을 줄이지 않고 이번 요청만 남은 시간까지 기다림 (HikariPool.getConnection(timeout))
+    // - 풀이 아직 시작되지 않았으면(첫 커넥션) 일반 경로로 가져옴
+    private Connection getPooledConnection(RequestDeadline deadline) throws SQLException {
+        DataSource target = obtainTargetDataSource();
+        if (!(target instanceof HikariDataSource)) {
+            return super.getConnection();
+        }
+        HikariDataSource hikari = (HikariDataSource) target;
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        long remaining = deadline.remainingMillis();
+        if (!(pool instanceof HikariPool) || remaining >= hikari.getConnectionTimeout()) {
+            return super.getConnection();
+        }
+        try {
+            return ((HikariPool) pool).getConnection(remaining);
+        } catch (SQLTransientConnectionException e) {
+            throw new SQLTimeoutException("request deadline exceeded while waiting for connection", e);
+        }
+    }
+
+    private Connection withDeadline(Connection connection, RequestDeadline deadline) {
+        if (deadline == null) {
+            return connection;
+        }
+        // statement를 만들었을 때만(= query timeout을 설정했을 때만) 반납 전에 되돌림
+        AtomicBoolean timeoutApplied = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    // * 트랜잭션 동기화 등에서 같은 커넥션인지 비교할 때 proxy 자체로 비교되도록
+                    if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+                        return proxy == args[0];
+                    }
+                    if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if ("close".equals(method.getName()) && timeoutApplied.get() && !connection.isClosed()) {
+                        resetQueryTimeout(connection);
+                    }
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement) {
+                        timeoutApplied.set(true);
+                        return withDeadline((Statement) result, deadline);
+                    }
+                    return result;
+                });
+    }
+
+    private Statement withDeadline(Statement statement, RequestDeadline deadline) throws SQLException {
+        if (deadline.isExpired()) {
+            statement.close();
+            throw new SQLTimeoutException("request deadline exceeded before executing statement");
+        }
+        statement.setQueryTimeout(deadline.remainingQueryTimeoutSeconds());
+
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if ("setQueryTimeout".equals(method.getName())) {
+                        int seconds = (int) args[0];
+                        int remaining = deadline.remainingQueryTimeoutSeconds();
+                        statement.setQueryTimeout(seconds > 0 ? Math.min(seconds, remaining) : remaining);
+                        return null;
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    // *** H2는 query timeout을 statement가 아닌 session(커넥션) 단위로 저장 (SET QUERY_TIMEOUT)
+    // - 그대로 풀에 반납하면 마감이 없는 다음 사용자(export 등)도 같은 timeout으로 실행됨 -> 반납 전에 0(없음)으로 되돌림
+    // - statement 단위로 저장하는 드라이버에서는 아무 영향 없음
+    // - statement를 만들지 않은 커넥션은 되돌릴 것이 없으므로 건너뜀 -> createStatement()가 지연된 실제 커넥션을 가져오지 않도록
+    private static void resetQueryTimeout(Connection connection) {
+        try (Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(0);
+        } catch (SQLException e) {
+            // 되돌리지 못해도 커넥션 반납은 계속 진행 - 다음 마감 요청에서 다시 설정됨
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package hello.itemservice.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hikari 커넥션 풀 크기를 측정값에 따라 조정 (maximumPoolSize, minimumIdle)
+ *  - 측정값 : Hikari가 기록하는 메트릭의 직전 주기 평균
+ *    wait = hikaricp.connections.acquire (풀에서 커넥션을 기다린 시간) / latency = hikaricp.connections.usage (커넥션을 사용한 시간)
+ *    + 현재 active 커넥션 수, 커넥션을 기다리는 스레드 수 (HikariPoolMXBean)
+ *  - baseline : 기다림이 없을 때의 latency - 더 낮은 값이 나오면 바로 낮추고, 높은 값은 천천히 따라감
+ *  - 결정
+ *    1. 기다림이 있고 latency가 baseline * latencyTolerance 이하 -> DB에 여유가 있으므로 step만큼 늘림
+ *    2. 기다림이 있는데 latency가 그보다 높음 -> DB가 포화 상태, 커넥션을 늘리면 더 느려지므로 step만큼 줄임
+ *    3. 기다림 없이 active가 절반 미만인 상태가 SHRINK_AFTER_TICKS번 연속 -> 1씩 줄임
+ *  - minimumIdle은 현재 필요한 커넥션 수(active + 기다리는 스레드)를 따라감 -> 다시 몰릴 때 커넥션 생성 시간을 기다리지 않도록
+ *    -> 늘 때는 바로, 줄 때는 SHRINK_AFTER_TICKS번 연속 낮을 때만 차이의 절반씩 (주기마다 커넥션을 만들고 닫는 것을 막음)
+ *  - 크기는 항상 [minPoolSize, maxPoolSize] 범위 / 바뀔 때마다 이유와 측정값을 로그로 남김
+ * * 줄인 크기보다 많은 유휴 커넥션은 Hikari housekeeper가 정리함 (사용 중인 커넥션은 반납될 때까지 유지)
+ */
+@Slf4j
+public class HikariPoolTuner {
+
+    static final int SHRINK_AFTER_TICKS = 3;
+    // baseline보다 높은 latency를 반영하는 비율
+    private static final double BASELINE_RISE = 0.05;
+
+    private final HikariDataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final int minPoolSize;
+    private final int maxPoolSize;
+    private final int minIdle;
+    private final long waitThresholdNanos;
+    private final double latencyTolerance;
+    private final int step;
+
+    private final TimerDelta acquireDelta = new TimerDelta();
+    private final TimerDelta usageDelta = new TimerDelta();
+    private double baselineNanos = Double.NaN;
+    private int underusedTicks;
+    private int idleTarget;
+    private int idleLowTicks;
+
+    public HikariPoolTuner(HikariDataSource dataSource, MeterRegistry meterRegistry, int minPoolSize, int maxPoolSize,
+                           int minIdle, long waitThresholdMillis, double latencyTolerance, int step) {
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.minPoolSize = minPoolSize;
+        this.maxPoolSize = maxPoolSize;
+        this.minIdle = minIdle;
+        this.waitThresholdNanos = TimeUnit.MILLISECONDS.toNanos(waitThresholdMillis);
+        this.latencyTolerance = latencyTolerance;
+        this.step = step;
+        this.idleTarget = minIdle;
+    }
+
+    @Scheduled(fixedDelayString = "${itemservice.pool-tuner.interval-ms:5000}",
+            initialDelayString = "${itemservice.pool-tuner.interval-ms:5000}")
+    public void tune() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        Timer acquire = timer("hikaricp.connections.acquire");
+        Timer usage = timer("hikaricp.connections.usage");
+        if (pool == null || acquire == null || usage == null) {
+            return; // 풀이 아직 시작되지 않았거나 메트릭이 없음
+        }
+        double waitNanos = acquireDelta.meanNanos(acquire);
+        double latencyNanos = usageDelta.meanNanos(usage);
+        int active = pool.getActiveConnections();
+        int awaiting = pool.getThreadsAwaitingConnection();
+
+        int currentMax = dataSource.getMaximumPoolSize();
+        Decision decision = decide(currentMax, active, awaiting, waitNanos, latencyNanos);
+        if (decision.maximumPoolSize != currentMax) {
+            dataSource.setMaximumPoolSize(decision.maximumPoolSize);
+            log.info("pool resized {} -> {} reason={}, active={}, awaiting={}, waitMs={}, latencyMs={}, baselineMs={}",
+                    currentMax, decision.maximumPoolSize, decision.reason, active, awaiting,
+                    millis(waitNanos), millis(latencyNanos), millis(baselineNanos));
+        }
+        if (decision.minimumIdle != dataSource.getMinimumIdle()) {
+            log.debug("pool minimumIdle {} -> {}", dataSource.getMinimumIdle(), decision.minimumIdle);
+            dataSource.setMinimumIdle(decision.minimumIdle);
+        }
+    }
+
+    // latencyNanos가 NaN이면 직전 주기에 반납된 커넥션이 없음
+    Decision decide(int currentMax, int active, int awaiting, double waitNanos, double latencyNanos) {
+        boolean waiting = awaiting > 0 || waitNanos > waitThresholdNanos;
+        if (!Double.isNaN(latencyNanos) && (Double.isNaN(baselineNanos) || !waiting)) {
+            updateBaseline(latencyNanos);
+        }
+        boolean saturated = !Double.isNaN(latencyNanos) && latencyNanos > baselineNanos * latencyTolerance;
+
+        int newMax = currentMax;
+        String reason = "steady";
+        if (waiting) {
+            underusedTicks = 0;
+            if (saturated) {
+                newMax = currentMax - step;
+                reason = "latency above baseline";
+            } else {
+                newMax = currentMax + step;
+                reason = "connection wait";
+            }
+        } else if (active * 2 < currentMax) {
+            if (++underusedTicks >= SHRINK_AFTER_TICKS) {
+                underusedTicks = 0;
+                newMax = currentMax - 1;
+                reason = "underused";
+            }
+        } else {
+            underusedTicks = 0;
+        }
+        newMax = clamp(newMax, minPoolSize, maxPoolSize);
+        return new Decision(newMax, nextMinIdle(active + awaiting, newMax), reason);
+    }
+
+    private int nextMinIdle(int demand, int newMax) {
+        if (demand >= idleTarget) {
+            idleLowTicks = 0;
+            idleTarget = demand;
+        } else if (++idleLowTicks >= SHRINK_AFTER_TICKS) {
+            idleLowTicks = 0;
+            idleTarget -= Math.max(1, (idleTarget - demand) / 2);
+        }
+        idleTarget = clamp(idleTarget, minIdle, newMax);
+        return idleTarget;
+    }
+
+    private void updateBaseline(double latencyNanos) {
+        if (Double.isNaN(baselineNanos) || latencyNanos < baselineNanos) {
+            baselineNanos = latencyNanos;
+        } else {
+            baselineNanos += (latencyNanos - baselineNanos) * BASELINE_RISE;
+        }
+    }
+
+    private Timer timer(String name) {
+        return meterRegistry.find(name).tag("pool", dataSource.getPoolName()).timer();
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(value, max));
+    }
+
+    private static long millis(double nanos) {
+        return Double.isNaN(nanos) ? -1 : TimeUnit.NANOSECONDS.toMillis((long) nanos);
+    }
+
+    static class Decision {
+        final int maximumPoolSize;
+        final int minimumIdle;
+        final String reason;
+
+        Decision(int maximumPoolSize, int minimumIdle, String reason) {
+            this.maximumPoolSize = maximumPoolSize;
+            this.minimumIdle = minimumIdle;
+            this.reason = reason;
+        }
+    }
+
+    // Timer의 누적값에서 직전 호출 이후의 평균만 계산
+    private static class TimerDelta {
+        private long lastCount;
+        private double lastTotalNanos;
+
+        double meanNanos(Timer timer) {
+            long count = timer.count();
+            double totalNanos = timer.totalTime(TimeUnit.NANOSECONDS);
+            long deltaCount = count - lastCount;
+            double deltaNanos = totalNanos - lastTotalNanos;
+            lastCount = count;
+            lastTotalNanos = totalNanos;
+            return deltaCount == 0 ? Double.NaN : deltaNanos / deltaCount;
+        }
+    }
+}
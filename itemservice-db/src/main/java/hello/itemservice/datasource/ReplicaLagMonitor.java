@@ -0,0 +1,70 @@
+package hello.itemservice.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * replica의 지연 시간(초)을 주기적으로 확인
+ *  - lagQuery : replica에서 실행해서 지연 시간(초)을 반환하는 쿼리
+ *    ex) MySQL - 복제 상태의 Seconds_Behind_Source / 직접 관리하는 heartbeat 테이블의 시간 차이
+ *  - lagQuery가 없으면 replica가 응답하는지만 확인 (지연 0으로 취급)
+ *  - 지연이 maxLagSeconds를 넘거나 쿼리가 실패하면 replica를 사용하지 않음 -> ReplicationRoutingDataSource가 primary로 보냄
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate replicaTemplate;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+
+    private volatile boolean replicaAvailable;
+    private volatile long lagSeconds;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, String lagQuery, long maxLagSeconds) {
+        this.replicaTemplate = new JdbcTemplate(replicaDataSource);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${itemservice.datasource.replica.lag-check-interval-ms:5000}")
+    public void checkLag() {
+        boolean available;
+        try {
+            lagSeconds = queryLagSeconds();
+            available = lagSeconds <= maxLagSeconds;
+            if (!available) {
+                log.warn("replica lag {}s exceeds {}s - reads fall back to primary", lagSeconds, maxLagSeconds);
+            }
+        } catch (DataAccessException e) {
+            log.warn("replica lag check failed - reads fall back to primary", e);
+            available = false;
+        }
+
+        if (available != replicaAvailable) {
+            log.info("replica available {} -> {}", replicaAvailable, available);
+        }
+        replicaAvailable = available;
+    }
+
+    private long queryLagSeconds() {
+        if (!StringUtils.hasText(lagQuery)) {
+            replicaTemplate.queryForObject("select 1", Integer.class);
+            return 0;
+        }
+        Long lag = replicaTemplate.queryForObject(lagQuery, Long.class);
+        return lag == null ? Long.MAX_VALUE : lag;
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    public long getLagSeconds() {
+        return lagSeconds;
+    }
+}
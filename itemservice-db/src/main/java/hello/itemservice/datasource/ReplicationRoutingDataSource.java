@@ -0,0 +1,44 @@
+package hello.itemservice.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 읽기 전용 트랜잭션은 replica로, 나머지는 primary로 보내는 DataSource
+ *  - @Transactional(readOnly = true) 여부는 트랜잭션 동기화 매니저에서 확인
+ *  - replica가 지연(lag)되거나 응답하지 않으면 읽기 전용 트랜잭션도 primary로 보냄
+ *
+ * *** 반드시 LazyConnectionDataSourceProxy로 감싸서 사용
+ *  - 트랜잭션 매니저는 트랜잭션 시작(doBegin) 시점에 커넥션을 먼저 획득하고,
+ *    readOnly 여부는 그 이후에 동기화 매니저에 등록됨
+ *  - Lazy 프록시로 실제 커넥션 획득을 첫 쿼리 실행 시점까지 미뤄야 readOnly 여부를 보고 라우팅 가능
+ */
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicationRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(PRIMARY, primary);
+        targetDataSources.put(REPLICA, replica);
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && lagMonitor.isReplicaAvailable()) {
+            return REPLICA;
+        }
+        return PRIMARY;
+    }
+}
@@ -0,0 +1,74 @@
+package hello.itemservice.datasource;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 하나의 처리 마감 시각 - 현재 스레드에 보관 (ThreadLocal)
+ *  - 웹 계층(RequestDeadlineInterceptor)에서 설정하고, DeadlineDataSource가 남은 시간을 JDBC query timeout으로 적용
+ *  - 다른 스레드에서 이어서 처리하는 경우(AsyncItemService) propagate()로 감싸서 같은 마감 시각을 넘겨줌
+ *  - 설정되지 않은 스레드(스케줄러, 시작 시 적재 등)는 마감 없음
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+
+    private RequestDeadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static RequestDeadline after(long timeoutMillis) {
+        return new RequestDeadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+    }
+
+    // 현재 스레드의 마감 시각과 timeoutMillis 이후 중 더 이른 쪽
+    public static RequestDeadline within(long timeoutMillis) {
+        RequestDeadline deadline = after(timeoutMillis);
+        RequestDeadline current = CURRENT.get();
+        return current != null && current.deadlineNanos - deadline.deadlineNanos < 0 ? current : deadline;
+    }
+
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    public static void set(RequestDeadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    // *** 작업을 실행하는 스레드에 호출한 스레드의 마감 시각을 설정하고, 끝나면 원래대로 돌려놓음
+    public static Runnable propagate(Runnable task) {
+        RequestDeadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return task;
+        }
+        return () -> {
+            RequestDeadline previous = CURRENT.get();
+            CURRENT.set(deadline);
+            try {
+                task.run();
+            } finally {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    // * JDBC의 query timeout은 초 단위 -> 올림 (0은 timeout 없음이므로 최소 1초)
+    public int remainingQueryTimeoutSeconds() {
+        long remaining = remainingMillis();
+        return (int) Math.max(1, (remaining + 999) / 1000);
+    }
+}
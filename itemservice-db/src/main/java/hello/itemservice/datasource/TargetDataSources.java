@@ -0,0 +1,22 @@
+package hello.itemservice.datasource;
+
+import javax.sql.DataSource;
+
+/**
+ * dataSource Bean을 감싸는 DataSource들이 공통으로 사용
+ * *** 감싼 DataSource가 dataSource Bean이 되면 Spring은 감싼 쪽의 close()를 찾아서 종료 시 호출 (destroyMethod 추론)
+ *  - close()가 없으면 안쪽 HikariDataSource가 닫히지 않아서 컨텍스트를 내릴 때마다 커넥션 풀이 남음
+ *    (캐시된 테스트 컨텍스트, devtools 재시작 등) -> 감싼 쪽의 close()에서 안쪽으로 전달
+ */
+public final class TargetDataSources {
+
+    private TargetDataSources() {
+    }
+
+    // target이 닫을 수 있는 DataSource(HikariDataSource, 또 다른 감싼 DataSource)면 닫음
+    public static void close(DataSource target) throws Exception {
+        if (target instanceof AutoCloseable) {
+            ((AutoCloseable) target).close();
+        }
+    }
+}
@@ -3,12 +3,22 @@ package hello.itemservice.domain;
 import lombok.Data;
 
 import javax.persistence.*;
+import java.io.Serializable;
 
 
 @Data
 @Entity // JPA가 사용하는 객체임을 명시 -> 해당 어노테이션이 필수적으로 있어야 JPA가 인식
-@Table(name = "item")
-public class Item {
+@Table(name = "item", indexes = {
+        // 정렬 검색(ItemSort)용 인덱스 - ddl 자동 생성 시에만 사용, 운영 DB는 src/main/resources/sql 참고
+        @Index(name = "idx_item_price", columnList = "price, id"),
+        @Index(name = "idx_item_quantity", columnList = "quantity, id")
+})
+// * Serializable - MyBatis 2차 캐시(readOnly=false)가 직렬화한 복사본을 반환하기 위해 필요
+// * 빌드 시 Hibernate bytecode enhancement로 dirty tracking 코드가 추가됨 (build.gradle의 hibernate.enhance)
+//   -> setter가 변경된 속성을 기록하므로 flush 시 스냅샷과 비교하지 않고 바뀐 item만 update 대상으로 고름
+//   -> update문 자체는 그대로 모든 컬럼을 set하는 고정 SQL (@DynamicUpdate가 없으므로 - 같은 PreparedStatement 재사용)
+//   -> 추가되는 필드는 transient라 직렬화/Lombok equals, hashCode에는 포함되지 않음
+public class Item implements Serializable {
 
     @Id //Table의 PK와 매핑
     @GeneratedValue(strategy = GenerationType.IDENTITY) //PK생성 값을 DB에서 생성하는 Identity전략을 사용
@@ -0,0 +1,67 @@
+package hello.itemservice.repository;
+
+import hello.itemservice.domain.Item;
+import lombok.Data;
+
+/**
+ * 검색 조건(ItemSearchCond)에 해당하는 item들에 한번에 적용할 수정식
+ *  - pricePercent : 가격 증감률(%) ex) 5 -> 5% 인상, -10 -> 10% 인하
+ *  - quantityDelta : 수량 증감값
+ *  - chunkSize : 한 트랜잭션(commit)에서 처리할 id 범위의 크기
+ *  - validate() : pricePercent/quantityDelta는 null 불가, chunkSize는 0보다 커야 함
+ */
+@Data
+public class ItemBulkUpdateDto {
+
+    private Integer pricePercent = 0;
+    private Integer quantityDelta = 0;
+    private int chunkSize = 1000;
+
+    public ItemBulkUpdateDto() {
+    }
+
+    public ItemBulkUpdateDto(Integer pricePercent, Integer quantityDelta) {
+        this.pricePercent = pricePercent;
+        this.quantityDelta = quantityDelta;
+    }
+
+    // * null 수정식은 SQL에서 price/quantity를 null로 만들고, chunkSize가 0 이하면 chunk 반복이 끝나지 않음
+    public void validate() {
+        if (pricePercent == null || quantityDelta == null) {
+            throw new IllegalArgumentException("pricePercent, quantityDelta는 null일 수 없음: " + this);
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize는 0보다 커야 함: " + chunkSize);
+        }
+    }
+
+    // *** id 범위를 chunkSize 단위로 나누어 chunkUpdate를 순서대로 호출하고 수정된 row 수 합계를 반환
+    // - 호출하는 쪽(ItemServiceV1/V2)에 트랜잭션이 없으므로 chunkUpdate 한번(chunk 하나)마다 commit
+    // - 한번에 잠그는 row 수가 chunkSize로 제한되므로 다른 요청이 오래 기다리지 않음
+    public int updateInChunks(ItemIdRange range, ChunkUpdate chunkUpdate) {
+        validate();
+        long maxId = range.getMaxId();
+        int updated = 0;
+        for (long fromId = range.getMinId(); fromId <= maxId; fromId += chunkSize) {
+            long toId = Math.min(fromId + chunkSize - 1, maxId);
+            updated += chunkUpdate.update(fromId, toId);
+        }
+        return updated;
+    }
+
+    @FunctionalInterface
+    public interface ChunkUpdate {
+        int update(Long fromId, Long toId);
+    }
+
+    // *** 가격 계산식은 SQL의 "price + price * ? / 100"과 동일하게 정수 연산으로 맞춤
+    //     -> 메모리 구현과 DB 구현의 결과(나머지 버림)가 항상 같도록
+    public void applyTo(Item item) {
+        if (item.getPrice() != null) {
+            item.setPrice(item.getPrice() + item.getPrice() * pricePercent / 100);
+        }
+        if (item.getQuantity() != null) {
+            item.setQuantity(item.getQuantity() + quantityDelta);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package hello.itemservice.repository;
+
+import lombok.Data;
+
+import java.util.Optional;
+
+/**
+ * 검색 조건에 해당하는 item의 최소/최대 id
+ *  - 대량 수정을 id 범위 chunk로 나누어 commit할 때 사용
+ */
+@Data
+public class ItemIdRange {
+
+    private Long minId;
+    private Long maxId;
+
+    public ItemIdRange() {
+    }
+
+    public ItemIdRange(Long minId, Long maxId) {
+        this.minId = minId;
+        this.maxId = maxId;
+    }
+
+    // * min()/max() 집계는 대상 row가 없어도 null 값의 row를 1건 반환하므로 empty로 변환
+    public static Optional<ItemIdRange> of(Long minId, Long maxId) {
+        if (minId == null || maxId == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new ItemIdRange(minId, maxId));
+    }
+}
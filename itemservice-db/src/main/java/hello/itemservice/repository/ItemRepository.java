@@ -4,9 +4,13 @@ import hello.itemservice.domain.Item;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ItemRepository {
 
+    // scan()에서 cursor로 한번에 가져올 row 수
+    int SCAN_FETCH_SIZE = 500;
+
     // *** ItemUpdateDto 와 ItemSearchCond 클래스의 위치
     // -> 현재 구성은, Controller -> Service -> Repository 로 호출하는 관계
     // -> Service에서 두 클래스를 사용하는 것도, 결국 Repository에서 이를 사용하기 위해 전달해주는 수단
@@ -16,10 +20,35 @@ public interface ItemRepository {
 
     Item save(Item item);
 
+    // *** 여러 item을 한번에 저장 (batch insert) - 저장된 row 수를 반환
+    // - 대량 적재용이므로 backend에 따라 item의 id가 채워지지 않을 수 있음
+    // - commit 단위는 호출하는 쪽의 트랜잭션을 따름
+    int saveAll(List<Item> items);
+
     void update(Long itemId, ItemUpdateDto updateParam);
 
     Optional<Item> findById(Long id);
 
     List<Item> findAll(ItemSearchCond cond);
 
+    // *** 대량 수정
+    // - cond에 해당하면서 id가 [fromId, toId] 범위인 item에만 updateParam의 수정식을 set-based로 적용
+    // - id 범위 chunk 단위로 호출해서 한번의 commit에서 잠그는 row 수를 제한 -> chunk 분할은 Service 계층에서 수행
+    // - 수정된 row 수를 반환
+    int bulkUpdate(ItemSearchCond cond, ItemBulkUpdateDto updateParam, Long fromId, Long toId);
+
+    // *** cursor 조회
+    // - cond에 해당하는 item을 DB cursor로 SCAN_FETCH_SIZE개씩 가져오면서 한 건씩 action에 전달
+    // - 결과 전체를 List로 만들지 않으므로 결과 건수와 상관없이 메모리 사용량이 일정 (export 등)
+    // - cond의 정렬/limit은 findAll()과 같이 적용 -> order by(+ limit)가 붙은 query의 cursor
+    void scan(ItemSearchCond cond, Consumer<Item> action);
+
+    // cond에 해당하는 item의 최소/최대 id - 대상이 없으면 empty
+    Optional<ItemIdRange> findIdRange(ItemSearchCond cond);
+
+    // 첫 요청 전에 미리 준비할 것이 있는 구현체만 override (ex. SimpleJdbcInsert의 테이블 메타데이터 조회)
+    // - 조회만으로는 준비되지 않고, 데이터를 저장하지 않고 준비할 수 있는 것만
+    default void warmUp() {
+    }
+
 }
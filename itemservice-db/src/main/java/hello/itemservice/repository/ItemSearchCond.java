@@ -2,11 +2,21 @@ package hello.itemservice.repository;
 
 import lombok.Data;
 
+/**
+ * item 검색 조건
+ *  - itemName / minPrice / maxPrice : 필터 - 검색, cursor 조회, 대량 수정 등 모든 조건 검색에 적용
+ *  - sort / limit : findAll()과 cursor 조회(scan)에만 적용 (ex. 조건에 맞는 가장 싼 item 20개 -> sort=PRICE_ASC, limit=20)
+ *    - sort 없이 limit만 지정하면 id 순서로 limit개 (어떤 item이 선택될지 backend마다 달라지지 않도록)
+ *    - sort도 limit도 없으면 이전처럼 정렬하지 않음 -> 순서는 backend가 정함
+ */
 @Data
 public class ItemSearchCond {
 
     private String itemName;
+    private Integer minPrice;
     private Integer maxPrice;
+    private ItemSort sort;
+    private Integer limit;
 
     public ItemSearchCond() {
     }
@@ -15,4 +25,25 @@ public class ItemSearchCond {
         this.itemName = itemName;
         this.maxPrice = maxPrice;
     }
+
+    public ItemSearchCond(String itemName, Integer minPrice, Integer maxPrice, ItemSort sort, Integer limit) {
+        this.itemName = itemName;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.sort = sort;
+        this.limit = limit;
+    }
+
+    // 0 이하의 limit은 지정하지 않은 것으로 처리
+    public boolean hasLimit() {
+        return limit != null && limit > 0;
+    }
+
+    // findAll()에서 실제로 사용할 정렬 기준 - 정렬하지 않으면 null
+    public ItemSort resolveSort() {
+        if (sort != null) {
+            return sort;
+        }
+        return hasLimit() ? ItemSort.ID : null;
+    }
 }
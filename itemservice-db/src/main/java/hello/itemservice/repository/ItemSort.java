@@ -0,0 +1,70 @@
+package hello.itemservice.repository;
+
+import hello.itemservice.domain.Item;
+
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * 검색 결과 정렬 기준 (ItemSearchCond.sort)
+ *  - 같은 값끼리는 항상 id 오름차순 -> backend/shard가 달라도 같은 순서, limit으로 자를 때도 같은 결과
+ *  - column : sql(JdbcTemplate, MyBatis, R2DBC)의 컬럼 / property : jpql, Spring Data의 엔티티 필드
+ * * sql에 문자열로 들어가므로 column/direction은 여기 정의한 고정값만 사용 (요청 값을 그대로 넣지 않음)
+ */
+public enum ItemSort {
+
+    ID("id", "id", true, "등록순", Item::getId),
+    PRICE_ASC("price", "price", true, "가격 낮은 순", Item::getPrice),
+    PRICE_DESC("price", "price", false, "가격 높은 순", Item::getPrice),
+    QUANTITY_DESC("quantity", "quantity", false, "재고 많은 순", Item::getQuantity),
+    QUANTITY_ASC("quantity", "quantity", true, "재고 적은 순", Item::getQuantity);
+
+    private final String column;
+    private final String property;
+    private final boolean ascending;
+    private final String description;
+    private final Comparator<Item> comparator;
+
+    <T extends Comparable<? super T>> ItemSort(String column, String property, boolean ascending, String description,
+                                               Function<Item, T> key) {
+        this.column = column;
+        this.property = property;
+        this.ascending = ascending;
+        this.description = description;
+        // * DB(H2)와 같은 null 순서 - 오름차순은 null이 먼저, 내림차순은 null이 나중
+        Comparator<Item> byKey = Comparator.comparing(key, Comparator.nullsFirst(Comparator.<T>naturalOrder()));
+        this.comparator = (ascending ? byKey : byKey.reversed()).thenComparing(Item::getId);
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    public String getDirection() {
+        return ascending ? "asc" : "desc";
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Comparator<Item> comparator() {
+        return comparator;
+    }
+
+    // sql의 order by 절 - id가 아니면 id를 두번째 정렬 기준으로 추가
+    public String sqlOrderBy() {
+        if (this == ID) {
+            return " order by id asc";
+        }
+        return " order by " + column + " " + getDirection() + ", id asc";
+    }
+}
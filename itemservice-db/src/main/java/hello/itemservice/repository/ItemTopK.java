@@ -0,0 +1,54 @@
+package hello.itemservice.repository;
+
+import hello.itemservice.domain.Item;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * DB 밖에서 ItemSearchCond의 sort/limit 적용 - 메모리 backend, CQRS 읽기 모델, shard 결과 병합에서 사용
+ *  - limit이 있으면 전체를 정렬하지 않고 크기 limit의 heap으로 상위 limit개만 유지 -> O(n log k), 메모리 k개
+ *    (heap의 top은 지금까지 고른 것 중 가장 뒤에 올 item -> 새 item이 그보다 앞이면 교체)
+ *  - limit이 없으면 전체 정렬
+ */
+public final class ItemTopK {
+
+    private ItemTopK() {
+    }
+
+    // sort가 null이면 정렬하지 않고 그대로 반환 (limit은 sort가 있을 때만 - ItemSearchCond.resolveSort() 참고)
+    public static List<Item> select(Stream<Item> items, ItemSort sort, Integer limit) {
+        if (sort == null) {
+            return items.collect(Collectors.toList());
+        }
+        Comparator<Item> comparator = sort.comparator();
+        if (limit == null || limit <= 0) {
+            return items.sorted(comparator).collect(Collectors.toList());
+        }
+
+        PriorityQueue<Item> heap = new PriorityQueue<>(Math.min(limit, 1024) + 1, comparator.reversed());
+        Iterator<Item> iterator = items.iterator();
+        while (iterator.hasNext()) {
+            Item item = iterator.next();
+            if (heap.size() < limit) {
+                heap.add(item);
+            } else if (comparator.compare(item, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(item);
+            }
+        }
+
+        List<Item> result = new ArrayList<>(heap);
+        result.sort(comparator);
+        return result;
+    }
+
+    public static List<Item> select(Stream<Item> items, ItemSearchCond cond) {
+        return select(items, cond.resolveSort(), cond.getLimit());
+    }
+}
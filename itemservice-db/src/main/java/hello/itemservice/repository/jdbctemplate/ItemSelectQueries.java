@@ -0,0 +1,163 @@
+package hello.itemservice.repository.jdbctemplate;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemSort;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlProvider;
+import org.springframework.util.StringUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JdbcTemplate 구현(V1/V2/V3)이 함께 쓰는 미리 만들어 둔 item 조회 sql + RowMapper
+ *  - ItemSearchCond의 조합은 필터 (itemName/minPrice/maxPrice 유무) 8가지 x 정렬 (없음 + ItemSort) x limit 유무
+ *    -> 클래스 로딩 시점에 모든 sql을 한번만 만듦
+ *    -> 호출마다 문자열을 이어붙이거나, named parameter(:itemName)를 파싱하지 않음
+ *  - parameter는 '?' 순서대로 바인딩 -> V2/V3도 getJdbcTemplate()으로 바로 실행
+ *  - ITEM_ROW_MAPPER : select 컬럼 순서가 고정이므로 컬럼 이름 대신 index로 읽음
+ *    -> BeanPropertyRowMapper처럼 ResultSet 메타데이터를 읽고 setter를 reflection으로 찾는 과정이 없음
+ * * bulkUpdate/findIdRange는 호출 빈도가 낮으므로 기존처럼 sql을 그때그때 만듦
+ */
+final class ItemSelectQueries {
+
+    private static final String SELECT_ITEM = "select id, item_name, price, quantity from item";
+
+    private static final int NAME = 1;
+    private static final int MIN_PRICE = 2;
+    private static final int MAX_PRICE = 4;
+    private static final int FILTER_SHAPES = 8;
+
+    // [필터 shape][정렬 - 0은 정렬 없음, 나머지는 ItemSort.ordinal() + 1][limit 유무]
+    private static final String[][][] FIND_ALL_SQL = new String[FILTER_SHAPES][ItemSort.values().length + 1][2];
+
+    static {
+        for (int shape = 0; shape < FILTER_SHAPES; shape++) {
+            String select = SELECT_ITEM + where(shape);
+            FIND_ALL_SQL[shape][0][0] = select;
+            for (ItemSort sort : ItemSort.values()) {
+                String sorted = select + sort.sqlOrderBy();
+                FIND_ALL_SQL[shape][sort.ordinal() + 1][0] = sorted;
+                FIND_ALL_SQL[shape][sort.ordinal() + 1][1] = sorted + " limit ?";
+            }
+        }
+    }
+
+    static final String FIND_BY_ID_SQL = SELECT_ITEM + " where id=?";
+
+    static final RowMapper<Item> ITEM_ROW_MAPPER = ItemSelectQueries::mapItem;
+
+    private ItemSelectQueries() {
+    }
+
+    // * limit은 정렬이 있을 때만 적용 (ItemSearchCond.resolveSort())
+    static String findAllSql(ItemSearchCond cond) {
+        ItemSort sort = cond.resolveSort();
+        if (sort == null) {
+            return FIND_ALL_SQL[shape(cond)][0][0];
+        }
+        return FIND_ALL_SQL[shape(cond)][sort.ordinal() + 1][cond.hasLimit() ? 1 : 0];
+    }
+
+    // findAllSql(cond)의 '?' 순서와 같은 순서의 parameter
+    static Object[] findAllArgs(ItemSearchCond cond) {
+        List<Object> args = new ArrayList<>(4);
+        addFilterArgs(cond, args);
+        if (cond.resolveSort() != null && cond.hasLimit()) {
+            args.add(cond.getLimit());
+        }
+        return args.toArray();
+    }
+
+    // findAll()과 같은 sql(정렬/limit 포함)의 cursor 조회 - scan()
+    // * fetch 크기(SCAN_FETCH_SIZE)는 이 statement에만 지정 -> JdbcTemplate을 같이 쓰는 다른 조회에는 영향 없음
+    static PreparedStatementCreator scanStatement(ItemSearchCond cond) {
+        return new ScanStatementCreator(findAllSql(cond), findAllArgs(cond));
+    }
+
+    private static void addFilterArgs(ItemSearchCond cond, List<Object> args) {
+        int shape = shape(cond);
+        if ((shape & NAME) != 0) {
+            args.add(cond.getItemName());
+        }
+        if ((shape & MIN_PRICE) != 0) {
+            args.add(cond.getMinPrice());
+        }
+        if ((shape & MAX_PRICE) != 0) {
+            args.add(cond.getMaxPrice());
+        }
+    }
+
+    private static String where(int shape) {
+        List<String> conditions = new ArrayList<>();
+        if ((shape & NAME) != 0) {
+            conditions.add("item_name like concat('%',?,'%')");
+        }
+        if ((shape & MIN_PRICE) != 0) {
+            conditions.add("price >= ?");
+        }
+        if ((shape & MAX_PRICE) != 0) {
+            conditions.add("price <= ?");
+        }
+        return conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+    }
+
+    private static int shape(ItemSearchCond cond) {
+        int shape = 0;
+        if (StringUtils.hasText(cond.getItemName())) {
+            shape |= NAME;
+        }
+        if (cond.getMinPrice() != null) {
+            shape |= MIN_PRICE;
+        }
+        if (cond.getMaxPrice() != null) {
+            shape |= MAX_PRICE;
+        }
+        return shape;
+    }
+
+    // SqlProvider - JdbcTemplate의 sql 로그/예외 메시지에 sql이 나오도록
+    private static class ScanStatementCreator implements PreparedStatementCreator, SqlProvider {
+
+        private final String sql;
+        private final Object[] args;
+
+        ScanStatementCreator(String sql, Object[] args) {
+            this.sql = sql;
+            this.args = args;
+        }
+
+        @Override
+        public PreparedStatement createPreparedStatement(Connection con) throws SQLException {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(ItemRepository.SCAN_FETCH_SIZE);
+            new ArgumentPreparedStatementSetter(args).setValues(ps);
+            return ps;
+        }
+
+        @Override
+        public String getSql() {
+            return sql;
+        }
+    }
+
+    private static Item mapItem(ResultSet rs, int rowNum) throws SQLException {
+        Item item = new Item();
+        item.setId(rs.getLong(1));
+        item.setItemName(rs.getString(2));
+        // price/quantity는 Integer -> getInt()는 null을 0으로 반환하므로 wasNull()로 구분
+        int price = rs.getInt(3);
+        item.setPrice(rs.wasNull() ? null : price);
+        int quantity = rs.getInt(4);
+        item.setQuantity(rs.wasNull() ? null : quantity);
+        return item;
+    }
+}
@@ -1,6 +1,8 @@
 package hello.itemservice.repository.jdbctemplate;
 
 import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemBulkUpdateDto;
+import hello.itemservice.repository.ItemIdRange;
 import hello.itemservice.repository.ItemRepository;
 import hello.itemservice.repository.ItemSearchCond;
 import hello.itemservice.repository.ItemUpdateDto;
@@ -17,6 +19,7 @@ import java.sql.PreparedStatement;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * JdbcTemplate 구현
@@ -61,6 +64,21 @@ public class JdbcTemplateItemRepositoryV1 implements ItemRepository {
         return item;
     }
 
+    // * 여러 row를 JDBC batch로 한번에 전송 - 자동 생성된 id는 조회하지 않음
+    @Override
+    public int saveAll(List<Item> items) {
+        if (items.isEmpty()) {
+            return 0;
+        }
+        String sql = "insert into item(item_name, price, quantity) values (?,?,?)";
+        template.batchUpdate(sql, items, items.size(), (pstmt, item) -> {
+            pstmt.setString(1, item.getItemName());
+            pstmt.setInt(2, item.getPrice());
+            pstmt.setInt(3, item.getQuantity());
+        });
+        return items.size();
+    }
+
     @Override
     public void update(Long itemId, ItemUpdateDto updateParam) {
         String sql = "update item set item_name=?, price=?, quantity=? where id=?";
@@ -73,9 +91,9 @@ public class JdbcTemplateItemRepositoryV1 implements ItemRepository {
 
     @Override
     public Optional<Item> findById(Long id) {
-        String sql = "select id, item_name, price, quantity from item where id=?";
+        //String sql = "select id, item_name, price, quantity from item where id=?";
         try {
-            Item item = template.queryForObject(sql, itemRowMapper(), id);
+            Item item = template.queryForObject(ItemSelectQueries.FIND_BY_ID_SQL, ItemSelectQueries.ITEM_ROW_MAPPER, id);
             // *** queryForObject() - 단건 조회의 경우에 사용하는 JdbcTemplate 인터페이스에 정의된 추상 메서드
             // 1. 결과가 null일 경우 Exception을 throw
             //    -> try 구문 내에서는 return값 자체는 항상 존재한다고 가정하므로 of()사용 + catch 구문에서는 empty()를 반환
@@ -105,20 +123,13 @@ public class JdbcTemplateItemRepositoryV1 implements ItemRepository {
 
     @Override
     public List<Item> findAll(ItemSearchCond cond) {
-        String itemName = cond.getItemName();
-        Integer maxPrice = cond.getMaxPrice();
-        // *** WrapperClass로 선언한 이유
+        // *** 조건 조합마다 미리 만들어 둔 sql 사용 (ItemSelectQueries)
+        // -> 아래의 동적 쿼리 조립은 ItemSelectQueries가 조건 조합별 sql을 만드는 방식과 같음
+        // * WrapperClass(Integer maxPrice)로 선언한 이유
         // 1. Request에서의 Null을 다루는 것의 편리함
         // 2. Request에서 받아온 값을 가공할 때 Null을 다루는 것의 편리함
-
+    /*  // 기존의 호출마다 sql을 조립하는 동적 쿼리
         String sql = "select id, item_name, price, quantity from item";
-
-        // * 동적 쿼리가 아닐 경우
-        // query() -> List<T>를 반환
-        // cf) queryForObject() - 단건을 조회해서 처리할 때
-        //template.query(sql, itemRowMapper());
-
-        // * 동적 쿼리
         if (StringUtils.hasText(itemName) || maxPrice != null) {
             sql += " where"; }
         boolean andFlag = false;
@@ -135,10 +146,75 @@ public class JdbcTemplateItemRepositoryV1 implements ItemRepository {
             sql += " price <= ?";
             param.add(maxPrice);
         }
+        return template.query(sql, itemRowMapper(), param.toArray());
+    */
+        String sql = ItemSelectQueries.findAllSql(cond);
+        log.debug("sql={}", sql);
+
+        //sql에 parameter를 바인딩해야하므로 이를 Array로 넘겨주는 parameter 추가
+        return template.query(sql, ItemSelectQueries.ITEM_ROW_MAPPER, ItemSelectQueries.findAllArgs(cond));
+    }
+
+    @Override
+    public int bulkUpdate(ItemSearchCond cond, ItemBulkUpdateDto updateParam, Long fromId, Long toId) {
+        // *** findAll() + N번의 update() 대신 한번의 set-based update로 처리
+        String sql = "update item set price=price + price * ? / 100, quantity=quantity + ?" +
+                " where id between ? and ?";
+        List<Object> param = new ArrayList<>();
+        param.add(updateParam.getPricePercent());
+        param.add(updateParam.getQuantityDelta());
+        param.add(fromId);
+        param.add(toId);
+
+        String condition = searchCondition(cond, param);
+        if (StringUtils.hasText(condition)) {
+            sql += " and " + condition;
+        }
 
         log.info("sql={}", sql);
+        return template.update(sql, param.toArray());
+    }
 
-        //sql에 parameter를 바인딩해야하므로 이를 Array로 넘겨주는 parameter 추가
-        return template.query(sql, itemRowMapper(), param.toArray());
+    // * RowCallbackHandler - row마다 호출되므로 결과를 List에 모으지 않음
+    @Override
+    public void scan(ItemSearchCond cond, Consumer<Item> action) {
+        RowMapper<Item> rowMapper = ItemSelectQueries.ITEM_ROW_MAPPER;
+        template.query(ItemSelectQueries.scanStatement(cond), rs -> {
+            action.accept(rowMapper.mapRow(rs, 0));
+        });
+    }
+
+    @Override
+    public Optional<ItemIdRange> findIdRange(ItemSearchCond cond) {
+        String sql = "select min(id) as min_id, max(id) as max_id from item";
+        List<Object> param = new ArrayList<>();
+
+        String condition = searchCondition(cond, param);
+        if (StringUtils.hasText(condition)) {
+            sql += " where " + condition;
+        }
+
+        return template.queryForObject(sql, (rs, rowNum) -> ItemIdRange.of(
+                rs.getObject("min_id", Long.class),
+                rs.getObject("max_id", Long.class)), param.toArray());
+    }
+
+    // findAll()과 같은 검색 조건을 대량 수정/id 범위 조회에서 재사용하기 위한 조건절 생성
+    // * 바인딩할 parameter는 조건이 추가되는 순서대로 param에 담아줌
+    private String searchCondition(ItemSearchCond cond, List<Object> param) {
+        List<String> conditions = new ArrayList<>();
+        if (StringUtils.hasText(cond.getItemName())) {
+            conditions.add("item_name like concat('%',?,'%')");
+            param.add(cond.getItemName());
+        }
+        if (cond.getMinPrice() != null) {
+            conditions.add("price >= ?");
+            param.add(cond.getMinPrice());
+        }
+        if (cond.getMaxPrice() != null) {
+            conditions.add("price <= ?");
+            param.add(cond.getMaxPrice());
+        }
+        return String.join(" and ", conditions);
     }
 }
@@ -1,6 +1,8 @@
 package hello.itemservice.repository.jdbctemplate;
 
 import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemBulkUpdateDto;
+import hello.itemservice.repository.ItemIdRange;
 import hello.itemservice.repository.ItemRepository;
 import hello.itemservice.repository.ItemSearchCond;
 import hello.itemservice.repository.ItemUpdateDto;
@@ -12,15 +14,18 @@ import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSourceUtils;
 import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.util.StringUtils;
 
 import javax.sql.DataSource;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * SimpleJdbcInsert
@@ -80,6 +85,13 @@ public class JdbcTemplateItemRepositoryV3 implements ItemRepository {
         return item;
     }
 
+    // * SimpleJdbcInsert의 executeBatch() - 자동 생성된 id는 조회하지 않음
+    @Override
+    public int saveAll(List<Item> items) {
+        jdbcInsert.executeBatch(SqlParameterSourceUtils.createBatch(items));
+        return items.size();
+    }
+
     @Override
     public void update(Long itemId, ItemUpdateDto updateParam) {
         //String sql = "update item set item_name=?, price=?, quantity=? where id=?";
@@ -111,13 +123,13 @@ public class JdbcTemplateItemRepositoryV3 implements ItemRepository {
     @Override
     public Optional<Item> findById(Long id) {
         //String sql = "select id, item_name, price, quantity from item where id=?";
-        String sql = "select id, item_name, price, quantity from item where id=:id";
+        //String sql = "select id, item_name, price, quantity from item where id=:id";
 
         try {
             //Item item = template.queryForObject(sql, itemRowMapper(), id);
 
             // 방법 3. Map 사용 - JAVA 순수 문법
-            Map<String, Object> param = Map.of("id", id);
+            //Map<String, Object> param = Map.of("id", id);
             // new HashMap<>()으로 직접 생성해 사용하는 것도 무방
 
             // *** Map.of() / Map.ofEntries()
@@ -126,7 +138,12 @@ public class JdbcTemplateItemRepositoryV3 implements ItemRepository {
             // 1. Map.of()의 경우, parameter의 개수를 10개만큼 overloading하므로 이를 초과할 경우 오류 발생
             // 2. of()/ofEntries() 모두 immutableCollections를 반환 -> 초기화 이후 put(), remove()등으로 수정 불가능
 
-            Item item = template.queryForObject(sql, param, itemRowMapper());
+            //Item item = template.queryForObject(sql, param, itemRowMapper());
+
+            // *** 미리 만들어 둔 '?' sql + index 기반 RowMapper (ItemSelectQueries)
+            // -> named parameter 파싱과 BeanPropertyRowMapper의 reflection을 거치지 않도록 JdbcTemplate으로 바로 실행
+            Item item = template.getJdbcTemplate().queryForObject(
+                    ItemSelectQueries.FIND_BY_ID_SQL, ItemSelectQueries.ITEM_ROW_MAPPER, id);
 
             return Optional.of(item);
         } catch (EmptyResultDataAccessException e) {
@@ -164,24 +181,14 @@ public class JdbcTemplateItemRepositoryV3 implements ItemRepository {
 
     @Override
     public List<Item> findAll(ItemSearchCond cond) {
-        String itemName = cond.getItemName();
-        Integer maxPrice = cond.getMaxPrice();
-
-        //String sql = "select id, item_name, price, quantity from item";
-
-        // 방법 1.
+    /*  // 기존의 호출마다 sql을 조립하고 named parameter를 파싱하는 동적 쿼리 + BeanPropertyRowMapper
         SqlParameterSource param = new BeanPropertySqlParameterSource(cond);
-
         String sql = "select id, item_name, price, quantity from item";
-
-        // * 동적 쿼리
         if (StringUtils.hasText(itemName) || maxPrice != null) {
             sql += " where"; }
         boolean andFlag = false;
-        //List<Object> param = new ArrayList<>();
         if (StringUtils.hasText(itemName)) {
             sql += " item_name like concat('%',:itemName,'%')";
-            //param.add(itemName);
             andFlag = true;
         }
         if (maxPrice != null) {
@@ -189,15 +196,83 @@ public class JdbcTemplateItemRepositoryV3 implements ItemRepository {
                 sql += " and";
             }
             sql += " price <= :maxPrice";
-            //param.add(maxPrice);
+        }
+        return template.query(sql, param, itemRowMapper());
+    */
+
+        // *** 조건 조합마다 미리 만들어 둔 '?' sql + index 기반 RowMapper (ItemSelectQueries)
+        // -> 이름 기반 바인딩이 주는 가독성은 sql이 고정된 ItemSelectQueries 쪽에서 이미 확보되므로 순서 기반으로 실행
+        String sql = ItemSelectQueries.findAllSql(cond);
+        log.debug("sql={}", sql);
+        return template.getJdbcTemplate().query(sql, ItemSelectQueries.ITEM_ROW_MAPPER, ItemSelectQueries.findAllArgs(cond));
+    }
+
+    @Override
+    public int bulkUpdate(ItemSearchCond cond, ItemBulkUpdateDto updateParam, Long fromId, Long toId) {
+        String sql = "update item set " +
+                "price=price + price * :pricePercent / 100, quantity=quantity + :quantityDelta " +
+                "where id between :fromId and :toId";
+
+        MapSqlParameterSource param = new MapSqlParameterSource()
+                .addValue("pricePercent", updateParam.getPricePercent())
+                .addValue("quantityDelta", updateParam.getQuantityDelta())
+                .addValue("fromId", fromId)
+                .addValue("toId", toId);
+
+        String condition = searchCondition(cond, param);
+        if (StringUtils.hasText(condition)) {
+            sql += " and " + condition;
         }
 
         log.info("sql={}", sql);
+        return template.update(sql, param);
+    }
+
+    // * RowCallbackHandler - row마다 호출되므로 결과를 List에 모으지 않음
+    @Override
+    public void scan(ItemSearchCond cond, Consumer<Item> action) {
+        RowMapper<Item> rowMapper = ItemSelectQueries.ITEM_ROW_MAPPER;
+        template.getJdbcTemplate().query(ItemSelectQueries.scanStatement(cond), rs -> {
+            action.accept(rowMapper.mapRow(rs, 0));
+        });
+    }
 
-        //sql에 parameter를 바인딩해야하므로 이를 Array로 넘겨주는 parameter 추가
+    // * SimpleJdbcInsert는 첫 insert 시점에 DB 메타데이터를 읽어서 insert sql을 만듦 -> 미리 compile
+    @Override
+    public void warmUp() {
+        jdbcInsert.compile();
+    }
 
-        //return template.query(sql, itemRowMapper(), param.toArray());
-        return template.query(sql, param, itemRowMapper());
+    @Override
+    public Optional<ItemIdRange> findIdRange(ItemSearchCond cond) {
+        String sql = "select min(id) as min_id, max(id) as max_id from item";
+        MapSqlParameterSource param = new MapSqlParameterSource();
+
+        String condition = searchCondition(cond, param);
+        if (StringUtils.hasText(condition)) {
+            sql += " where " + condition;
+        }
+
+        return template.queryForObject(sql, param, (rs, rowNum) -> ItemIdRange.of(
+                rs.getObject("min_id", Long.class),
+                rs.getObject("max_id", Long.class)));
+    }
 
+    // findAll()과 같은 검색 조건을 대량 수정/id 범위 조회에서 재사용하기 위한 조건절 생성
+    private String searchCondition(ItemSearchCond cond, MapSqlParameterSource param) {
+        List<String> conditions = new ArrayList<>();
+        if (StringUtils.hasText(cond.getItemName())) {
+            conditions.add("item_name like concat('%',:itemName,'%')");
+            param.addValue("itemName", cond.getItemName());
+        }
+        if (cond.getMinPrice() != null) {
+            conditions.add("price >= :minPrice");
+            param.addValue("minPrice", cond.getMinPrice());
+        }
+        if (cond.getMaxPrice() != null) {
+            conditions.add("price <= :maxPrice");
+            param.addValue("maxPrice", cond.getMaxPrice());
+        }
+        return String.join(" and ", conditions);
     }
 }
@@ -0,0 +1,116 @@
+package hello.itemservice.repository.jpa;
+
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.jpa.impl.JPAQuery;
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemSort;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.EntityManager;
+
+import static hello.itemservice.domain.QItem.item;
+
+/**
+ * Querydsl 검색 쿼리의 조건 조합(shape)별 template - JpaItemRepositoryV3, ItemQueryRepositoryV2 에서 사용
+ *  - ItemSearchCond의 필터 조합은 (itemName/minPrice/maxPrice 유무) 8가지 -> 클래스 로딩 시점에 8개의 query 트리를 한번만 만듦
+ *    -> 요청마다 select/from/where 트리를 새로 만들지 않고 template을 복사(clone)해서 값만 바인딩
+ *  - 값은 Param으로 바인딩 -> 같은 shape이면 항상 같은 JPQL 문자열이 되어 Hibernate query plan cache를 재사용
+ *    (plan cache 적중률은 /actuator/metrics/hibernate.cache.query.plan 에서 확인)
+ *  - search() : 복사한 query에 정렬(order by)과 limit(setMaxResults)을 추가 -> 정렬 기준마다 JPQL은 고정
+ *    -> findAll()과 scan()이 같이 사용 - scan()은 hint를 더 붙여서 stream()
+ * *** template은 EntityManager 없이 만든 query -> 공유해도 되지만 직접 실행하지 말고 항상 query(em, cond)로 복사해서 사용
+ */
+public final class ItemSearchQueryTemplates {
+
+    private static final int NAME = 1;
+    private static final int MIN_PRICE = 2;
+    private static final int MAX_PRICE = 4;
+
+    private static final Param<String> ITEM_NAME_PATTERN = new Param<>(String.class, "itemNamePattern");
+    private static final Param<Integer> MIN_PRICE_PARAM = new Param<>(Integer.class, "minPrice");
+    private static final Param<Integer> MAX_PRICE_PARAM = new Param<>(Integer.class, "maxPrice");
+
+    // index = shape(cond)
+    @SuppressWarnings("unchecked")
+    private static final JPAQuery<Item>[] TEMPLATES = new JPAQuery[8];
+
+    static {
+        for (int shape = 0; shape < TEMPLATES.length; shape++) {
+            TEMPLATES[shape] = new JPAQuery<Item>()
+                    .select(item)
+                    .from(item)
+                    .where(
+                            (shape & NAME) != 0 ? item.itemName.like(ITEM_NAME_PATTERN) : null,
+                            (shape & MIN_PRICE) != 0 ? item.price.goe(MIN_PRICE_PARAM) : null,
+                            (shape & MAX_PRICE) != 0 ? item.price.loe(MAX_PRICE_PARAM) : null
+                    );
+        }
+    }
+
+    private ItemSearchQueryTemplates() {
+    }
+
+    // *** findAll()/scan() - 필터 + ItemSearchCond의 정렬/limit
+    public static JPAQuery<Item> search(EntityManager em, ItemSearchCond cond) {
+        JPAQuery<Item> query = query(em, cond);
+        ItemSort sort = cond.resolveSort();
+        if (sort == null) {
+            return query;
+        }
+        query.orderBy(orderSpecifier(sort));
+        if (sort != ItemSort.ID) {
+            query.orderBy(item.id.asc());
+        }
+        if (cond.hasLimit()) {
+            query.limit(cond.getLimit());
+        }
+        return query;
+    }
+
+    // cond의 필터 shape에 맞는 template을 em으로 복사하고 값을 바인딩한 query (정렬/limit 없음) - hint 등을 더 붙여서 실행
+    public static JPAQuery<Item> query(EntityManager em, ItemSearchCond cond) {
+        int shape = shape(cond);
+        JPAQuery<Item> query = TEMPLATES[shape].clone(em);
+        if ((shape & NAME) != 0) {
+            query.set(ITEM_NAME_PATTERN, "%" + cond.getItemName() + "%");
+        }
+        if ((shape & MIN_PRICE) != 0) {
+            query.set(MIN_PRICE_PARAM, cond.getMinPrice());
+        }
+        if ((shape & MAX_PRICE) != 0) {
+            query.set(MAX_PRICE_PARAM, cond.getMaxPrice());
+        }
+        return query;
+    }
+
+    private static OrderSpecifier<?> orderSpecifier(ItemSort sort) {
+        switch (sort) {
+            case PRICE_ASC:
+                return item.price.asc();
+            case PRICE_DESC:
+                return item.price.desc();
+            case QUANTITY_ASC:
+                return item.quantity.asc();
+            case QUANTITY_DESC:
+                return item.quantity.desc();
+            default:
+                return item.id.asc();
+        }
+    }
+
+    private static int shape(ItemSearchCond cond) {
+        int shape = 0;
+        if (StringUtils.hasText(cond.getItemName())) {
+            shape |= NAME;
+        }
+        if (cond.getMinPrice() != null) {
+            shape |= MIN_PRICE;
+        }
+        if (cond.getMaxPrice() != null) {
+            shape |= MAX_PRICE;
+        }
+        return shape;
+    }
+}
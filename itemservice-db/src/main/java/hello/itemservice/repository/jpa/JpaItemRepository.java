@@ -1,18 +1,25 @@
 package hello.itemservice.repository.jpa;
 
 import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemBulkUpdateDto;
+import hello.itemservice.repository.ItemIdRange;
 import hello.itemservice.repository.ItemRepository;
 import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemSort;
 import hello.itemservice.repository.ItemUpdateDto;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.QueryHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import javax.persistence.EntityManager;
+import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Slf4j
 @Repository
@@ -60,6 +67,15 @@ public class JpaItemRepository implements ItemRepository {
         return item;
     }
 
+    // * persist()만 반복하면 영속성 컨텍스트에 entity가 계속 쌓이므로 마지막에 flush() + clear()
+    @Override
+    public int saveAll(List<Item> items) {
+        items.forEach(em::persist);
+        em.flush();
+        em.clear();
+        return items.size();
+    }
+
     @Override
     public void update(Long itemId, ItemUpdateDto updateParam) {
         Item findItem = em.find(Item.class, itemId);
@@ -89,10 +105,11 @@ public class JpaItemRepository implements ItemRepository {
         // Jpql은 Table이 대상이 아닌 Entity를 대상으로 함
 
         // 동적 쿼리
+        Integer minPrice = cond.getMinPrice();
         Integer maxPrice = cond.getMaxPrice();
         String itemName = cond.getItemName();
 
-        if (StringUtils.hasText(itemName) || maxPrice != null) {
+        if (StringUtils.hasText(itemName) || minPrice != null || maxPrice != null) {
             jpql += " where";
         }
 
@@ -106,6 +123,15 @@ public class JpaItemRepository implements ItemRepository {
             // maxPrice에서 and를 추가할지의 여부를 위해, itemName이 null or not의 상태 확인 가능
         }
 
+        if (minPrice != null) {
+            if (andFlag) {
+                jpql += " and";
+            }
+
+            jpql += " i.price >= :minPrice";
+            andFlag = true;
+        }
+
         if (maxPrice != null) {
             if (andFlag) {
                 jpql += " and";
@@ -114,6 +140,10 @@ public class JpaItemRepository implements ItemRepository {
             jpql += " i.price <= :maxPrice";
         }
 
+        // *** 정렬 - 필드명은 ItemSort의 고정값 / 같은 값끼리는 id 순서
+        ItemSort sort = cond.resolveSort();
+        jpql += orderBy(sort);
+
         log.info("jpql = {}", jpql);
 
         //query 생성 및 Parameter 바인딩
@@ -121,9 +151,16 @@ public class JpaItemRepository implements ItemRepository {
         if (StringUtils.hasText(itemName)) {
             query.setParameter("itemName", itemName);
         }
+        if (minPrice != null) {
+            query.setParameter("minPrice", minPrice);
+        }
         if (maxPrice != null) {
             query.setParameter("maxPrice", maxPrice);
         }
+        // *** limit - jpql에는 limit 문법이 없으므로 setMaxResults()로 지정 -> Hibernate가 DB 방언에 맞는 limit sql 생성
+        if (sort != null && cond.hasLimit()) {
+            query.setMaxResults(cond.getLimit());
+        }
         //query 수행 및 result 받아오기
         List<Item> result =  query.getResultList();
         return result;
@@ -136,4 +173,96 @@ public class JpaItemRepository implements ItemRepository {
     */
 
     }
+
+    @Override
+    public int bulkUpdate(ItemSearchCond cond, ItemBulkUpdateDto updateParam, Long fromId, Long toId) {
+        // *** jpql의 벌크 연산 - 영속성 컨텍스트를 거치지 않고 DB에 바로 update 쿼리를 실행
+        //     + 실행 전 영속성 컨텍스트는 자동으로 flush됨
+        String jpql = "update Item i set i.price = i.price + i.price * :pricePercent / 100," +
+                " i.quantity = i.quantity + :quantityDelta" +
+                " where i.id between :fromId and :toId" + searchCondition(cond);
+
+        log.info("jpql = {}", jpql);
+
+        Query query = em.createQuery(jpql)
+                .setParameter("pricePercent", updateParam.getPricePercent())
+                .setParameter("quantityDelta", updateParam.getQuantityDelta())
+                .setParameter("fromId", fromId)
+                .setParameter("toId", toId);
+        bindSearchCondition(query, cond);
+        int updated = query.executeUpdate();
+
+        // * 벌크 연산은 영속성 컨텍스트의 entity에 반영되지 않으므로, 이후 조회에서 오래된 값을 보지 않도록 비워줌
+        em.clear();
+        return updated;
+    }
+
+    // *** getResultStream() - Hibernate의 ScrollableResults(cursor)로 한 건씩 읽음
+    // - 읽은 entity는 영속성 컨텍스트에 계속 쌓이므로 action 처리 후 바로 detach
+    @Override
+    @Transactional(readOnly = true)
+    public void scan(ItemSearchCond cond, Consumer<Item> action) {
+        ItemSort sort = cond.resolveSort();
+        String jpql = "select i from Item i where 1 = 1" + searchCondition(cond) + orderBy(sort);
+
+        TypedQuery<Item> query = em.createQuery(jpql, Item.class)
+                .setHint(QueryHints.HINT_FETCH_SIZE, SCAN_FETCH_SIZE)
+                .setHint(QueryHints.HINT_READONLY, true);
+        bindSearchCondition(query, cond);
+        if (sort != null && cond.hasLimit()) {
+            query.setMaxResults(cond.getLimit());
+        }
+        try (Stream<Item> items = query.getResultStream()) {
+            items.forEach(item -> {
+                action.accept(item);
+                em.detach(item);
+            });
+        }
+    }
+
+    @Override
+    public Optional<ItemIdRange> findIdRange(ItemSearchCond cond) {
+        String jpql = "select min(i.id), max(i.id) from Item i where 1 = 1" + searchCondition(cond);
+
+        TypedQuery<Object[]> query = em.createQuery(jpql, Object[].class);
+        bindSearchCondition(query, cond);
+        Object[] result = query.getSingleResult();
+        return ItemIdRange.of((Long) result[0], (Long) result[1]);
+    }
+
+    // findAll()과 같은 검색 조건을 벌크 연산에서 재사용 - 앞에 and를 붙여서 반환
+    private String searchCondition(ItemSearchCond cond) {
+        String condition = "";
+        if (StringUtils.hasText(cond.getItemName())) {
+            condition += " and i.itemName like concat('%',:itemName,'%')";
+        }
+        if (cond.getMinPrice() != null) {
+            condition += " and i.price >= :minPrice";
+        }
+        if (cond.getMaxPrice() != null) {
+            condition += " and i.price <= :maxPrice";
+        }
+        return condition;
+    }
+
+    // findAll()/scan()의 order by 절 - 정렬하지 않으면 빈 문자열
+    private String orderBy(ItemSort sort) {
+        if (sort == null) {
+            return "";
+        }
+        String orderBy = " order by i." + sort.getProperty() + " " + sort.getDirection();
+        return sort == ItemSort.ID ? orderBy : orderBy + ", i.id asc";
+    }
+
+    private void bindSearchCondition(Query query, ItemSearchCond cond) {
+        if (StringUtils.hasText(cond.getItemName())) {
+            query.setParameter("itemName", cond.getItemName());
+        }
+        if (cond.getMinPrice() != null) {
+            query.setParameter("minPrice", cond.getMinPrice());
+        }
+        if (cond.getMaxPrice() != null) {
+            query.setParameter("maxPrice", cond.getMaxPrice());
+        }
+    }
 }
@@ -1,11 +1,16 @@
 package hello.itemservice.repository.jpa;
 
 import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemBulkUpdateDto;
+import hello.itemservice.repository.ItemIdRange;
 import hello.itemservice.repository.ItemRepository;
 import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemSort;
 import hello.itemservice.repository.ItemUpdateDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -14,6 +19,8 @@ import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * * SpringDataJpa를 활용한 Repository는 ItemRepository 인터페이스를 구현하고 있지 않음
@@ -39,6 +46,9 @@ import java.util.Optional;
 public class JpaItemRepositoryV2 implements ItemRepository {
 
     private final SpringDataJpaItemRepository repository; // @RequiredArgsConstructor로 바로 주입되도록 만듦
+
+    // scan()에서 읽은 entity를 영속성 컨텍스트에서 분리하기 위해 사용
+    private final EntityManager em;
     // *** SpringDataJpaItemRepository는 인터페이스이지만 Spring에서 Proxy를 통해 구현클래스를 생성하고 인스턴스를 Bean 등록한다
     //     -> Spring 내부적인 동작들로 은닉되어 interface의 의존성 주입을 간단히 생각하고 넘길 수 있으나, 항상 실제 주입되는 인스턴스를 염두하자
 
@@ -51,6 +61,11 @@ public class JpaItemRepositoryV2 implements ItemRepository {
         // -> 결국 EntityManager인 em.persist() 메서드가 호출됨
     }
 
+    @Override
+    public int saveAll(List<Item> items) {
+        return repository.saveAll(items).size();
+    }
+
     @Override
     public void update(Long itemId, ItemUpdateDto updateParam) {
         Item findItem = repository.findById(itemId).orElseThrow();
@@ -76,6 +91,13 @@ public class JpaItemRepositoryV2 implements ItemRepository {
         String itemName = cond.getItemName();
         Integer maxPrice = cond.getMaxPrice();
 
+        // *** minPrice/정렬/limit이 있으면 하나의 @Query + Sort/Pageable로 처리
+        //     -> 조건마다 쿼리 메서드를 늘리면 조합 수만큼 메서드가 필요
+        ItemSort sort = cond.resolveSort();
+        if (cond.getMinPrice() != null || sort != null) {
+            return search(cond, sort);
+        }
+
         if (StringUtils.hasText(itemName) && maxPrice != null) {
             //return repository.findByItemNameLikeAndPriceLessThanEqual(itemName, maxPrice);
             return repository.findItems("%" + itemName + "%", maxPrice);
@@ -88,4 +110,63 @@ public class JpaItemRepositoryV2 implements ItemRepository {
             // findAll()은 JpaRepository 인터페이스의 메서드
         }
     }
+
+    private List<Item> search(ItemSearchCond cond, ItemSort sort) {
+        String itemName = likePattern(cond.getItemName());
+        if (sort != null && cond.hasLimit()) {
+            return repository.searchItems(itemName, cond.getMinPrice(), cond.getMaxPrice(),
+                    PageRequest.of(0, cond.getLimit(), order(sort)));
+        }
+        return repository.searchItems(itemName, cond.getMinPrice(), cond.getMaxPrice(), order(sort));
+    }
+
+    // 정렬하지 않으면 Sort.unsorted() / 같은 값끼리는 id 순서
+    private Sort order(ItemSort sort) {
+        if (sort == null) {
+            return Sort.unsorted();
+        }
+        Sort order = Sort.by(sort.isAscending() ? Sort.Direction.ASC : Sort.Direction.DESC, sort.getProperty());
+        return sort == ItemSort.ID ? order : order.and(Sort.by("id"));
+    }
+
+    @Override
+    public int bulkUpdate(ItemSearchCond cond, ItemBulkUpdateDto updateParam, Long fromId, Long toId) {
+        return repository.bulkUpdate(updateParam.getPricePercent(), updateParam.getQuantityDelta(),
+                fromId, toId, likePattern(cond.getItemName()), cond.getMinPrice(), cond.getMaxPrice());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void scan(ItemSearchCond cond, Consumer<Item> action) {
+        try (Stream<Item> items = stream(cond, cond.resolveSort())) {
+            items.forEach(item -> {
+                action.accept(item);
+                em.detach(item);
+            });
+        }
+    }
+
+    @Override
+    public Optional<ItemIdRange> findIdRange(ItemSearchCond cond) {
+        ItemIdRange range = repository.findIdRange(likePattern(cond.getItemName()), cond.getMinPrice(), cond.getMaxPrice());
+        return ItemIdRange.of(range.getMinId(), range.getMaxId());
+    }
+
+    // findAll()과 같은 정렬/limit의 cursor
+    private Stream<Item> stream(ItemSearchCond cond, ItemSort sort) {
+        String itemName = likePattern(cond.getItemName());
+        if (sort != null && cond.hasLimit()) {
+            return repository.streamItems(itemName, cond.getMinPrice(), cond.getMaxPrice(),
+                    PageRequest.of(0, cond.getLimit(), order(sort)));
+        }
+        return repository.streamItems(itemName, cond.getMinPrice(), cond.getMaxPrice(), order(sort));
+    }
+
+    // 조건이 없을 경우 null을 넘겨서 jpql의 ":itemName is null" 조건으로 무시되도록
+    private String likePattern(String itemName) {
+        if (StringUtils.hasText(itemName)) {
+            return "%" + itemName + "%";
+        }
+        return null;
+    }
 }
@@ -1,14 +1,18 @@
 package hello.itemservice.repository.jpa;
 
 import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
 import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import hello.itemservice.domain.Item;
 import hello.itemservice.domain.QItem;
+import hello.itemservice.repository.ItemBulkUpdateDto;
+import hello.itemservice.repository.ItemIdRange;
 import hello.itemservice.repository.ItemRepository;
 import hello.itemservice.repository.ItemSearchCond;
 import hello.itemservice.repository.ItemUpdateDto;
+import org.hibernate.jpa.QueryHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -16,6 +20,8 @@ import org.springframework.util.StringUtils;
 import javax.persistence.EntityManager;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static hello.itemservice.domain.QItem.item;
 
@@ -56,6 +62,15 @@ public class JpaItemRepositoryV3 implements ItemRepository {
         return item;
     }
 
+    // * persist()만 반복하면 영속성 컨텍스트에 entity가 계속 쌓이므로 마지막에 flush() + clear()
+    @Override
+    public int saveAll(List<Item> items) {
+        items.forEach(em::persist);
+        em.flush();
+        em.clear();
+        return items.size();
+    }
+
     @Override
     public void update(Long itemId, ItemUpdateDto updateParam) {
         Item findItem = em.find(Item.class, itemId);
@@ -119,11 +134,58 @@ public class JpaItemRepositoryV3 implements ItemRepository {
         // Static Import 사용
         // *** where() 내부에서는 ','를 통해 and 조건 형성 + null은 무시하는 문법을 통해 동적 조건 간결하게 작성 가능
         //     + *** Method화 시킨 조건 로직이 모듈화되므로 재사용 가능함
+/*
         return query
                 .select(item)
                 .from(item)
                 .where(likeItemName(itemName), maxPrice(maxPrice))
                 .fetch();
+*/
+
+        // *** 검색은 호출 빈도가 높으므로 조건 조합별로 미리 만들어 둔 template을 복사해서 사용 (ItemSearchQueryTemplates)
+        // -> where() 조건 메서드는 bulkUpdate()/findIdRange()에서 계속 재사용
+        return ItemSearchQueryTemplates.search(em, cond).fetch();
+    }
+
+    // *** Querydsl의 JPAUpdateClause로 벌크 수정 - where() 조건 메서드를 findAll()과 그대로 재사용
+    @Override
+    public int bulkUpdate(ItemSearchCond cond, ItemBulkUpdateDto updateParam, Long fromId, Long toId) {
+        long updated = query
+                .update(item)
+                .set(item.price, item.price.add(item.price.multiply(updateParam.getPricePercent()).divide(100)))
+                .set(item.quantity, item.quantity.add(updateParam.getQuantityDelta()))
+                .where(item.id.between(fromId, toId), likeItemName(cond.getItemName()), minPrice(cond.getMinPrice()), maxPrice(cond.getMaxPrice()))
+                .execute();
+
+        // * 벌크 연산은 영속성 컨텍스트를 거치지 않으므로 비워줌
+        em.clear();
+        return (int) updated;
+    }
+
+    // *** stream() - Hibernate의 ScrollableResults(cursor)로 한 건씩 읽음
+    // - 읽은 entity는 영속성 컨텍스트에 계속 쌓이므로 action 처리 후 바로 detach
+    @Override
+    @Transactional(readOnly = true)
+    public void scan(ItemSearchCond cond, Consumer<Item> action) {
+        try (Stream<Item> items = ItemSearchQueryTemplates.search(em, cond)
+                .setHint(QueryHints.HINT_FETCH_SIZE, SCAN_FETCH_SIZE)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .stream()) {
+            items.forEach(item -> {
+                action.accept(item);
+                em.detach(item);
+            });
+        }
+    }
+
+    @Override
+    public Optional<ItemIdRange> findIdRange(ItemSearchCond cond) {
+        Tuple result = query
+                .select(item.id.min(), item.id.max())
+                .from(item)
+                .where(likeItemName(cond.getItemName()), minPrice(cond.getMinPrice()), maxPrice(cond.getMaxPrice()))
+                .fetchOne();
+        return ItemIdRange.of(result.get(0, Long.class), result.get(1, Long.class));
     }
 
     private BooleanExpression likeItemName(String itemName) {
@@ -134,6 +196,13 @@ public class JpaItemRepositoryV3 implements ItemRepository {
         return null;
     }
 
+    private BooleanExpression minPrice(Integer minPrice) {
+        if (minPrice != null) {
+            return item.price.goe(minPrice);
+        }
+        return null;
+    }
+
     private BooleanExpression maxPrice(Integer maxPrice) {
         if (maxPrice != null) {
             return item.price.loe(maxPrice);
@@ -1,11 +1,19 @@
 package hello.itemservice.repository.jpa;
 
 import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemIdRange;
+import hello.itemservice.repository.ItemRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.stream.Stream;
 
 // *** 이러한 Interface의 구현은 스프링이 Proxy를 통해 만든 구현 클래스의 인스턴스를 Bean 등록한다
 
@@ -34,4 +42,79 @@ public interface SpringDataJpaItemRepository extends JpaRepository<Item, Long> {
     // -> 동적 쿼리를 사용해서 이를 한번에 묶을 수는 없을까? -> SDJ는 jpql동적 쿼리에 취약
     // -> 이후 Querydls로 깔끔하게 해결할 예정
 
+    // *** 정렬/limit이 있는 검색 - 조건은 아래 대량 수정과 같은 ":param is null or ..." 형태
+    // * 마지막 parameter가 Sort/Pageable이면 SDJ가 order by / limit(setMaxResults)을 붙여줌
+    //   -> List 반환이므로 Pageable을 넘겨도 count 쿼리는 실행하지 않음
+    @Query("select i from Item i" +
+            " where (:itemName is null or i.itemName like :itemName)" +
+            " and (:minPrice is null or i.price >= :minPrice)" +
+            " and (:maxPrice is null or i.price <= :maxPrice)")
+    List<Item> searchItems(@Param("itemName") String itemName,
+                           @Param("minPrice") Integer minPrice,
+                           @Param("maxPrice") Integer maxPrice,
+                           Sort sort);
+
+    @Query("select i from Item i" +
+            " where (:itemName is null or i.itemName like :itemName)" +
+            " and (:minPrice is null or i.price >= :minPrice)" +
+            " and (:maxPrice is null or i.price <= :maxPrice)")
+    List<Item> searchItems(@Param("itemName") String itemName,
+                           @Param("minPrice") Integer minPrice,
+                           @Param("maxPrice") Integer maxPrice,
+                           Pageable pageable);
+
+    // *** 대량 수정 - 동적 쿼리 대신 ":param is null or ..." 형태로 조건이 없을 때 해당 조건을 무시
+    // * @Modifying - 조회가 아닌 update/delete jpql임을 명시
+    //   + clearAutomatically : 벌크 연산 후 영속성 컨텍스트를 비워 오래된 entity를 조회하지 않도록
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Item i set i.price = i.price + i.price * :pricePercent / 100, i.quantity = i.quantity + :quantityDelta" +
+            " where i.id between :fromId and :toId" +
+            " and (:itemName is null or i.itemName like :itemName)" +
+            " and (:minPrice is null or i.price >= :minPrice)" +
+            " and (:maxPrice is null or i.price <= :maxPrice)")
+    int bulkUpdate(@Param("pricePercent") Integer pricePercent,
+                   @Param("quantityDelta") Integer quantityDelta,
+                   @Param("fromId") Long fromId,
+                   @Param("toId") Long toId,
+                   @Param("itemName") String itemName,
+                   @Param("minPrice") Integer minPrice,
+                   @Param("maxPrice") Integer maxPrice);
+
+    // * jpql의 new 연산자로 조회 결과를 DTO 생성자에 바로 매핑
+    // *** Stream 반환 - cursor로 한 건씩 읽음 (트랜잭션 안에서 사용하고 반드시 close)
+    // * searchItems()와 같이 Sort / Pageable(limit)로 정렬 - Pageable이어도 count query 없이 limit만 적용
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "" + ItemRepository.SCAN_FETCH_SIZE),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    @Query("select i from Item i" +
+            " where (:itemName is null or i.itemName like :itemName)" +
+            " and (:minPrice is null or i.price >= :minPrice)" +
+            " and (:maxPrice is null or i.price <= :maxPrice)")
+    Stream<Item> streamItems(@Param("itemName") String itemName,
+                             @Param("minPrice") Integer minPrice,
+                             @Param("maxPrice") Integer maxPrice,
+                             Sort sort);
+
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "" + ItemRepository.SCAN_FETCH_SIZE),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    @Query("select i from Item i" +
+            " where (:itemName is null or i.itemName like :itemName)" +
+            " and (:minPrice is null or i.price >= :minPrice)" +
+            " and (:maxPrice is null or i.price <= :maxPrice)")
+    Stream<Item> streamItems(@Param("itemName") String itemName,
+                             @Param("minPrice") Integer minPrice,
+                             @Param("maxPrice") Integer maxPrice,
+                             Pageable pageable);
+
+    @Query("select new hello.itemservice.repository.ItemIdRange(min(i.id), max(i.id)) from Item i" +
+            " where (:itemName is null or i.itemName like :itemName)" +
+            " and (:minPrice is null or i.price >= :minPrice)" +
+            " and (:maxPrice is null or i.price <= :maxPrice)")
+    ItemIdRange findIdRange(@Param("itemName") String itemName,
+                            @Param("minPrice") Integer minPrice,
+                            @Param("maxPrice") Integer maxPrice);
+
 }
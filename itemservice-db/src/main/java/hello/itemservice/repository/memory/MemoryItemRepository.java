@@ -1,28 +1,40 @@
 package hello.itemservice.repository.memory;
 
 import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemBulkUpdateDto;
+import hello.itemservice.repository.ItemIdRange;
 import hello.itemservice.repository.ItemRepository;
 import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemTopK;
 import hello.itemservice.repository.ItemUpdateDto;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.ObjectUtils;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 @Repository
 public class MemoryItemRepository implements ItemRepository {
 
-    private static final Map<Long, Item> store = new HashMap<>(); //static
-    private static long sequence = 0L; //static
+    // * 대량 수정을 parallelStream으로 처리하므로 동시 접근에 안전한 자료구조 사용
+    private static final Map<Long, Item> store = new ConcurrentHashMap<>(); //static
+    private static final AtomicLong sequence = new AtomicLong(); //static
 
     @Override
     public Item save(Item item) {
-        item.setId(++sequence);
+        item.setId(sequence.incrementAndGet());
         store.put(item.getId(), item);
         return item;
     }
 
+    @Override
+    public int saveAll(List<Item> items) {
+        items.forEach(this::save);
+        return items.size();
+    }
+
     @Override
     public void update(Long itemId, ItemUpdateDto updateParam) {
         Item findItem = findById(itemId).orElseThrow();
@@ -38,25 +50,61 @@ public class MemoryItemRepository implements ItemRepository {
 
     @Override
     public List<Item> findAll(ItemSearchCond cond) {
-        String itemName = cond.getItemName();
-        Integer maxPrice = cond.getMaxPrice();
+        // *** 정렬/limit - limit이 있으면 전체를 정렬하지 않고 상위 limit개만 heap으로 선택 (ItemTopK)
+        return ItemTopK.select(store.values().stream()
+                .filter(item -> matches(item, cond)), cond);
+    }
 
-        List<Item> collect = store.values().stream()
-                .filter(item -> {
-                    if (ObjectUtils.isEmpty(itemName)) {
-                        // * ObjectUtils.isEmpty()는 전달값 자체가 null일 때도 true를 반환하지만,
-                        //   비어있는 '문자형'이 전달될 때에도 true를 반환 - length()로 체크
-                        return true;
-                    }
-                    return item.getItemName().contains(itemName);
-                }).filter(item -> {
-                    if (maxPrice == null) {
-                        return true;
-                    }
-                    return item.getPrice() <= maxPrice;
+    @Override
+    public int bulkUpdate(ItemSearchCond cond, ItemBulkUpdateDto updateParam, Long fromId, Long toId) {
+        // *** 메모리 구현은 set-based SQL 대신 parallelStream으로 각 item에 수정식을 병렬 적용
+        return store.values().parallelStream()
+                .filter(item -> item.getId() >= fromId && item.getId() <= toId)
+                .filter(item -> matches(item, cond))
+                .mapToInt(item -> {
+                    updateParam.applyTo(item);
+                    return 1;
                 })
-                .collect(Collectors.toList());
-        return collect;
+                .sum();
+    }
+
+    // * 정렬이 있으면 findAll()과 같이 선택 - item은 이미 메모리에 있으므로 참조만 정렬
+    @Override
+    public void scan(ItemSearchCond cond, Consumer<Item> action) {
+        if (cond.resolveSort() != null) {
+            findAll(cond).forEach(action);
+            return;
+        }
+        store.values().stream()
+                .filter(item -> matches(item, cond))
+                .forEach(action);
+    }
+
+    @Override
+    public Optional<ItemIdRange> findIdRange(ItemSearchCond cond) {
+        LongSummaryStatistics stats = store.values().stream()
+                .filter(item -> matches(item, cond))
+                .mapToLong(Item::getId)
+                .summaryStatistics();
+        if (stats.getCount() == 0) {
+            return Optional.empty();
+        }
+        return ItemIdRange.of(stats.getMin(), stats.getMax());
+    }
+
+    private boolean matches(Item item, ItemSearchCond cond) {
+        String itemName = cond.getItemName();
+        Integer minPrice = cond.getMinPrice();
+        Integer maxPrice = cond.getMaxPrice();
+        // * ObjectUtils.isEmpty()는 전달값 자체가 null일 때도 true를 반환하지만,
+        //   비어있는 '문자형'이 전달될 때에도 true를 반환 - length()로 체크
+        if (!ObjectUtils.isEmpty(itemName) && !item.getItemName().contains(itemName)) {
+            return false;
+        }
+        if (minPrice != null && item.getPrice() < minPrice) {
+            return false;
+        }
+        return maxPrice == null || item.getPrice() <= maxPrice;
     }
 
     public void clearStore() {
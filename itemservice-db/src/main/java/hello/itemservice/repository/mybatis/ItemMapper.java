@@ -1,10 +1,16 @@
 package hello.itemservice.repository.mybatis;
 
 import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemBulkUpdateDto;
+import hello.itemservice.repository.ItemIdRange;
 import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemSort;
 import hello.itemservice.repository.ItemUpdateDto;
+import org.apache.ibatis.annotations.Flush;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,11 +24,31 @@ public interface ItemMapper {
 
     void save(Item item);
 
+    int saveAll(@Param("items") List<Item> items);
+
+    // BATCH executor의 SqlSession에서만 사용 - insert()로 쌓은 sql을 flush()에서 한번에 전송
+    void insert(Item item);
+
+    @Flush
+    List<BatchResult> flush();
+
     //parameter가 2개 이상일 경우 @Param을 꼭 지정해주어야 함
     void update(@Param("id") Long id, @Param("updateParam") ItemUpdateDto updateParam);
 
     //Mybatis는 Optional도 지원
     Optional<Item> findById(Long id);
 
-    List<Item> findAll(ItemSearchCond cond);
+    // sort - 정렬하지 않으면 null (ItemSearchCond.resolveSort())
+    List<Item> findAll(@Param("cond") ItemSearchCond cond, @Param("sort") ItemSort sort);
+
+    int bulkUpdate(@Param("cond") ItemSearchCond cond,
+                   @Param("updateParam") ItemBulkUpdateDto updateParam,
+                   @Param("fromId") Long fromId,
+                   @Param("toId") Long toId);
+
+    //ResultHandler를 받는 메서드는 반환 타입이 void여야 함
+    void scan(@Param("cond") ItemSearchCond cond, @Param("sort") ItemSort sort, ResultHandler<Item> handler);
+
+    //min()/max()가 모두 null인 row는 MyBatis가 null로 매핑 -> Optional.empty()
+    Optional<ItemIdRange> findIdRange(@Param("cond") ItemSearchCond cond);
 }
@@ -1,19 +1,22 @@
 package hello.itemservice.repository.mybatis;
 
 import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemBulkUpdateDto;
+import hello.itemservice.repository.ItemIdRange;
 import hello.itemservice.repository.ItemRepository;
 import hello.itemservice.repository.ItemSearchCond;
 import hello.itemservice.repository.ItemUpdateDto;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.executor.BatchResult;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Slf4j
 @Repository
-@RequiredArgsConstructor
 public class MyBatisItemRepository implements ItemRepository {
     // * 대부분이 매퍼인터페이스에 위임해 내부적으로 동작하는 구조
 
@@ -21,6 +24,19 @@ public class MyBatisItemRepository implements ItemRepository {
     // *** Proxy를 통해 구현체를 만들어 xml 호출 등에 사용
     private final ItemMapper itemMapper;
 
+    // *** BATCH executor의 SqlSessionTemplate에서 만든 매퍼 - null이면 saveAll()은 multi-row insert 하나로 처리
+    //     - 같은 트랜잭션 안에서 executor 종류를 바꿀 수 없으므로 saveAll()만 단독으로 실행하는 트랜잭션에서 사용 (CSV 적재 등)
+    private final ItemMapper batchItemMapper;
+
+    public MyBatisItemRepository(ItemMapper itemMapper) {
+        this(itemMapper, null);
+    }
+
+    public MyBatisItemRepository(ItemMapper itemMapper, ItemMapper batchItemMapper) {
+        this.itemMapper = itemMapper;
+        this.batchItemMapper = batchItemMapper;
+    }
+
     @Override
     public Item save(Item item) {
 
@@ -35,6 +51,27 @@ public class MyBatisItemRepository implements ItemRepository {
         return item;
     }
 
+    @Override
+    public int saveAll(List<Item> items) {
+        // 비어있으면 values 절이 없는 sql이 만들어지므로 호출하지 않음
+        if (items.isEmpty()) {
+            return 0;
+        }
+        // * 트랜잭션 밖에서는 SqlSessionTemplate이 호출마다 session을 닫으므로 insert()가 쌓이지 않음
+        if (batchItemMapper == null || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return itemMapper.saveAll(items);
+        }
+
+        // * multi-row insert는 건수마다 sql이 달라지고 parameter 수가 건수 x 3 -> 매번 새로 prepare
+        //   JDBC batch는 insert 문 하나를 prepare해서 row마다 값만 바꿔서 전송
+        items.forEach(batchItemMapper::insert);
+        int saved = 0;
+        for (BatchResult result : batchItemMapper.flush()) {
+            saved += result.getParameterObjects().size();
+        }
+        return saved;
+    }
+
     @Override
     public void update(Long itemId, ItemUpdateDto updateParam) {
         itemMapper.update(itemId, updateParam);
@@ -47,6 +84,22 @@ public class MyBatisItemRepository implements ItemRepository {
 
     @Override
     public List<Item> findAll(ItemSearchCond cond) {
-        return itemMapper.findAll(cond);
+        return itemMapper.findAll(cond, cond.resolveSort());
+    }
+
+    @Override
+    public int bulkUpdate(ItemSearchCond cond, ItemBulkUpdateDto updateParam, Long fromId, Long toId) {
+        return itemMapper.bulkUpdate(cond, updateParam, fromId, toId);
+    }
+
+    // * ResultHandler - row마다 호출되므로 결과를 List에 모으지 않음
+    @Override
+    public void scan(ItemSearchCond cond, Consumer<Item> action) {
+        itemMapper.scan(cond, cond.resolveSort(), context -> action.accept(context.getResultObject()));
+    }
+
+    @Override
+    public Optional<ItemIdRange> findIdRange(ItemSearchCond cond) {
+        return itemMapper.findIdRange(cond);
     }
 }
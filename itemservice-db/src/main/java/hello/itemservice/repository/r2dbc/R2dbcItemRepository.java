@@ -0,0 +1,143 @@
+package hello.itemservice.repository.r2dbc;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemSort;
+import hello.itemservice.repository.ItemUpdateDto;
+import io.r2dbc.spi.Row;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * R2DBC 구현
+ *  - DatabaseClient : JdbcTemplate의 R2DBC 버전 - 이름 기반 parameter 바인딩(:name) 지원
+ *  - JDBC와 달리 null은 bind()로 넘길 수 없고, bindNull()로 타입을 명시해서 바인딩해야 함
+ *  - 동적 쿼리는 JdbcTemplateItemRepositoryV2와 동일한 형태 (필터 + 정렬/limit)
+ */
+@Slf4j
+public class R2dbcItemRepository implements ReactiveItemRepository {
+
+    private final DatabaseClient client;
+
+    public R2dbcItemRepository(DatabaseClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public Mono<Item> save(Item item) {
+        String sql = "insert into item(item_name, price, quantity) " +
+                "values (:itemName, :price, :quantity)";
+
+        GenericExecuteSpec spec = client.sql(sql);
+        spec = bind(spec, "itemName", item.getItemName(), String.class);
+        spec = bind(spec, "price", item.getPrice(), Integer.class);
+        spec = bind(spec, "quantity", item.getQuantity(), Integer.class);
+
+        // * KeyHolder 대신 Statement.returnGeneratedValues()로 DB가 생성한 id를 결과 row로 받음
+        return spec
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .map(id -> {
+                    item.setId(id);
+                    return item;
+                });
+    }
+
+    @Override
+    public Mono<Void> update(Long itemId, ItemUpdateDto updateParam) {
+        String sql = "update item set " +
+                "item_name=:itemName, price=:price, quantity=:quantity " +
+                "where id=:id";
+
+        GenericExecuteSpec spec = client.sql(sql).bind("id", itemId);
+        spec = bind(spec, "itemName", updateParam.getItemName(), String.class);
+        spec = bind(spec, "price", updateParam.getPrice(), Integer.class);
+        spec = bind(spec, "quantity", updateParam.getQuantity(), Integer.class);
+
+        return spec.fetch().rowsUpdated().then();
+    }
+
+    @Override
+    public Mono<Item> findById(Long id) {
+        String sql = "select id, item_name, price, quantity from item where id=:id";
+        return client.sql(sql)
+                .bind("id", id)
+                .map(this::itemRowMapper)
+                .one();
+    }
+
+    @Override
+    public Flux<Item> findAll(ItemSearchCond cond) {
+        String itemName = cond.getItemName();
+        Integer minPrice = cond.getMinPrice();
+        Integer maxPrice = cond.getMaxPrice();
+        ItemSort sort = cond.resolveSort();
+
+        String sql = "select id, item_name, price, quantity from item";
+
+        // * 동적 쿼리
+        List<String> conditions = new ArrayList<>();
+        if (StringUtils.hasText(itemName)) {
+            conditions.add("item_name like concat('%',:itemName,'%')");
+        }
+        if (minPrice != null) {
+            conditions.add("price >= :minPrice");
+        }
+        if (maxPrice != null) {
+            conditions.add("price <= :maxPrice");
+        }
+        if (!conditions.isEmpty()) {
+            sql += " where " + String.join(" and ", conditions);
+        }
+        // * 정렬 컬럼은 ItemSort의 고정값 / limit은 정렬이 있을 때만
+        if (sort != null) {
+            sql += sort.sqlOrderBy();
+            if (cond.hasLimit()) {
+                sql += " limit :limit";
+            }
+        }
+
+        log.info("sql={}", sql);
+
+        GenericExecuteSpec spec = client.sql(sql);
+        if (StringUtils.hasText(itemName)) {
+            spec = spec.bind("itemName", itemName);
+        }
+        if (minPrice != null) {
+            spec = spec.bind("minPrice", minPrice);
+        }
+        if (maxPrice != null) {
+            spec = spec.bind("maxPrice", maxPrice);
+        }
+        if (sort != null && cond.hasLimit()) {
+            spec = spec.bind("limit", cond.getLimit());
+        }
+
+        // * all() - 결과 row를 구독자의 요청(request(n))만큼 흘려보내는 Flux
+        return spec.map(this::itemRowMapper).all();
+    }
+
+    private Item itemRowMapper(Row row) {
+        Item item = new Item();
+        item.setId(row.get("id", Long.class));
+        item.setItemName(row.get("item_name", String.class));
+        item.setPrice(row.get("price", Integer.class));
+        item.setQuantity(row.get("quantity", Integer.class));
+        return item;
+    }
+
+    private GenericExecuteSpec bind(GenericExecuteSpec spec, String name, Object value, Class<?> type) {
+        if (value == null) {
+            return spec.bindNull(name, type);
+        }
+        return spec.bind(name, value);
+    }
+}
@@ -0,0 +1,23 @@
+package hello.itemservice.repository.r2dbc;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemUpdateDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * ItemRepository의 리액티브(논블로킹) 버전
+ *  - 단건은 Mono, 다건은 Flux로 반환 -> 구독(subscribe)하는 시점에 쿼리가 실행됨
+ *  - 조회 결과가 없으면 Optional 대신 비어있는 Mono를 반환
+ */
+public interface ReactiveItemRepository {
+
+    Mono<Item> save(Item item);
+
+    Mono<Void> update(Long itemId, ItemUpdateDto updateParam);
+
+    Mono<Item> findById(Long id);
+
+    Flux<Item> findAll(ItemSearchCond cond);
+}
@@ -0,0 +1,87 @@
+package hello.itemservice.repository.shard;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * shard 번호가 인코딩된 id를 발급
+ *  - shard i (0부터 시작) / shard 개수 N -> 해당 shard의 item 테이블 identity가 i+1 부터 N씩 증가
+ *    ex) N=3 -> shard0: 1, 4, 7... / shard1: 2, 5, 8... / shard2: 3, 6, 9...
+ *  - 따라서 id만 보고 (id - 1) % N 으로 shard를 찾을 수 있음
+ *  - id 생성은 기존처럼 각 shard DB의 identity가 담당 -> 감싸는 Repository(JdbcTemplate, MyBatis) 코드를 수정할 필요가 없음
+ * *** identity가 위 규칙과 다르면 shard끼리 id가 겹쳐서 findById/update가 다른 shard의 row를 읽거나 수정함
+ *  - 시작 시 verifyIdentity()로 shard마다 확인하고 다르면 시작 실패 (init-schema=false로 직접 만든 테이블 포함)
+ */
+public class ItemShardIdAllocator {
+
+    private final int shardCount;
+
+    public ItemShardIdAllocator(int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    public int shardIndexOf(long id) {
+        return (int) ((id - 1) % shardCount);
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    // shard의 item 테이블 생성 - 이미 있으면 그대로 사용
+    public void createTableIfNotExists(DataSource dataSource, int shardIndex) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("create table if not exists item (" +
+                " id bigint generated by default as identity" +
+                " (start with " + (shardIndex + 1) + " increment by " + shardCount + ")," +
+                " item_name varchar(10)," +
+                " price integer," +
+                " quantity integer," +
+                " primary key (id))");
+        // 정렬 검색(ItemSort)용 인덱스 - src/main/resources/sql 참고
+        template.execute("create index if not exists idx_item_price on item (price, id)");
+        template.execute("create index if not exists idx_item_quantity on item (quantity, id)");
+    }
+
+    // *** shard의 item 테이블 identity가 shard 번호를 인코딩하는지 확인 - 다르면 IllegalStateException
+    // - DB마다 identity 설정을 조회하는 방법이 다르므로, 트랜잭션 안에서 2건을 insert해서 발급된 id를 확인하고 rollback
+    //   -> rollback해도 identity 값은 돌아오지 않으므로 시작할 때마다 id 2개를 소모
+    // - 2건 모두 이 shard의 id여야 함 -> 시작값과 증가값(shard 개수의 배수)을 같이 확인
+    public void verifyIdentity(DataSource dataSource, int shardIndex) {
+        try (Connection con = dataSource.getConnection()) {
+            boolean autoCommit = con.getAutoCommit();
+            con.setAutoCommit(false);
+            try {
+                long first = insertProbe(con);
+                long second = insertProbe(con);
+                if (shardIndexOf(first) != shardIndex || shardIndexOf(second) != shardIndex) {
+                    throw new IllegalStateException("shard " + shardIndex + "의 item identity가 shard 번호를 인코딩하지 않습니다." +
+                            " 발급된 id=" + first + ", " + second + " (start with " + (shardIndex + 1) +
+                            " increment by " + shardCount + " 필요)");
+                }
+            } finally {
+                con.rollback();
+                con.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("shard " + shardIndex + "의 item identity 확인 실패", e);
+        }
+    }
+
+    private long insertProbe(Connection con) throws SQLException {
+        try (PreparedStatement pstmt = con.prepareStatement(
+                "insert into item(item_name, price, quantity) values (null, null, null)", Statement.RETURN_GENERATED_KEYS)) {
+            pstmt.executeUpdate();
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                keys.next();
+                return keys.getLong(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package hello.itemservice.repository.shard;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemBulkUpdateDto;
+import hello.itemservice.repository.ItemIdRange;
+import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemSort;
+import hello.itemservice.repository.ItemTopK;
+import hello.itemservice.repository.ItemUpdateDto;
+import hello.itemservice.datasource.RequestDeadline;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 여러 DataSource(shard)에 item을 나누어 저장하는 ItemRepository
+ *  - shard 하나하나는 기존 JDBC 기반 ItemRepository(JdbcTemplateItemRepositoryV3, MyBatisItemRepository 등)를 그대로 사용
+ *  - save() : shard를 돌아가면서 선택 -> 해당 shard의 identity가 shard 번호가 인코딩된 id를 발급 (ItemShardIdAllocator)
+ *  - findById(), update() : id로 shard 하나만 찾아서 실행
+ *  - findAll() 등 검색 : 모든 shard에 병렬로 실행(scatter) 후 결과를 합침(gather)
+ *    -> shard 하나라도 timeout 안에 응답하지 않으면 QueryTimeoutException
+ *  - saveAll(), bulkUpdate() 등 쓰기 : 호출한 스레드에서 shard 순서대로 실행
+ *    -> 기다리기를 포기한 쓰기가 뒤에서 commit되는 일이 없도록 병렬로 실행하지 않음
+ * *** shard 작업마다 마감 시각(RequestDeadline)을 timeout 이내로 설정
+ *  - shard DataSource를 DeadlineDataSource로 감싸면(ShardingConfig) 남은 시간이 JDBC query timeout이 됨
+ *    -> 응답을 기다리지 않기로 한 query도 DB에서 중단되어 executor 스레드가 반납됨
+ *  - 요청의 마감 시각이 더 이르면 그쪽을 따름
+ *  - executor의 대기열은 queueCapacity로 제한 - 가득 차면 기다리지 않고 TransientDataAccessResourceException
+ */
+@Slf4j
+public class ShardedItemRepository implements ItemRepository {
+
+    private final List<ItemRepository> shards;
+    private final ItemShardIdAllocator idAllocator;
+    private final Duration shardTimeout;
+    private final ExecutorService executor;
+    private final AtomicLong nextShard = new AtomicLong();
+
+    public ShardedItemRepository(List<ItemRepository> shards, ItemShardIdAllocator idAllocator, Duration shardTimeout,
+                                 int queueCapacity) {
+        this.shards = List.copyOf(shards);
+        this.idAllocator = idAllocator;
+        this.shardTimeout = shardTimeout;
+        this.executor = new ThreadPoolExecutor(shards.size() * 2, shards.size() * 2, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("item-shard-"));
+    }
+
+    // * 저장한 shard와 id로 찾는 shard가 다르면 이후 findById/update가 다른 shard로 가므로 바로 실패
+    @Override
+    public Item save(Item item) {
+        int shardIndex = (int) Math.floorMod(nextShard.getAndIncrement(), (long) shards.size());
+        Item savedItem = withinTimeout(() -> shards.get(shardIndex).save(item));
+        checkShardOf(savedItem, shardIndex);
+        return savedItem;
+    }
+
+    // * save()와 같은 순서로 shard에 나누어서 shard마다 batch insert (shard 순서대로)
+    // - shard마다 auto commit이므로 중간 shard에서 실패하면 앞의 shard에 저장된 것은 남음
+    @Override
+    public int saveAll(List<Item> items) {
+        List<List<Item>> parts = new ArrayList<>();
+        shards.forEach(shard -> parts.add(new ArrayList<>()));
+        for (Item item : items) {
+            parts.get((int) Math.floorMod(nextShard.getAndIncrement(), (long) shards.size())).add(item);
+        }
+        int saved = 0;
+        for (int i = 0; i < parts.size(); i++) {
+            List<Item> part = parts.get(i);
+            if (part.isEmpty()) {
+                continue;
+            }
+            ItemRepository shard = shards.get(i);
+            saved += withinTimeout(() -> shard.saveAll(part));
+            for (Item item : part) {
+                checkShardOf(item, i);
+            }
+        }
+        return saved;
+    }
+
+    @Override
+    public void update(Long itemId, ItemUpdateDto updateParam) {
+        withinTimeout(() -> {
+            shardOf(itemId).update(itemId, updateParam);
+            return null;
+        });
+    }
+
+    @Override
+    public Optional<Item> findById(Long id) {
+        return withinTimeout(() -> shardOf(id).findById(id));
+    }
+
+    // * shard마다 정렬 기준으로 상위 limit개씩 받아서 다시 정렬 기준으로 상위 limit개 선택
+    //   -> 전체 상위 limit개는 반드시 어느 한 shard의 상위 limit개 안에 있음
+    // * 정렬 기준이 없으면 이전처럼 id 순서로 병합
+    @Override
+    public List<Item> findAll(ItemSearchCond cond) {
+        ItemSort sort = cond.resolveSort();
+        return ItemTopK.select(scatter(shard -> shard.findAll(cond)).stream()
+                .flatMap(List::stream), sort == null ? ItemSort.ID : sort, cond.getLimit());
+    }
+
+    @Override
+    public int bulkUpdate(ItemSearchCond cond, ItemBulkUpdateDto updateParam, Long fromId, Long toId) {
+        // * id가 shard마다 번갈아 발급되므로 같은 id 범위가 모든 shard에 걸쳐있음 -> 쓰기이므로 shard 순서대로
+        int updated = 0;
+        for (ItemRepository shard : shards) {
+            updated += withinTimeout(() -> shard.bulkUpdate(cond, updateParam, fromId, toId));
+        }
+        return updated;
+    }
+
+    // * action은 한 스레드에서 순서대로 호출되어야 하므로(ex. 응답 stream에 쓰기) 병렬이 아니라 shard 순서대로 실행
+    //   -> 결과는 id 순서가 아니라 shard 순서
+    // * 정렬이 있으면 shard 순서로 이어붙일 수 없으므로 findAll()로 병합 -> limit이 있으면 shard마다 limit개까지만 올라감
+    //   (shard cursor 여러개를 동시에 열어서 병합하지 않음 - 정렬된 scan은 limit과 같이 사용)
+    @Override
+    public void scan(ItemSearchCond cond, Consumer<Item> action) {
+        if (cond.resolveSort() != null) {
+            findAll(cond).forEach(action);
+            return;
+        }
+        shards.forEach(shard -> shard.scan(cond, action));
+    }
+
+    @Override
+    public Optional<ItemIdRange> findIdRange(ItemSearchCond cond) {
+        List<ItemIdRange> ranges = scatter(shard -> shard.findIdRange(cond)).stream()
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+        return ItemIdRange.of(
+                ranges.stream().map(ItemIdRange::getMinId).min(Long::compare).orElse(null),
+                ranges.stream().map(ItemIdRange::getMaxId).max(Long::compare).orElse(null));
+    }
+
+    @Override
+    public void warmUp() {
+        shards.forEach(ItemRepository::warmUp);
+    }
+
+    // 모든 shard에 같은 조회를 병렬로 실행하고, shard 순서대로 결과를 모아서 반환 - 쓰기에는 사용하지 않음
+    private <T> List<T> scatter(Function<ItemRepository, T> task) {
+        RequestDeadline deadline = RequestDeadline.within(shardTimeout.toMillis());
+        List<CompletableFuture<T>> futures = new ArrayList<>();
+        try {
+            for (ItemRepository shard : shards) {
+                futures.add(CompletableFuture.supplyAsync(() -> withDeadline(deadline, () -> task.apply(shard)), executor)
+                        .orTimeout(shardTimeout.toMillis(), TimeUnit.MILLISECONDS));
+            }
+        } catch (RejectedExecutionException e) {
+            futures.forEach(future -> future.cancel(false));
+            throw new TransientDataAccessResourceException("shard executor queue is full", e);
+        }
+
+        List<T> results = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.add(futures.get(i).join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof TimeoutException) {
+                    throw new QueryTimeoutException("shard " + i + " did not respond within " + shardTimeout.toMillis() + "ms");
+                }
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+        return results;
+    }
+
+    private <T> T withinTimeout(Supplier<T> task) {
+        return withDeadline(RequestDeadline.within(shardTimeout.toMillis()), task);
+    }
+
+    // 작업하는 동안만 현재 스레드의 마감 시각을 바꾸고 원래대로 돌려놓음
+    private static <T> T withDeadline(RequestDeadline deadline, Supplier<T> task) {
+        RequestDeadline previous = RequestDeadline.current();
+        RequestDeadline.set(deadline);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                RequestDeadline.clear();
+            } else {
+                RequestDeadline.set(previous);
+            }
+        }
+    }
+
+    // batch insert는 backend에 따라 id가 채워지지 않으므로 id가 있을 때만 확인
+    private void checkShardOf(Item item, int shardIndex) {
+        if (item.getId() != null && idAllocator.shardIndexOf(item.getId()) != shardIndex) {
+            throw new IllegalStateException("shard " + shardIndex + "가 다른 shard의 id를 발급했습니다. id=" + item.getId() +
+                    " -> shard의 item identity 설정 확인 (ItemShardIdAllocator)");
+        }
+    }
+
+    private ItemRepository shardOf(Long id) {
+        return shards.get(idAllocator.shardIndexOf(id));
+    }
+
+    // * Bean 종료 시점에 호출 - @Bean의 destroyMethod 추론(shutdown)으로 자동 등록됨
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,14 +1,24 @@
 package hello.itemservice.repository.v2;
 
+import com.querydsl.core.Tuple;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemBulkUpdateDto;
+import hello.itemservice.repository.ItemIdRange;
+import hello.itemservice.repository.ItemRepository;
 import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.jpa.ItemSearchQueryTemplates;
+import org.hibernate.jpa.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import javax.persistence.EntityManager;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static hello.itemservice.domain.QItem.item;
 
@@ -18,22 +28,71 @@ import static hello.itemservice.domain.QItem.item;
 @Repository
 public class ItemQueryRepositoryV2 {
 
+    private final EntityManager em;
     private final JPAQueryFactory query;
 
     //JpaFactory를 직접 주입받는 것이 아닌, EntityManager를 받아 직접 생성해서 주입하기
     public ItemQueryRepositoryV2(EntityManager em) {
+        this.em = em;
         this.query = new JPAQueryFactory(em);
     }
 
+    // * 조건 조합별로 미리 만들어 둔 Querydsl template을 복사해서 값만 바인딩 (ItemSearchQueryTemplates)
     public List<Item> findALl(ItemSearchCond cond) {
-        return query
-                .select(item) //item은 QItem을 Static Import
+        return ItemSearchQueryTemplates.search(em, cond).fetch();
+    }
+
+    // *** chunk 하나 단위로 트랜잭션을 걸어 commit - Service는 트랜잭션 없이 chunk를 반복 호출
+    @Transactional
+    public int bulkUpdate(ItemSearchCond cond, ItemBulkUpdateDto updateParam, Long fromId, Long toId) {
+        long updated = query
+                .update(item)
+                .set(item.price, item.price.add(item.price.multiply(updateParam.getPricePercent()).divide(100)))
+                .set(item.quantity, item.quantity.add(updateParam.getQuantityDelta()))
+                .where(
+                        item.id.between(fromId, toId),
+                        likeItemName(cond.getItemName()),
+                        minPrice(cond.getMinPrice()),
+                        maxPrice(cond.getMaxPrice())
+                )
+                .execute();
+        em.clear();
+        return (int) updated;
+    }
+
+    // *** stream() - Hibernate의 ScrollableResults(cursor)로 한 건씩 읽음
+    // - 읽은 entity는 영속성 컨텍스트에 계속 쌓이므로 action 처리 후 바로 detach
+    // - cursor가 열려있는 동안 커넥션이 필요하므로 트랜잭션 안에서 호출
+    public void scan(ItemSearchCond cond, Consumer<Item> action) {
+        try (Stream<Item> items = ItemSearchQueryTemplates.search(em, cond)
+                .setHint(QueryHints.HINT_FETCH_SIZE, ItemRepository.SCAN_FETCH_SIZE)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .stream()) {
+            items.forEach(item -> {
+                action.accept(item);
+                em.detach(item);
+            });
+        }
+    }
+
+    public Optional<ItemIdRange> findIdRange(ItemSearchCond cond) {
+        Tuple result = query
+                .select(item.id.min(), item.id.max())
                 .from(item)
                 .where(
                         likeItemName(cond.getItemName()),
+                        minPrice(cond.getMinPrice()),
                         maxPrice(cond.getMaxPrice())
                 )
-                .fetch();
+                .fetchOne();
+        return ItemIdRange.of(result.get(0, Long.class), result.get(1, Long.class));
+    }
+
+    private BooleanExpression minPrice(Integer minPrice) {
+        if (minPrice != null) {
+            return item.price.goe(minPrice);
+        }
+        return null;
     }
 
     private BooleanExpression maxPrice(Integer maxPrice) {
@@ -1,11 +1,13 @@
 package hello.itemservice.service;
 
 import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemBulkUpdateDto;
 import hello.itemservice.repository.ItemSearchCond;
 import hello.itemservice.repository.ItemUpdateDto;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ItemService {
 
@@ -16,4 +18,11 @@ public interface ItemService {
     Optional<Item> findById(Long id);
 
     List<Item> findItems(ItemSearchCond itemSearch);
+
+    // 검색 결과를 List로 모으지 않고 한 건씩 action에 전달 - export처럼 결과가 매우 클 수 있는 경우에 사용
+    // - 정렬/limit도 findItems()와 같이 적용
+    void scanItems(ItemSearchCond itemSearch, Consumer<Item> action);
+
+    // cond에 해당하는 item 전체에 수정식을 적용 - id 범위 chunk마다 commit하고 수정된 row 수 합계를 반환
+    int bulkUpdate(ItemSearchCond cond, ItemBulkUpdateDto updateParam);
 }
@@ -1,15 +1,21 @@
 package hello.itemservice.service;
 
 import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemBulkUpdateDto;
+import hello.itemservice.repository.ItemIdRange;
 import hello.itemservice.repository.ItemRepository;
 import hello.itemservice.repository.ItemSearchCond;
 import hello.itemservice.repository.ItemUpdateDto;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ItemServiceV1 implements ItemService {
@@ -26,13 +32,40 @@ public class ItemServiceV1 implements ItemService {
         itemRepository.update(itemId, updateParam);
     }
 
+    // * 읽기 전용 트랜잭션 -> 읽기/쓰기 분리 DataSource 사용 시 replica로 라우팅
     @Override
+    @Transactional(readOnly = true)
     public Optional<Item> findById(Long id) {
         return itemRepository.findById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Item> findItems(ItemSearchCond cond) {
         return itemRepository.findAll(cond);
     }
+
+    // * cursor가 열려있는 동안 트랜잭션(커넥션)을 유지
+    @Override
+    @Transactional(readOnly = true)
+    public void scanItems(ItemSearchCond cond, Consumer<Item> action) {
+        itemRepository.scan(cond, action);
+    }
+
+    @Override
+    public int bulkUpdate(ItemSearchCond cond, ItemBulkUpdateDto updateParam) {
+        updateParam.validate();
+        Optional<ItemIdRange> range = itemRepository.findIdRange(cond);
+        if (range.isEmpty()) {
+            return 0;
+        }
+
+        // *** id 범위를 chunkSize 단위로 나누어 repository를 반복 호출 (ItemBulkUpdateDto.updateInChunks)
+        // - 해당 Service에는 트랜잭션이 없으므로 repository 호출 한번(chunk 하나)마다 commit
+        //   -> JdbcTemplate/MyBatis는 auto commit, JPA 구현체는 repository의 @Transactional 단위
+        int updated = updateParam.updateInChunks(range.get(),
+                (fromId, toId) -> itemRepository.bulkUpdate(cond, updateParam, fromId, toId));
+        log.info("bulk update cond={}, updateParam={}, updated={}", cond, updateParam, updated);
+        return updated;
+    }
 }
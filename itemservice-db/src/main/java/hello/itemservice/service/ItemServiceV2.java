@@ -1,17 +1,23 @@
 package hello.itemservice.service;
 
 import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemBulkUpdateDto;
+import hello.itemservice.repository.ItemIdRange;
 import hello.itemservice.repository.ItemSearchCond;
 import hello.itemservice.repository.ItemUpdateDto;
 import hello.itemservice.repository.v2.ItemQueryRepositoryV2;
 import hello.itemservice.repository.v2.ItemRepositoryV2;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -33,13 +39,41 @@ public class ItemServiceV2 implements ItemService{
         findItem.setQuantity(updateParam.getQuantity());
     }
 
+    // * 읽기 전용 트랜잭션 -> 읽기/쓰기 분리 DataSource 사용 시 replica로 라우팅
+    //   + JPA는 flush를 생략하고 스냅샷 비교(변경 감지)도 하지 않음
     @Override
+    @Transactional(readOnly = true)
     public Optional<Item> findById(Long id) {
         return itemRepositoryV2.findById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Item> findItems(ItemSearchCond cond) {
         return itemQueryRepositoryV2.findALl(cond);
     }
+
+    // * cursor가 열려있는 동안 트랜잭션(커넥션)을 유지
+    @Override
+    @Transactional(readOnly = true)
+    public void scanItems(ItemSearchCond cond, Consumer<Item> action) {
+        itemQueryRepositoryV2.scan(cond, action);
+    }
+
+    // *** 클래스 레벨의 @Transactional을 그대로 쓰면 전체 대량 수정이 하나의 트랜잭션이 되므로 트랜잭션 없이 실행
+    //     -> ItemQueryRepositoryV2.bulkUpdate()의 @Transactional로 chunk마다 commit
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int bulkUpdate(ItemSearchCond cond, ItemBulkUpdateDto updateParam) {
+        updateParam.validate();
+        Optional<ItemIdRange> range = itemQueryRepositoryV2.findIdRange(cond);
+        if (range.isEmpty()) {
+            return 0;
+        }
+
+        int updated = updateParam.updateInChunks(range.get(),
+                (fromId, toId) -> itemQueryRepositoryV2.bulkUpdate(cond, updateParam, fromId, toId));
+        log.info("bulk update cond={}, updateParam={}, updated={}", cond, updateParam, updated);
+        return updated;
+    }
 }
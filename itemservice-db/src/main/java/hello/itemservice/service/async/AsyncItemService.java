@@ -0,0 +1,28 @@
+package hello.itemservice.service.async;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemBulkUpdateDto;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemUpdateDto;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * ItemService의 비동기 버전
+ *  - 모든 메서드가 CompletableFuture를 반환 -> Tomcat 요청 스레드가 JDBC 호출을 기다리며 묶여있지 않음
+ *  - 실제 로직은 기존 ItemService에 위임하고, 별도의 executor에서 실행만 해줌
+ */
+public interface AsyncItemService {
+
+    CompletableFuture<Item> save(Item item);
+
+    CompletableFuture<Void> update(Long itemId, ItemUpdateDto updateParam);
+
+    CompletableFuture<Optional<Item>> findById(Long id);
+
+    CompletableFuture<List<Item>> findItems(ItemSearchCond itemSearch);
+
+    CompletableFuture<Integer> bulkUpdate(ItemSearchCond cond, ItemBulkUpdateDto updateParam);
+}
@@ -0,0 +1,69 @@
+package hello.itemservice.service.async;
+
+import hello.itemservice.datasource.ConnectionUsage;
+import hello.itemservice.datasource.RequestDeadline;
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemBulkUpdateDto;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemUpdateDto;
+import hello.itemservice.service.ItemService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 주입받은 ExecutorService에서 ItemService를 호출하는 AsyncItemService 구현체
+ *  - executor의 크기 = DB 작업의 최대 동시 실행 수 -> 커넥션 풀 크기에 맞춰서 설정 (AsyncConfig)
+ *  - executor가 가득 차면 supplyAsync()에서 RejectedExecutionException이 바로 발생 -> 요청이 무한정 쌓이지 않음
+ *    -> AsyncRejectedExceptionHandler가 503 + Retry-After로 응답
+ *  - 호출한 요청 스레드의 마감 시각(RequestDeadline)을 executor 스레드로 넘겨줌 -> 큐에서 기다린 시간도 마감에 포함
+ *  - 요청의 커넥션 사용량(ConnectionUsage)도 같이 넘겨줌 -> executor 스레드에서 쓴 커넥션도 요청/endpoint에 합산
+ */
+@Slf4j
+public class ExecutorAsyncItemService implements AsyncItemService {
+
+    private final ItemService itemService;
+    private final ExecutorService executor;
+    private final Executor requestExecutor;
+
+    public ExecutorAsyncItemService(ItemService itemService, ExecutorService executor) {
+        this.itemService = itemService;
+        this.executor = executor;
+        this.requestExecutor = task -> executor.execute(RequestDeadline.propagate(ConnectionUsage.propagate(task)));
+    }
+
+    @Override
+    public CompletableFuture<Item> save(Item item) {
+        return CompletableFuture.supplyAsync(() -> itemService.save(item), requestExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Void> update(Long itemId, ItemUpdateDto updateParam) {
+        return CompletableFuture.runAsync(() -> itemService.update(itemId, updateParam), requestExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Item>> findById(Long id) {
+        return CompletableFuture.supplyAsync(() -> itemService.findById(id), requestExecutor);
+    }
+
+    @Override
+    public CompletableFuture<List<Item>> findItems(ItemSearchCond itemSearch) {
+        return CompletableFuture.supplyAsync(() -> itemService.findItems(itemSearch), requestExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Integer> bulkUpdate(ItemSearchCond cond, ItemBulkUpdateDto updateParam) {
+        return CompletableFuture.supplyAsync(() -> itemService.bulkUpdate(cond, updateParam), requestExecutor);
+    }
+
+    // * Bean 종료 시점에 호출 - @Bean의 destroyMethod 추론(shutdown)으로 자동 등록됨
+    public void shutdown() {
+        log.info("async item service executor shutdown");
+        executor.shutdown();
+    }
+}
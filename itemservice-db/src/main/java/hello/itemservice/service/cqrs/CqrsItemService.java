@@ -0,0 +1,84 @@
+package hello.itemservice.service.cqrs;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemBulkUpdateDto;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemUpdateDto;
+import hello.itemservice.service.ItemService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * 쓰기/조회를 분리한 ItemService (CQRS)
+ *  - 쓰기 : 기존 DB 기반 ItemService에 위임 후 같은 트랜잭션 안에서 변경 이벤트 발행 -> commit 이후 ItemReadModelUpdater가 읽기 모델에 반영
+ *  - 조회 : findById(), findItems()는 DB를 거치지 않고 ItemReadModel에서 처리
+ *    -> bootstrap이 끝나기 전에는 DB로 조회
+ *  - 조회 결과는 최근 commit이 아직 반영되지 않았을 수 있음 (lag는 itemservice.readmodel.lag 메트릭으로 확인)
+ */
+@RequiredArgsConstructor
+public class CqrsItemService implements ItemService {
+
+    private final ItemService writeService;
+    private final ItemReadModel readModel;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionOperations transactionOperations;
+
+    // *** 위임한 쓰기와 이벤트 발행을 하나의 트랜잭션으로 묶음
+    // - 위임한 쓰기는 이 트랜잭션에 참여 -> 이벤트는 실제 commit 이후(AFTER_COMMIT)에 반영되고, rollback되면 반영되지 않음
+    //   -> itemservice.readmodel.lag는 발행~commit~반영까지의 시간
+    // - memory/sharded backend는 트랜잭션이 없음 -> @TransactionalEventListener(fallbackExecution = true)로 바로 반영
+    @Override
+    public Item save(Item item) {
+        return transactionOperations.execute(status -> {
+            Item savedItem = writeService.save(item);
+            eventPublisher.publishEvent(new ItemSavedEvent(savedItem));
+            return savedItem;
+        });
+    }
+
+    @Override
+    public void update(Long itemId, ItemUpdateDto updateParam) {
+        transactionOperations.executeWithoutResult(status -> {
+            writeService.update(itemId, updateParam);
+            eventPublisher.publishEvent(new ItemUpdatedEvent(itemId, updateParam));
+        });
+    }
+
+    @Override
+    public Optional<Item> findById(Long id) {
+        if (!readModel.isReady()) {
+            return writeService.findById(id);
+        }
+        return readModel.findById(id);
+    }
+
+    @Override
+    public List<Item> findItems(ItemSearchCond itemSearch) {
+        if (!readModel.isReady()) {
+            return writeService.findItems(itemSearch);
+        }
+        return readModel.findAll(itemSearch);
+    }
+
+    @Override
+    public void scanItems(ItemSearchCond itemSearch, Consumer<Item> action) {
+        if (!readModel.isReady()) {
+            writeService.scanItems(itemSearch, action);
+            return;
+        }
+        readModel.findAll(itemSearch).forEach(action);
+    }
+
+    // * bulkUpdate는 chunk마다 따로 commit하므로 트랜잭션으로 묶지 않음 -> 모든 chunk가 commit된 후 발행되어 바로 반영
+    @Override
+    public int bulkUpdate(ItemSearchCond cond, ItemBulkUpdateDto updateParam) {
+        int updated = writeService.bulkUpdate(cond, updateParam);
+        eventPublisher.publishEvent(new ItemsBulkUpdatedEvent(cond, updateParam));
+        return updated;
+    }
+}
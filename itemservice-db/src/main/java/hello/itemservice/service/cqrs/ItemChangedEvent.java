@@ -0,0 +1,15 @@
+package hello.itemservice.service.cqrs;
+
+import lombok.Getter;
+
+/**
+ * 쓰기 모델(DB)의 item 변경 이벤트 - commit 이후 ItemReadModel에 반영
+ *  - publishedAtNanos : 이벤트 발행 시점 -> 읽기 모델에 반영되기까지의 지연(lag) 측정용
+ */
+@Getter
+public abstract class ItemChangedEvent {
+
+    private final long publishedAtNanos = System.nanoTime();
+
+    public abstract void applyTo(ItemReadModel readModel);
+}
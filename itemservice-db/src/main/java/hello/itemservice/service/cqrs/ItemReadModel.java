@@ -0,0 +1,151 @@
+package hello.itemservice.service.cqrs;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemBulkUpdateDto;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemSort;
+import hello.itemservice.repository.ItemTopK;
+import hello.itemservice.repository.ItemUpdateDto;
+import org.springframework.util.ObjectUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 메모리에 유지하는 item 읽기 모델 (CQRS의 조회 전용 모델)
+ *  - items : id -> item
+ *  - priceIndex : price -> id 목록 -> minPrice/maxPrice 조건은 전체를 훑지 않고 범위 조회
+ *  - 쓰기는 이벤트 반영/bootstrap/정합성 복구에서만 일어나므로 synchronized로 직렬화
+ *  - item은 항상 새 객체로 교체(copy-on-write) -> 조회 중인 스레드가 수정 중인 객체를 보지 않음
+ */
+public class ItemReadModel {
+
+    private final Map<Long, Item> items = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Integer, Set<Long>> priceIndex = new ConcurrentSkipListMap<>();
+
+    private volatile boolean ready;
+
+    public Optional<Item> findById(Long id) {
+        return Optional.ofNullable(items.get(id));
+    }
+
+    // * 정렬 기준이 없으면 id 순서 / limit이 있으면 상위 limit개만 heap으로 선택 (ItemTopK)
+    public List<Item> findAll(ItemSearchCond cond) {
+        ItemSort sort = cond.resolveSort();
+        return ItemTopK.select(matching(cond), sort == null ? ItemSort.ID : sort, cond.getLimit());
+    }
+
+    // 필터만 적용 - minPrice/maxPrice 조건은 priceIndex의 범위 조회
+    private Stream<Item> matching(ItemSearchCond cond) {
+        String itemName = cond.getItemName();
+        Integer minPrice = cond.getMinPrice();
+        Integer maxPrice = cond.getMaxPrice();
+
+        Stream<Item> candidates;
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            // 범위가 뒤집히면 subMap이 IllegalArgumentException을 던지므로 바로 빈 결과
+            return Stream.empty();
+        }
+        if (minPrice == null && maxPrice == null) {
+            candidates = items.values().stream();
+        } else {
+            NavigableMap<Integer, Set<Long>> range = priceIndex;
+            if (minPrice != null) {
+                range = range.tailMap(minPrice, true);
+            }
+            if (maxPrice != null) {
+                range = range.headMap(maxPrice, true);
+            }
+            candidates = range.values().stream()
+                    .flatMap(Collection::stream)
+                    .map(items::get)
+                    .filter(item -> item != null && item.getPrice() != null // 인덱스 교체 중인 항목 제외
+                            && (minPrice == null || item.getPrice() >= minPrice)
+                            && (maxPrice == null || item.getPrice() <= maxPrice));
+        }
+
+        return candidates
+                .filter(item -> ObjectUtils.isEmpty(itemName) || item.getItemName().contains(itemName));
+    }
+
+    public synchronized void put(Item item) {
+        Item copy = copyOf(item);
+        Item old = items.put(copy.getId(), copy);
+        unindex(old);
+        index(copy);
+    }
+
+    public synchronized void update(Long itemId, ItemUpdateDto updateParam) {
+        Item old = items.get(itemId);
+        if (old == null) {
+            return;
+        }
+        Item copy = copyOf(old);
+        copy.setItemName(updateParam.getItemName());
+        copy.setPrice(updateParam.getPrice());
+        copy.setQuantity(updateParam.getQuantity());
+        put(copy);
+    }
+
+    public synchronized void bulkUpdate(ItemSearchCond cond, ItemBulkUpdateDto updateParam) {
+        for (Item item : matching(cond).collect(Collectors.toList())) {
+            Item copy = copyOf(item);
+            updateParam.applyTo(copy);
+            put(copy);
+        }
+    }
+
+    // bootstrap/정합성 복구 - DB에서 읽은 전체 item으로 교체
+    public synchronized void replaceAll(Collection<Item> newItems) {
+        items.clear();
+        priceIndex.clear();
+        newItems.forEach(this::put);
+        ready = true;
+    }
+
+    public Map<Long, Item> snapshot() {
+        return Map.copyOf(items);
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    // bootstrap 전에는 조회를 DB로 보내기 위한 상태
+    public boolean isReady() {
+        return ready;
+    }
+
+    private void index(Item item) {
+        if (item.getPrice() != null) {
+            priceIndex.computeIfAbsent(item.getPrice(), price -> ConcurrentHashMap.newKeySet()).add(item.getId());
+        }
+    }
+
+    private void unindex(Item item) {
+        if (item == null || item.getPrice() == null) {
+            return;
+        }
+        Set<Long> ids = priceIndex.get(item.getPrice());
+        if (ids != null) {
+            ids.remove(item.getId());
+            if (ids.isEmpty()) {
+                priceIndex.remove(item.getPrice());
+            }
+        }
+    }
+
+    private Item copyOf(Item item) {
+        Item copy = new Item(item.getItemName(), item.getPrice(), item.getQuantity());
+        copy.setId(item.getId());
+        return copy;
+    }
+}
@@ -0,0 +1,91 @@
+package hello.itemservice.service.cqrs;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.ItemSearchCond;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ItemReadModel을 DB(쓰기 모델)와 맞춰주는 역할
+ *  - bootstrap : 애플리케이션 시작 시 DB의 item 전체를 읽기 모델에 적재
+ *  - 변경 이벤트 : commit 이후 읽기 모델에 반영 + 쓰기 트랜잭션 안의 발행~commit~반영 시간을 itemservice.readmodel.lag 메트릭으로 기록
+ *  - 정합성 검사 : 주기적으로 DB와 비교해서 다르면 DB 기준으로 다시 적재
+ *    -> ItemService를 거치지 않은 쓰기(TestDataInit처럼 ItemRepository를 직접 사용)도 여기서 반영됨
+ */
+@Slf4j
+public class ItemReadModelUpdater {
+
+    private final ItemReadModel readModel;
+    private final ItemRepository itemRepository;
+    private final Timer lagTimer;
+    private final Counter mismatchCounter;
+
+    public ItemReadModelUpdater(ItemReadModel readModel, ItemRepository itemRepository, MeterRegistry meterRegistry) {
+        this.readModel = readModel;
+        this.itemRepository = itemRepository;
+        this.lagTimer = Timer.builder("itemservice.readmodel.lag")
+                .description("쓰기 트랜잭션 안에서 item 변경 이벤트 발행 후 commit을 거쳐 읽기 모델에 반영되기까지의 시간")
+                .register(meterRegistry);
+        this.mismatchCounter = Counter.builder("itemservice.readmodel.mismatches")
+                .description("정합성 검사에서 DB와 다르게 발견된 item 수")
+                .register(meterRegistry);
+        Gauge.builder("itemservice.readmodel.size", readModel, ItemReadModel::size)
+                .description("읽기 모델의 item 수")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        List<Item> items = itemRepository.findAll(new ItemSearchCond());
+        readModel.replaceAll(items);
+        log.info("item read model bootstrap size={}", items.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        event.applyTo(readModel);
+        lagTimer.record(System.nanoTime() - event.getPublishedAtNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    // *** DB 조회와 다시 적재하는 사이에 반영된 이벤트는 덮어써질 수 있음 -> 다음 검사에서 다시 맞춰짐
+    @Scheduled(initialDelayString = "${itemservice.cqrs.consistency-check-interval-ms:60000}",
+            fixedDelayString = "${itemservice.cqrs.consistency-check-interval-ms:60000}")
+    public int checkConsistency() {
+        Map<Long, Item> readItems = readModel.snapshot();
+        List<Item> dbItems = itemRepository.findAll(new ItemSearchCond());
+
+        int mismatches = 0;
+        Set<Long> dbIds = new HashSet<>();
+        for (Item dbItem : dbItems) {
+            dbIds.add(dbItem.getId());
+            if (!Objects.equals(readItems.get(dbItem.getId()), dbItem)) {
+                mismatches++;
+            }
+        }
+        // DB에서 삭제됐지만 읽기 모델에 남아있는 item
+        mismatches += (int) readItems.keySet().stream().filter(id -> !dbIds.contains(id)).count();
+
+        if (mismatches > 0) {
+            log.warn("item read model mismatches={} - reloading from database", mismatches);
+            mismatchCounter.increment(mismatches);
+            readModel.replaceAll(dbItems);
+        }
+        return mismatches;
+    }
+}
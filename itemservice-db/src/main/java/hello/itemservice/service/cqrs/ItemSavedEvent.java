@@ -0,0 +1,21 @@
+package hello.itemservice.service.cqrs;
+
+import hello.itemservice.domain.Item;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+public class ItemSavedEvent extends ItemChangedEvent {
+
+    private final Item item;
+
+    public ItemSavedEvent(Item item) {
+        this.item = item;
+    }
+
+    @Override
+    public void applyTo(ItemReadModel readModel) {
+        readModel.put(item);
+    }
+}
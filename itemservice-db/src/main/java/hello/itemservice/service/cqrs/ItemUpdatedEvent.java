@@ -0,0 +1,23 @@
+package hello.itemservice.service.cqrs;
+
+import hello.itemservice.repository.ItemUpdateDto;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+public class ItemUpdatedEvent extends ItemChangedEvent {
+
+    private final Long itemId;
+    private final ItemUpdateDto updateParam;
+
+    public ItemUpdatedEvent(Long itemId, ItemUpdateDto updateParam) {
+        this.itemId = itemId;
+        this.updateParam = updateParam;
+    }
+
+    @Override
+    public void applyTo(ItemReadModel readModel) {
+        readModel.update(itemId, updateParam);
+    }
+}
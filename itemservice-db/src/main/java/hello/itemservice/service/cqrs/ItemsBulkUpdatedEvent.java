@@ -0,0 +1,26 @@
+package hello.itemservice.service.cqrs;
+
+import hello.itemservice.repository.ItemBulkUpdateDto;
+import hello.itemservice.repository.ItemSearchCond;
+import lombok.Getter;
+import lombok.ToString;
+
+// * 변경된 row를 DB에서 다시 읽지 않고, 같은 검색 조건 + 수정식을 읽기 모델에 그대로 적용
+//   -> 수정 후에는 maxPrice 조건에 더 이상 맞지 않을 수 있으므로 재조회로는 대상을 찾을 수 없음
+@Getter
+@ToString
+public class ItemsBulkUpdatedEvent extends ItemChangedEvent {
+
+    private final ItemSearchCond cond;
+    private final ItemBulkUpdateDto updateParam;
+
+    public ItemsBulkUpdatedEvent(ItemSearchCond cond, ItemBulkUpdateDto updateParam) {
+        this.cond = cond;
+        this.updateParam = updateParam;
+    }
+
+    @Override
+    public void applyTo(ItemReadModel readModel) {
+        readModel.bulkUpdate(cond, updateParam);
+    }
+}
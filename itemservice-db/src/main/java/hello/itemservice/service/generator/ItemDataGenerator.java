@@ -0,0 +1,90 @@
+package hello.itemservice.service.generator;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 성능 테스트용 item 대량 생성
+ *  - 상품명 : 접두어(PREFIXES)를 Zipf 분포로 선택 + 일련번호 -> like 검색의 선택도가 접두어마다 크게 다름
+ *  - 가격 : 1000원 단위 가격대를 Zipf 분포로 선택 -> 싼 상품이 대부분이라 maxPrice 조건의 선택도가 가격마다 다름
+ *  - 수량 : 0 ~ 999 균등 분포
+ *  - 같은 seed면 항상 같은 데이터 - batch마다 (seed, batch 번호)로 난수를 만들기 때문에 스레드 수/실행 순서와 무관
+ *  - batch마다 saveAll() + commit, 여러 batch를 threads개의 스레드로 병렬 저장
+ */
+@Slf4j
+public class ItemDataGenerator {
+
+    // item_name varchar(10) -> 접두어(최대 5자) + 일련번호(최대 5자리)
+    private static final String[] PREFIXES = {
+            "item", "book", "pen", "cup", "bag", "shoe", "hat", "lamp", "desk", "sofa",
+            "sock", "ring", "card", "mug", "fan", "bed", "rug", "vase", "clock", "towel"
+    };
+    private static final int PRICE_BUCKETS = 100;
+    private static final int PRICE_UNIT = 1000;
+
+    private final long seed;
+    private final ZipfDistribution nameDistribution;
+    private final ZipfDistribution priceDistribution;
+
+    public ItemDataGenerator(long seed, double nameSkew, double priceSkew) {
+        this.seed = seed;
+        this.nameDistribution = new ZipfDistribution(PREFIXES.length, nameSkew);
+        this.priceDistribution = new ZipfDistribution(PRICE_BUCKETS, priceSkew);
+    }
+
+    // index번째부터 count개의 item 생성 - 저장하지 않으므로 벤치마크/테스트에서 데이터만 필요할 때 사용
+    public List<Item> items(long index, int count) {
+        SplittableRandom random = new SplittableRandom(seed ^ (index * 0x9E3779B97F4A7C15L));
+        List<Item> items = new ArrayList<>(count);
+        for (long i = index; i < index + count; i++) {
+            String prefix = PREFIXES[nameDistribution.sample(random) - 1];
+            int price = priceDistribution.sample(random) * PRICE_UNIT;
+            int quantity = random.nextInt(1000);
+            items.add(new Item(prefix + (i % 100_000), price, quantity));
+        }
+        return items;
+    }
+
+    // count개의 item을 batchSize 단위로 나누어 병렬 저장 - 저장한 row 수 반환
+    public long generate(ItemRepository itemRepository, PlatformTransactionManager transactionManager,
+                         long count, int batchSize, int threads) throws InterruptedException {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("item-generator-"));
+        long start = System.nanoTime();
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (long index = 0; index < count; index += batchSize) {
+                long batchIndex = index;
+                int size = (int) Math.min(batchSize, count - index);
+                futures.add(executor.submit(() -> transactionTemplate.execute(
+                        status -> itemRepository.saveAll(items(batchIndex, size)))));
+            }
+
+            long saved = 0;
+            for (Future<Integer> future : futures) {
+                saved += future.get();
+            }
+            long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            log.info("item generator seed={}, saved={}, elapsed={}ms, rows/s={}",
+                    seed, saved, elapsedMillis, saved * 1000 / elapsedMillis);
+            return saved;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("item 생성 실패", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
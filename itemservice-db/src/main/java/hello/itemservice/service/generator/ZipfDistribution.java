@@ -0,0 +1,41 @@
+package hello.itemservice.service.generator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zipf 분포 - 순위 k(1..n)가 뽑힐 확률이 1/k^exponent 에 비례
+ *  - 1순위가 가장 많이 뽑히고 순위가 낮을수록 급격히 줄어듦 (실제 상품명/가격 분포처럼 치우친 데이터)
+ *  - 누적 확률을 미리 계산해두고 이진 탐색으로 샘플링
+ */
+public class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    public ZipfDistribution(int n, double exponent) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 1; k <= n; k++) {
+            sum += 1 / Math.pow(k, exponent);
+            cumulative[k - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    // 1..n 중 하나의 순위를 반환
+    public int sample(SplittableRandom random) {
+        double u = random.nextDouble();
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < u) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low + 1;
+    }
+}
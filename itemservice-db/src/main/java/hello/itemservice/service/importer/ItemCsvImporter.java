@@ -0,0 +1,245 @@
+package hello.itemservice.service.importer;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * CSV/TSV 파일을 ItemRepository로 대량 적재
+ *  - 파일은 한 줄씩 streaming으로 읽음 -> 파일 크기와 상관없이 메모리 사용량 일정
+ *  - 파싱 스레드(호출한 스레드)가 batchSize 단위로 묶어서 크기가 제한된 큐에 넣고,
+ *    저장 스레드(writerThreads개)가 꺼내서 batch마다 별도의 트랜잭션으로 saveAll() + commit
+ *    -> 큐가 가득 차면 파싱이 대기하므로 DB가 느려도 메모리에 row가 쌓이지 않음
+ *  - 제약조건에 맞지 않는 row, 저장에 실패한 batch의 row는 "<파일명>.rejected"에 기록
+ *  - 저장 스레드가 batch 실패가 아닌 이유(거부 기록 실패, Error)로 죽으면 파싱을 멈추고 그 예외를 importFile()에서 다시 던짐
+ *  - ItemRepository 인터페이스의 saveAll()만 사용하므로 모든 backend에서 동작
+ *    * ItemService를 거치지 않으므로 CQRS 읽기 모델은 정합성 검사 시점에 반영됨
+ */
+@Slf4j
+public class ItemCsvImporter {
+
+    // 저장 스레드에게 파일의 끝을 알리는 값 - 내용이 아니라 참조로 비교
+    private static final List<ImportRow> END = new ArrayList<>();
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+    private static final long WRITER_IDLE_TIMEOUT_SECONDS = 60;
+
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int writerThreads;
+    private final int queueCapacity;
+
+    public ItemCsvImporter(ItemRepository itemRepository, PlatformTransactionManager transactionManager,
+                           int batchSize, int writerThreads, int queueCapacity) {
+        this.itemRepository = itemRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.writerThreads = writerThreads;
+        this.queueCapacity = queueCapacity;
+    }
+
+    public ItemImportResult importFile(Path file) throws IOException, InterruptedException {
+        ItemCsvRowParser parser = new ItemCsvRowParser(file.toString().endsWith(".tsv") ? '\t' : ',');
+        Path rejectedFile = file.resolveSibling(file.getFileName() + ".rejected");
+        long start = System.nanoTime();
+
+        ExecutorService writers = Executors.newFixedThreadPool(writerThreads, new CustomizableThreadFactory("item-import-"));
+        try (RejectedRowWriter rejects = openRejects(rejectedFile)) {
+            ImportRun run = new ImportRun(new ArrayBlockingQueue<>(queueCapacity), rejects, writerThreads);
+            for (int i = 0; i < writerThreads; i++) {
+                writers.execute(() -> writeBatches(run));
+            }
+
+            try {
+                readRows(file, parser, run);
+            } finally {
+                // 파싱 중에 실패해도 저장 스레드는 종료시켜야 함 - 살아있는 저장 스레드에게만 END 전달
+                for (int i = 0; i < writerThreads; i++) {
+                    if (!offer(run, END)) {
+                        break;
+                    }
+                }
+                // 실패했으면 큐에서 기다리는 저장 스레드를 interrupt로 깨움
+                if (run.stopped()) {
+                    writers.shutdownNow();
+                } else {
+                    writers.shutdown();
+                }
+                awaitWriters(writers, run);
+            }
+            run.rethrowFailure();
+
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            ItemImportResult result = new ItemImportResult(run.imported.get(), rejects.getCount(), elapsedMillis, rejectedFile.toString());
+            log.info("item import file={}, imported={}, rejected={}, elapsed={}ms, rows/s={}",
+                    file, result.getImported(), result.getRejected(), elapsedMillis, Math.round(result.getRowsPerSecond()));
+            return result;
+        } finally {
+            writers.shutdownNow();
+        }
+    }
+
+    // 테스트에서 거부 기록 실패를 만들기 위한 확장 지점
+    RejectedRowWriter openRejects(Path rejectedFile) throws IOException {
+        return new RejectedRowWriter(rejectedFile);
+    }
+
+    private void readRows(Path file, ItemCsvRowParser parser, ImportRun run) throws IOException, InterruptedException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<ImportRow> batch = new ArrayList<>(batchSize);
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (lineNumber == 1 && parser.isHeader(line))) {
+                    continue;
+                }
+
+                try {
+                    batch.add(new ImportRow(lineNumber, line, parser.parse(line)));
+                } catch (IllegalArgumentException e) {
+                    run.rejects.write(lineNumber, e.getMessage(), line);
+                    continue;
+                }
+
+                if (batch.size() == batchSize) {
+                    // 저장 스레드가 실패했으면 더 읽지 않음 -> importFile()에서 실패를 다시 던짐
+                    if (!offer(run, batch)) {
+                        return;
+                    }
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                offer(run, batch);
+            }
+        }
+    }
+
+    // *** put() 대신 timeout이 있는 offer()를 반복 -> 저장 스레드가 모두 죽으면 큐가 비워지지 않으므로 대기하지 않고 false
+    private boolean offer(ImportRun run, List<ImportRow> batch) throws InterruptedException {
+        while (!run.stopped()) {
+            if (run.queue.offer(batch, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 저장이 진행되는 동안은 기다리고, WRITER_IDLE_TIMEOUT_SECONDS 동안 진행이 없으면 실패 처리
+    private void awaitWriters(ExecutorService writers, ImportRun run) throws InterruptedException {
+        long progress = -1;
+        while (!writers.awaitTermination(WRITER_IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            long current = run.imported.get() + run.rejects.getCount();
+            if (current == progress) {
+                run.fail(new IllegalStateException("item import writers made no progress for "
+                        + WRITER_IDLE_TIMEOUT_SECONDS + "s"));
+                return;
+            }
+            progress = current;
+        }
+    }
+
+    private void writeBatches(ImportRun run) {
+        try {
+            List<ImportRow> batch;
+            while (!run.failed() && (batch = run.queue.take()) != END) {
+                writeBatch(batch, run);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            // * 거부 기록 실패(UncheckedIOException), Error 등 -> 처음 실패만 기록하고 파싱/다른 저장 스레드도 중단
+            log.error("item import writer failed", e);
+            run.fail(e);
+        } finally {
+            run.liveWriters.decrementAndGet();
+        }
+    }
+
+    // *** batch 하나 = 트랜잭션 하나 -> 실패하면 해당 batch만 rollback되고 나머지 batch는 계속 진행
+    private void writeBatch(List<ImportRow> batch, ImportRun run) {
+        List<Item> items = new ArrayList<>(batch.size());
+        batch.forEach(row -> items.add(row.item));
+        try {
+            transactionTemplate.executeWithoutResult(status -> itemRepository.saveAll(items));
+            run.imported.addAndGet(items.size());
+        } catch (RuntimeException e) {
+            log.warn("item import batch failed lines={}~{}", batch.get(0).lineNumber, batch.get(batch.size() - 1).lineNumber, e);
+            batch.forEach(row -> run.rejects.write(row.lineNumber, "batch insert failed: " + e.getMessage(), row.line));
+        }
+    }
+
+    // 파일 하나를 적재하는 동안 파싱 스레드와 저장 스레드가 공유하는 상태
+    private static class ImportRun {
+        private final BlockingQueue<List<ImportRow>> queue;
+        private final RejectedRowWriter rejects;
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicInteger liveWriters;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        private ImportRun(BlockingQueue<List<ImportRow>> queue, RejectedRowWriter rejects, int writerThreads) {
+            this.queue = queue;
+            this.rejects = rejects;
+            this.liveWriters = new AtomicInteger(writerThreads);
+        }
+
+        private void fail(Throwable e) {
+            failure.compareAndSet(null, e);
+        }
+
+        private boolean failed() {
+            return failure.get() != null;
+        }
+
+        // 실패했거나 큐를 비울 저장 스레드가 없음
+        private boolean stopped() {
+            return failed() || liveWriters.get() == 0;
+        }
+
+        private void rethrowFailure() {
+            Throwable e = failure.get();
+            if (e == null) {
+                return;
+            }
+            if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            }
+            if (e instanceof Error) {
+                throw (Error) e;
+            }
+            throw new IllegalStateException("item import failed", e);
+        }
+    }
+
+    private static class ImportRow {
+        private final long lineNumber;
+        private final String line;
+        private final Item item;
+
+        private ImportRow(long lineNumber, String line, Item item) {
+            this.lineNumber = lineNumber;
+            this.line = line;
+            this.item = item;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package hello.itemservice.service.importer;
+
+import hello.itemservice.domain.Item;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV/TSV 한 줄 -> Item
+ *  - 컬럼 순서 : item_name, price, quantity
+ *  - 큰따옴표로 감싼 값 지원 ("a,b" / 값 안의 큰따옴표는 "")
+ *  - item 테이블 제약조건에 맞지 않는 row는 IllegalArgumentException (메시지 = 거부 사유)
+ */
+public class ItemCsvRowParser {
+
+    // item 테이블의 item_name varchar(10)
+    public static final int MAX_ITEM_NAME_LENGTH = 10;
+
+    private final char delimiter;
+
+    public ItemCsvRowParser(char delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    public Item parse(String line) {
+        List<String> fields = split(line);
+        if (fields.size() != 3) {
+            throw new IllegalArgumentException("column count " + fields.size() + " != 3");
+        }
+
+        String itemName = fields.get(0).trim();
+        if (itemName.isEmpty()) {
+            throw new IllegalArgumentException("item_name is empty");
+        }
+        if (itemName.length() > MAX_ITEM_NAME_LENGTH) {
+            throw new IllegalArgumentException("item_name longer than " + MAX_ITEM_NAME_LENGTH);
+        }
+        return new Item(itemName, parseNumber("price", fields.get(1)), parseNumber("quantity", fields.get(2)));
+    }
+
+    // 첫 줄이 컬럼명이면 건너뛰기 위한 확인
+    public boolean isHeader(String line) {
+        List<String> fields = split(line);
+        String first = fields.isEmpty() ? "" : fields.get(0).trim();
+        return first.equalsIgnoreCase("item_name") || first.equalsIgnoreCase("itemName");
+    }
+
+    private Integer parseNumber(String column, String value) {
+        try {
+            int number = Integer.parseInt(value.trim());
+            if (number < 0) {
+                throw new IllegalArgumentException(column + " is negative");
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not an integer");
+        }
+    }
+
+    private List<String> split(String line) {
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,20 @@
+package hello.itemservice.service.importer;
+
+import lombok.Data;
+
+/**
+ * 파일 import 결과
+ *  - rejectedFile : 거부된 row가 기록된 파일 (거부된 row가 없으면 비어있음)
+ */
+@Data
+public class ItemImportResult {
+
+    private final long imported;
+    private final long rejected;
+    private final long elapsedMillis;
+    private final String rejectedFile;
+
+    public double getRowsPerSecond() {
+        return elapsedMillis == 0 ? imported : imported * 1000.0 / elapsedMillis;
+    }
+}
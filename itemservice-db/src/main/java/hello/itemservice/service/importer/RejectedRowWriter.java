@@ -0,0 +1,42 @@
+package hello.itemservice.service.importer;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 거부된 row를 별도 파일에 기록 - "줄번호 \t 사유 \t 원본 row"
+ *  - 파싱 스레드와 저장 스레드가 같이 사용하므로 synchronized
+ */
+class RejectedRowWriter implements Closeable {
+
+    private final BufferedWriter writer;
+    private long count;
+
+    RejectedRowWriter(Path file) throws IOException {
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+    }
+
+    synchronized void write(long lineNumber, String reason, String line) {
+        try {
+            writer.write(lineNumber + "\t" + reason + "\t" + line);
+            writer.newLine();
+            count++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    synchronized long getCount() {
+        return count;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
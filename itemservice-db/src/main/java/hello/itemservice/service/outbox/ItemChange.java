@@ -0,0 +1,46 @@
+package hello.itemservice.service.outbox;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemUpdateDto;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * outbox의 변경 기록 한 건
+ *  - sequence : outbox에 기록된 순서 (append 전에는 null)
+ *  - itemName/price/quantity : 변경 후 값
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class ItemChange {
+
+    private final Long sequence;
+    private final Long itemId;
+    private final ItemChangeType type;
+    private final String itemName;
+    private final Integer price;
+    private final Integer quantity;
+    private final Instant createdAt;
+
+    public static ItemChange saved(Item item) {
+        return new ItemChange(null, item.getId(), ItemChangeType.SAVED,
+                item.getItemName(), item.getPrice(), item.getQuantity(), Instant.now());
+    }
+
+    public static ItemChange updated(Long itemId, ItemUpdateDto updateParam) {
+        return new ItemChange(null, itemId, ItemChangeType.UPDATED,
+                updateParam.getItemName(), updateParam.getPrice(), updateParam.getQuantity(), Instant.now());
+    }
+
+    public static ItemChange resync() {
+        return new ItemChange(null, null, ItemChangeType.RESYNC, null, null, null, Instant.now());
+    }
+
+    public ItemChange withSequence(long sequence) {
+        return new ItemChange(sequence, itemId, type, itemName, price, quantity, createdAt);
+    }
+}
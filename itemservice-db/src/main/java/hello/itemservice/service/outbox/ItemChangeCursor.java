@@ -0,0 +1,47 @@
+package hello.itemservice.service.outbox;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * consumer가 outbox를 어디까지 읽었는지 - ItemChangeFeed.poll()마다 새 cursor를 반환 (불변)
+ *  - sequence : 이 값까지는 확인함 (gaps 제외)
+ *  - gaps : 건너뛰었지만 아직 commit되지 않았을 수 있는 sequence 구간 -> 다음 poll에서 다시 확인
+ */
+@Getter
+public class ItemChangeCursor {
+
+    private final long sequence;
+    private final List<Gap> gaps;
+
+    public ItemChangeCursor(long sequence, List<Gap> gaps) {
+        this.sequence = sequence;
+        this.gaps = List.copyOf(gaps);
+    }
+
+    public static ItemChangeCursor at(long sequence) {
+        return new ItemChangeCursor(sequence, List.of());
+    }
+
+    // 비어있는 sequence 구간 [fromSequence, toSequence] - since : 처음 건너뛴 시각
+    @Getter
+    public static class Gap {
+
+        private final long fromSequence;
+        private final long toSequence;
+        private final Instant since;
+
+        public Gap(long fromSequence, long toSequence, Instant since) {
+            this.fromSequence = fromSequence;
+            this.toSequence = toSequence;
+            this.since = since;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + fromSequence + "~" + toSequence + "]";
+        }
+    }
+}
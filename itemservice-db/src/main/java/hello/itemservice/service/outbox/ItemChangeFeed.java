@@ -0,0 +1,125 @@
+package hello.itemservice.service.outbox;
+
+import hello.itemservice.service.outbox.ItemChangeCursor.Gap;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * outbox를 읽는 쪽(consumer) API - 받는 쪽은 마지막으로 받은 cursor만 기억하고 그 뒤를 batch 단위로 읽음
+ *  - 한번에 최대 maxBatchSize건만 메모리에 올리므로 밀린 변경이 많아도 메모리 사용량이 일정
+ * *** sequence 중간이 비어있는 경우
+ *  - identity는 insert 시점에 발급되므로, 먼저 발급받은 트랜잭션이 나중에 commit될 수 있음
+ *    (CSV import batch, 대량 수정 chunk, 집계 정합성 검사 lock을 기다린 쓰기 등)
+ *  - 빈 sequence 뒤의 기록이 gapTimeout보다 최근이면 거기서 멈추고 다음 poll에서 다시 읽음 -> 대부분은 순서대로 전달
+ *  - gapTimeout이 지나면 빈 구간을 cursor의 gaps로 남기고 뒤를 계속 읽음
+ *    -> 이후 poll마다 gaps를 다시 확인해서 나중에 commit된 기록을 전달 (sequence 순서보다 늦게)
+ *    -> 같은 item의 변경은 row lock 때문에 앞의 트랜잭션이 끝나야 commit되므로, 늦게 전달돼도 item별 순서는 유지됨
+ *  - gapExpiry가 지나도 비어있으면 rollback된 것으로 보고 확인을 멈춤 (경고 로그)
+ */
+@Slf4j
+public class ItemChangeFeed {
+
+    private final ItemOutbox outbox;
+    private final int maxBatchSize;
+    private final Duration gapTimeout;
+    private final Duration gapExpiry;
+
+    public ItemChangeFeed(ItemOutbox outbox, int maxBatchSize, Duration gapTimeout, Duration gapExpiry) {
+        this.outbox = outbox;
+        this.maxBatchSize = maxBatchSize;
+        this.gapTimeout = gapTimeout;
+        this.gapExpiry = gapExpiry;
+    }
+
+    // afterSequence 뒤의 변경을 순서대로 최대 batchSize건 - 이전에 건너뛴 구간이 없는 처음 읽기용
+    public List<ItemChange> poll(long afterSequence, int batchSize) {
+        return poll(ItemChangeCursor.at(afterSequence), batchSize).getChanges();
+    }
+
+    // cursor 뒤의 변경을 최대 batchSize건 (maxBatchSize를 넘을 수 없음) - 건너뛴 구간에 새로 commit된 기록이 먼저
+    public ItemChangeBatch poll(ItemChangeCursor cursor, int batchSize) {
+        int limit = Math.min(batchSize, maxBatchSize);
+        Instant now = Instant.now();
+        List<ItemChange> changes = new ArrayList<>();
+        List<Gap> gaps = new ArrayList<>();
+
+        // 1. 건너뛴 구간 다시 확인
+        for (Gap gap : cursor.getGaps()) {
+            List<ItemChange> filled = changes.size() < limit
+                    ? outbox.readBetween(gap.getFromSequence(), gap.getToSequence(), limit - changes.size())
+                    : List.of();
+            changes.addAll(filled);
+            long from = gap.getFromSequence();
+            for (ItemChange change : filled) {
+                addGap(gaps, from, change.getSequence() - 1, gap.getSince(), now);
+                from = change.getSequence() + 1;
+            }
+            addGap(gaps, from, gap.getToSequence(), gap.getSince(), now);
+        }
+
+        // 2. cursor 뒤
+        long sequence = cursor.getSequence();
+        if (changes.size() < limit) {
+            Instant settled = now.minus(gapTimeout);
+            for (ItemChange change : outbox.readAfter(sequence, limit - changes.size())) {
+                if (change.getSequence() != sequence + 1) {
+                    if (change.getCreatedAt().isAfter(settled)) {
+                        break;
+                    }
+                    gaps.add(new Gap(sequence + 1, change.getSequence() - 1, now));
+                }
+                changes.add(change);
+                sequence = change.getSequence();
+            }
+        }
+        return new ItemChangeBatch(changes, new ItemChangeCursor(sequence, gaps));
+    }
+
+    private void addGap(List<Gap> gaps, long from, long to, Instant since, Instant now) {
+        if (from > to) {
+            return;
+        }
+        if (since.plus(gapExpiry).isBefore(now)) {
+            log.warn("item outbox gap expired seq={}~{} since={} -> 나중에 commit된 변경이면 consumer가 놓침 (resync 필요)",
+                    from, to, since);
+            return;
+        }
+        gaps.add(new Gap(from, to, since));
+    }
+
+    // *** 따라잡을 때까지 batch를 하나씩 읽어서 handler에 전달 - 마지막으로 전달한 뒤의 cursor를 반환
+    // - handler가 예외를 던지면 거기서 멈춤 -> 반환되지 않으므로 호출한 쪽의 cursor는 그대로 (다음에 같은 batch부터 다시)
+    public ItemChangeCursor consume(ItemChangeCursor cursor, int batchSize, Consumer<List<ItemChange>> handler) {
+        while (true) {
+            ItemChangeBatch batch = poll(cursor, batchSize);
+            if (batch.getChanges().isEmpty()) {
+                return batch.getCursor();
+            }
+            handler.accept(batch.getChanges());
+            cursor = batch.getCursor();
+        }
+    }
+
+    public long lastSequence() {
+        return outbox.lastSequence();
+    }
+
+    // poll() 결과 - 전달할 변경 + 전달한 뒤의 cursor
+    @Getter
+    public static class ItemChangeBatch {
+
+        private final List<ItemChange> changes;
+        private final ItemChangeCursor cursor;
+
+        ItemChangeBatch(List<ItemChange> changes, ItemChangeCursor cursor) {
+            this.changes = changes;
+            this.cursor = cursor;
+        }
+    }
+}
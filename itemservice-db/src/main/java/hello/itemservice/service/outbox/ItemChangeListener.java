@@ -0,0 +1,12 @@
+package hello.itemservice.service.outbox;
+
+import java.util.List;
+
+/**
+ * 프로세스 안에서 outbox 변경을 받는 consumer - Bean으로 등록하면 ItemOutboxRelay가 batch마다 호출
+ *  - 같은 변경이 다시 전달될 수 있으므로(처리 도중 예외 등) 여러 번 받아도 결과가 같도록 구현
+ */
+public interface ItemChangeListener {
+
+    void onChanges(List<ItemChange> changes);
+}
@@ -0,0 +1,10 @@
+package hello.itemservice.service.outbox;
+
+/**
+ * outbox에 기록되는 변경 종류
+ *  - SAVED / UPDATED : 변경 후 item 값(after-image)이 같이 기록됨 -> 받는 쪽은 itemId 기준으로 덮어쓰면 됨
+ *  - RESYNC : id를 알 수 없는 대량 적재(JDBC batch insert 등) -> 받는 쪽은 전체를 다시 읽어야 함
+ */
+public enum ItemChangeType {
+    SAVED, UPDATED, RESYNC
+}
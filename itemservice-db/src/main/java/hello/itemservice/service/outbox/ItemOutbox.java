@@ -0,0 +1,32 @@
+package hello.itemservice.service.outbox;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * item 변경 기록 저장소 (append-only)
+ *  - JdbcItemOutbox : DB backend - item_outbox 테이블을 item 쓰기와 같은 트랜잭션에서 insert
+ *  - MemoryItemOutbox : memory/sharded backend - 프로세스 메모리
+ */
+public interface ItemOutbox {
+
+    void append(ItemChange change);
+
+    // change의 item이 있을 때만 기록 - 없는 id의 수정은 0건 update로 끝나고 예외가 없으므로 기록하지 않도록
+    void appendIfItemExists(ItemChange change);
+
+    // id 범위 [fromId, toId]의 현재 item 값을 UPDATED로 기록 - 대량 수정 chunk 하나
+    void appendRange(Long fromId, Long toId);
+
+    // sequence보다 뒤의 기록을 순서대로 최대 limit건
+    List<ItemChange> readAfter(long sequence, int limit);
+
+    // sequence 범위 [fromSequence, toSequence]의 기록을 순서대로 최대 limit건 - 건너뛴 구간 다시 확인용
+    List<ItemChange> readBetween(long fromSequence, long toSequence, int limit);
+
+    // 마지막으로 기록된 sequence - 기록이 없으면 0
+    long lastSequence();
+
+    // createdAt이 before보다 오래된 기록 삭제 - 삭제된 건수 반환
+    int deleteBefore(Instant before);
+}
@@ -0,0 +1,80 @@
+package hello.itemservice.service.outbox;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 프로세스 안의 consumer - outbox를 주기적으로 읽어서 ItemChangeListener Bean들에 전달
+ *  - 로컬에서 변경 feed를 확인하는 용도 (listener가 없으면 debug 로그만 남김)
+ *  - 위치(cursor)는 메모리에만 기억 -> 시작 시점의 마지막 sequence부터 읽음
+ *  - 따라잡지 못한 변경 수는 itemservice.outbox.lag 메트릭
+ *  - retention보다 오래된 기록은 주기적으로 삭제 - 밖의 consumer도 retention 안에는 읽어야 함
+ */
+@Slf4j
+public class ItemOutboxRelay {
+
+    private final ItemChangeFeed feed;
+    private final ItemOutbox outbox;
+    private final List<ItemChangeListener> listeners;
+    private final int batchSize;
+    private final Duration retention;
+    private volatile ItemChangeCursor cursor = ItemChangeCursor.at(0);
+
+    public ItemOutboxRelay(ItemChangeFeed feed, ItemOutbox outbox, List<ItemChangeListener> listeners,
+                           int batchSize, Duration retention, MeterRegistry meterRegistry) {
+        this.feed = feed;
+        this.outbox = outbox;
+        this.listeners = listeners;
+        this.batchSize = batchSize;
+        this.retention = retention;
+        Gauge.builder("itemservice.outbox.lag", this, relay -> relay.feed.lastSequence() - relay.cursor.getSequence())
+                .description("in-process consumer가 아직 처리하지 않은 outbox 기록 수")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        cursor = ItemChangeCursor.at(feed.lastSequence());
+        log.info("item outbox relay start position={}, listeners={}", cursor.getSequence(), listeners.size());
+    }
+
+    // 이번 poll에서 전달한 변경 수
+    @Scheduled(initialDelayString = "${itemservice.outbox.poll-interval-ms:1000}",
+            fixedDelayString = "${itemservice.outbox.poll-interval-ms:1000}")
+    public synchronized int poll() {
+        long before = cursor.getSequence();
+        int[] delivered = {0};
+        cursor = feed.consume(cursor, batchSize, changes -> {
+            log.debug("item changes seq={}~{}, size={}", changes.get(0).getSequence(),
+                    changes.get(changes.size() - 1).getSequence(), changes.size());
+            listeners.forEach(listener -> listener.onChanges(changes));
+            delivered[0] += changes.size();
+        });
+        if (cursor.getSequence() != before) {
+            log.debug("item outbox relay position {} -> {}, gaps={}", before, cursor.getSequence(), cursor.getGaps());
+        }
+        return delivered[0];
+    }
+
+    @Scheduled(initialDelayString = "${itemservice.outbox.purge-interval-ms:3600000}",
+            fixedDelayString = "${itemservice.outbox.purge-interval-ms:3600000}")
+    public int purge() {
+        int deleted = outbox.deleteBefore(Instant.now().minus(retention));
+        if (deleted > 0) {
+            log.info("item outbox purged={}", deleted);
+        }
+        return deleted;
+    }
+
+    public long getPosition() {
+        return cursor.getSequence();
+    }
+}
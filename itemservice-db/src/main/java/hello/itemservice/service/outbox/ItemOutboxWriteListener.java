@@ -0,0 +1,56 @@
+package hello.itemservice.service.outbox;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemUpdateDto;
+import hello.itemservice.service.write.ItemWriteListener;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * item 쓰기마다 outbox(ItemOutbox)에 변경을 기록 (transactional outbox) - 쓰기는 ItemWriteAspect가 잡아서 전달
+ *  - 쓰기와 같은 트랜잭션에서 기록 -> commit되면 둘 다, rollback되면 둘 다 없음
+ *  - 대량 수정은 chunk의 범위의 변경 후 값을 기록
+ *  - update는 item이 있을 때만 기록 - 없는 id는 예외 없이 0건 수정으로 끝나므로
+ *  - saveAll은 id가 채워진 item만 SAVED로 기록 - id가 없는 item이 있으면(JDBC batch insert) RESYNC 한 건
+ */
+public class ItemOutboxWriteListener implements ItemWriteListener {
+
+    private final ItemOutbox outbox;
+
+    public ItemOutboxWriteListener(ItemOutbox outbox) {
+        this.outbox = outbox;
+    }
+
+    @Override
+    public Consumer<Item> save() {
+        return item -> outbox.append(ItemChange.saved(item));
+    }
+
+    @Override
+    public Runnable saveAll(List<Item> items) {
+        return () -> {
+            boolean missingId = false;
+            for (Item item : items) {
+                if (item.getId() == null) {
+                    missingId = true;
+                } else {
+                    outbox.append(ItemChange.saved(item));
+                }
+            }
+            if (missingId) {
+                outbox.append(ItemChange.resync());
+            }
+        };
+    }
+
+    @Override
+    public Runnable update(Long itemId, ItemUpdateDto updateParam) {
+        return () -> outbox.appendIfItemExists(ItemChange.updated(itemId, updateParam));
+    }
+
+    @Override
+    public Runnable bulkUpdate(Long fromId, Long toId) {
+        return () -> outbox.appendRange(fromId, toId);
+    }
+}
@@ -0,0 +1,86 @@
+package hello.itemservice.service.outbox;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * item_outbox 테이블 - src/main/resources/sql 참고
+ *  - JdbcTemplate은 트랜잭션 동기화 매니저의 con을 사용하므로 item 쓰기(JPA 포함)와 같은 트랜잭션에서 insert/rollback
+ *  - sequence는 identity -> insert 순서대로 발급되지만 commit 순서와는 다를 수 있음 (ItemChangeFeed가 건너뛴 구간을 다시 확인)
+ */
+public class JdbcItemOutbox implements ItemOutbox {
+
+    private static final String COLUMNS = "item_id, change_type, item_name, price, quantity, created_at";
+
+    private static final RowMapper<ItemChange> CHANGE_ROW_MAPPER = (rs, rowNum) -> {
+        long itemId = rs.getLong(2);
+        Long nullableItemId = rs.wasNull() ? null : itemId;
+        int price = rs.getInt(5);
+        Integer nullablePrice = rs.wasNull() ? null : price;
+        int quantity = rs.getInt(6);
+        Integer nullableQuantity = rs.wasNull() ? null : quantity;
+        return new ItemChange(rs.getLong(1), nullableItemId, ItemChangeType.valueOf(rs.getString(3)),
+                rs.getString(4), nullablePrice, nullableQuantity, rs.getTimestamp(7).toInstant());
+    };
+
+    private final JdbcTemplate template;
+
+    public JdbcItemOutbox(DataSource dataSource) {
+        this.template = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void append(ItemChange change) {
+        template.update("insert into item_outbox (" + COLUMNS + ") values (?, ?, ?, ?, ?, ?)",
+                change.getItemId(), change.getType().name(), change.getItemName(),
+                change.getPrice(), change.getQuantity(), Timestamp.from(change.getCreatedAt()));
+    }
+
+    // * 값은 change(수정 요청 값) 그대로 - JPA는 commit 시점에 flush하므로 item 테이블에서 읽으면 수정 전 값일 수 있음
+    //   -> item 테이블은 존재 여부만 확인
+    @Override
+    public void appendIfItemExists(ItemChange change) {
+        template.update("insert into item_outbox (" + COLUMNS + ")" +
+                        " select ?, ?, ?, ?, ?, ? from item where id = ?",
+                change.getItemId(), change.getType().name(), change.getItemName(),
+                change.getPrice(), change.getQuantity(), Timestamp.from(change.getCreatedAt()), change.getItemId());
+    }
+
+    // *** insert ... select - 수정된 값을 애플리케이션으로 가져오지 않고 DB 안에서 바로 기록
+    // - 검색 조건은 수정 전 값 기준이므로(ex. maxPrice) 수정 후에 다시 걸지 않고 범위 전체를 기록
+    //   -> 바뀌지 않은 item도 기록되지만 변경 후 값이므로 받는 쪽에서 덮어써도 결과가 같음
+    @Override
+    public void appendRange(Long fromId, Long toId) {
+        template.update("insert into item_outbox (" + COLUMNS + ")" +
+                        " select id, ?, item_name, price, quantity, ? from item where id between ? and ?",
+                ItemChangeType.UPDATED.name(), Timestamp.from(Instant.now()), fromId, toId);
+    }
+
+    @Override
+    public List<ItemChange> readAfter(long sequence, int limit) {
+        return template.query("select seq, " + COLUMNS + " from item_outbox where seq > ? order by seq limit ?",
+                CHANGE_ROW_MAPPER, sequence, limit);
+    }
+
+    @Override
+    public List<ItemChange> readBetween(long fromSequence, long toSequence, int limit) {
+        return template.query("select seq, " + COLUMNS + " from item_outbox where seq between ? and ? order by seq limit ?",
+                CHANGE_ROW_MAPPER, fromSequence, toSequence, limit);
+    }
+
+    @Override
+    public long lastSequence() {
+        Long last = template.queryForObject("select max(seq) from item_outbox", Long.class);
+        return last == null ? 0 : last;
+    }
+
+    @Override
+    public int deleteBefore(Instant before) {
+        return template.update("delete from item_outbox where created_at < ?", Timestamp.from(before));
+    }
+}
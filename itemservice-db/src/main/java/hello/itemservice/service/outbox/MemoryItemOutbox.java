@@ -0,0 +1,90 @@
+package hello.itemservice.service.outbox;
+
+import hello.itemservice.repository.ItemRepository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * outbox를 프로세스 메모리에 유지 (memory/sharded backend)
+ *  - 트랜잭션이 없으므로 쓰기가 끝난 직후 바로 기록 / 재시작하면 기록은 사라짐
+ *  - sequence 발급과 기록을 같은 lock 안에서 하므로 sequence 순서대로 보임 (중간이 비는 구간이 생기지 않음)
+ */
+public class MemoryItemOutbox implements ItemOutbox {
+
+    private final ItemRepository itemRepository;
+    private final ConcurrentSkipListMap<Long, ItemChange> changes = new ConcurrentSkipListMap<>();
+    private long sequence;
+
+    public MemoryItemOutbox(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Override
+    public synchronized void append(ItemChange change) {
+        sequence++;
+        changes.put(sequence, change.withSequence(sequence));
+    }
+
+    @Override
+    public void appendIfItemExists(ItemChange change) {
+        if (itemRepository.findById(change.getItemId()).isPresent()) {
+            append(change);
+        }
+    }
+
+    // * chunk의 id 범위는 chunkSize 이하 -> 전체를 훑지 않고 범위 안의 id마다 findById
+    @Override
+    public void appendRange(Long fromId, Long toId) {
+        List<ItemChange> updated = new ArrayList<>();
+        for (long id = fromId; id <= toId; id++) {
+            itemRepository.findById(id).ifPresent(item -> updated.add(new ItemChange(null, item.getId(),
+                    ItemChangeType.UPDATED, item.getItemName(), item.getPrice(), item.getQuantity(), Instant.now())));
+        }
+        synchronized (this) {
+            updated.forEach(this::append);
+        }
+    }
+
+    @Override
+    public List<ItemChange> readAfter(long sequence, int limit) {
+        return first(changes.tailMap(sequence, false).values(), limit);
+    }
+
+    @Override
+    public List<ItemChange> readBetween(long fromSequence, long toSequence, int limit) {
+        return first(changes.subMap(fromSequence, true, toSequence, true).values(), limit);
+    }
+
+    private static List<ItemChange> first(Collection<ItemChange> values, int limit) {
+        List<ItemChange> result = new ArrayList<>(limit);
+        for (ItemChange change : values) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(change);
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized long lastSequence() {
+        return sequence;
+    }
+
+    @Override
+    public int deleteBefore(Instant before) {
+        int deleted = 0;
+        for (ItemChange change : changes.values()) {
+            if (!change.getCreatedAt().isBefore(before)) {
+                break;
+            }
+            changes.remove(change.getSequence());
+            deleted++;
+        }
+        return deleted;
+    }
+}
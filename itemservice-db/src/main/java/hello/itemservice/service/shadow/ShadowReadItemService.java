@@ -0,0 +1,71 @@
+package hello.itemservice.service.shadow;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemBulkUpdateDto;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemUpdateDto;
+import hello.itemservice.service.ItemService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * primary backend의 ItemService를 감싸서 findById()/findItems()를 shadow backend에도 재실행
+ *  - 응답은 항상 primary의 결과 - shadow는 ShadowReader의 스레드에서 비교만 함
+ *  - primary의 응답 시간은 감싼 ItemService 호출 단위로 잼 (shadow도 ItemService 단위)
+ *  - 쓰기와 scan(export)은 그대로 위임
+ *  - ShadowReader는 BeanPostProcessor 시점에 만들 수 없으므로 ObjectProvider로 처음 사용할 때 가져옴
+ */
+@RequiredArgsConstructor
+public class ShadowReadItemService implements ItemService {
+
+    private final ItemService delegate;
+    private final ObjectProvider<ShadowReader> shadowReaderProvider;
+
+    @Override
+    public Optional<Item> findById(Long id) {
+        ShadowReader shadowReader = shadowReaderProvider.getObject();
+        if (!shadowReader.sample()) {
+            return delegate.findById(id);
+        }
+        long start = System.nanoTime();
+        Optional<Item> result = delegate.findById(id);
+        shadowReader.replayFindById(id, result, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public List<Item> findItems(ItemSearchCond itemSearch) {
+        ShadowReader shadowReader = shadowReaderProvider.getObject();
+        if (!shadowReader.sample()) {
+            return delegate.findItems(itemSearch);
+        }
+        long start = System.nanoTime();
+        List<Item> result = delegate.findItems(itemSearch);
+        shadowReader.replayFindItems(itemSearch, result, System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public Item save(Item item) {
+        return delegate.save(item);
+    }
+
+    @Override
+    public void update(Long itemId, ItemUpdateDto updateParam) {
+        delegate.update(itemId, updateParam);
+    }
+
+    @Override
+    public void scanItems(ItemSearchCond itemSearch, Consumer<Item> action) {
+        delegate.scanItems(itemSearch, action);
+    }
+
+    @Override
+    public int bulkUpdate(ItemSearchCond cond, ItemBulkUpdateDto updateParam) {
+        return delegate.bulkUpdate(cond, updateParam);
+    }
+}
@@ -0,0 +1,121 @@
+package hello.itemservice.service.shadow;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.service.ItemService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 조회를 shadow backend에 비동기로 다시 실행하고 primary의 결과/응답 시간과 비교
+ *  - sampleRate 비율의 요청만 재실행
+ *  - shadow도 ItemService 단위로 실행 -> primary(ShadowReadItemService가 감싼 ItemService)와 같은 단위로 응답 시간 비교
+ *  - 고정 크기 스레드풀 + 제한된 큐 -> 큐가 가득 차면 재실행을 버림(dropped)
+ *    -> shadow가 느려지거나 멈춰도 primary 요청은 절대 기다리지 않음
+ *  - 메트릭
+ *    itemservice.shadow.latency{operation, target=primary|shadow} : 응답 시간
+ *    itemservice.shadow.latency.ratio{operation} : shadow 응답 시간 / primary 응답 시간
+ *    itemservice.shadow.mismatches{operation} / dropped / errors
+ */
+@Slf4j
+public class ShadowReader {
+
+    private final ItemService shadowService;
+    private final String shadowBackend;
+    private final double sampleRate;
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final Counter dropped;
+    private final Counter errors;
+
+    public ShadowReader(ItemService shadowService, String shadowBackend, double sampleRate,
+                        int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this.shadowService = shadowService;
+        this.shadowBackend = shadowBackend;
+        this.sampleRate = sampleRate;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("item-shadow-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.meterRegistry = meterRegistry;
+        this.dropped = meterRegistry.counter("itemservice.shadow.dropped", "backend", shadowBackend);
+        this.errors = meterRegistry.counter("itemservice.shadow.errors", "backend", shadowBackend);
+    }
+
+    public boolean sample() {
+        return sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    public void replayFindById(Long id, Optional<Item> primaryResult, long primaryNanos) {
+        replay("findById", id, () -> shadowService.findById(id), primaryResult, primaryNanos);
+    }
+
+    public void replayFindItems(ItemSearchCond cond, List<Item> primaryResult, long primaryNanos) {
+        // * backend마다 정렬 순서가 다를 수 있으므로 id 순서로 맞춰서 비교
+        replay("findItems", cond, () -> sortById(shadowService.findItems(cond)), sortById(primaryResult), primaryNanos);
+    }
+
+    private <T> void replay(String operation, Object args, Supplier<T> shadowCall, T primaryResult, long primaryNanos) {
+        try {
+            executor.execute(() -> {
+                try {
+                    long start = System.nanoTime();
+                    T shadowResult = shadowCall.get();
+                    long shadowNanos = System.nanoTime() - start;
+
+                    timer(operation, "primary").record(primaryNanos, TimeUnit.NANOSECONDS);
+                    timer(operation, "shadow").record(shadowNanos, TimeUnit.NANOSECONDS);
+                    DistributionSummary.builder("itemservice.shadow.latency.ratio")
+                            .tags("operation", operation, "backend", shadowBackend)
+                            .register(meterRegistry)
+                            .record((double) shadowNanos / Math.max(1, primaryNanos));
+
+                    if (!Objects.equals(primaryResult, shadowResult)) {
+                        meterRegistry.counter("itemservice.shadow.mismatches",
+                                "operation", operation, "backend", shadowBackend).increment();
+                        log.warn("shadow mismatch backend={}, operation={}, args={}, primary={}, shadow={}",
+                                shadowBackend, operation, args, primaryResult, shadowResult);
+                    }
+                } catch (RuntimeException e) {
+                    errors.increment();
+                    log.warn("shadow read failed backend={}, operation={}, args={}", shadowBackend, operation, args, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+        }
+    }
+
+    private Timer timer(String operation, String target) {
+        return Timer.builder("itemservice.shadow.latency")
+                .tags("operation", operation, "target", target, "backend", shadowBackend)
+                .register(meterRegistry);
+    }
+
+    private List<Item> sortById(List<Item> items) {
+        List<Item> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparing(Item::getId));
+        return sorted;
+    }
+
+    // * Bean 종료 시점에 호출 - @Bean의 destroyMethod 추론(shutdown)으로 자동 등록됨
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,34 @@
+package hello.itemservice.service.stats;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 재고 집계 결과 (대시보드용)
+ *  - itemCount / totalQuantity / totalStockValue(price * quantity 합)
+ *  - priceBands : 가격대별 분포 - maxPrice는 포함하지 않고, 마지막 가격대는 maxPrice가 null
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class ItemStats {
+
+    private final long itemCount;
+    private final long totalQuantity;
+    private final long totalStockValue;
+    private final List<PriceBand> priceBands;
+
+    @Getter
+    @ToString
+    @RequiredArgsConstructor
+    public static class PriceBand {
+        private final Integer minPrice;
+        private final Integer maxPrice;
+        private final long itemCount;
+        private final long totalQuantity;
+        private final long totalStockValue;
+    }
+}
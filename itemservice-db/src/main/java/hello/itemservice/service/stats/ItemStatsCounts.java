@@ -0,0 +1,105 @@
+package hello.itemservice.service.stats;
+
+import hello.itemservice.domain.Item;
+import lombok.EqualsAndHashCode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 가격대별 (item 수, 수량 합, 재고 금액 합) - 전체 합계와 쓰기 한번의 변화량(delta)에 같이 사용
+ *  - 가격대 : [0, 10000) / [10000, 50000) / [50000, 100000) / [100000, ~)
+ *  - 재고 금액 = price * quantity (null은 0으로 계산, 가격이 null인 item은 첫번째 가격대)
+ *  - int * int는 범위를 넘을 수 있으므로 long으로 누적
+ */
+@EqualsAndHashCode
+public class ItemStatsCounts {
+
+    static final int[] PRICE_BAND_BOUNDS = {10000, 50000, 100000};
+    public static final int BAND_COUNT = PRICE_BAND_BOUNDS.length + 1;
+
+    private final long[] itemCounts = new long[BAND_COUNT];
+    private final long[] quantities = new long[BAND_COUNT];
+    private final long[] stockValues = new long[BAND_COUNT];
+
+    public static int bandOf(Integer price) {
+        int band = 0;
+        while (price != null && band < PRICE_BAND_BOUNDS.length && price >= PRICE_BAND_BOUNDS[band]) {
+            band++;
+        }
+        return band;
+    }
+
+    public ItemStatsCounts add(Item item) {
+        return add(item.getPrice(), item.getQuantity(), 1);
+    }
+
+    public ItemStatsCounts add(Integer price, Integer quantity, int sign) {
+        long p = price == null ? 0 : price;
+        long q = quantity == null ? 0 : quantity;
+        addBand(bandOf(price), sign, sign * q, sign * p * q);
+        return this;
+    }
+
+    public void addBand(int band, long itemCount, long quantity, long stockValue) {
+        itemCounts[band] += itemCount;
+        quantities[band] += quantity;
+        stockValues[band] += stockValue;
+    }
+
+    public ItemStatsCounts minus(ItemStatsCounts other) {
+        ItemStatsCounts result = new ItemStatsCounts();
+        for (int band = 0; band < BAND_COUNT; band++) {
+            result.addBand(band,
+                    itemCounts[band] - other.itemCounts[band],
+                    quantities[band] - other.quantities[band],
+                    stockValues[band] - other.stockValues[band]);
+        }
+        return result;
+    }
+
+    public boolean isEmpty(int band) {
+        return itemCounts[band] == 0 && quantities[band] == 0 && stockValues[band] == 0;
+    }
+
+    public boolean isEmpty() {
+        for (int band = 0; band < BAND_COUNT; band++) {
+            if (!isEmpty(band)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getItemCount(int band) {
+        return itemCounts[band];
+    }
+
+    public long getQuantity(int band) {
+        return quantities[band];
+    }
+
+    public long getStockValue(int band) {
+        return stockValues[band];
+    }
+
+    public ItemStats toStats() {
+        List<ItemStats.PriceBand> priceBands = new ArrayList<>(BAND_COUNT);
+        for (int band = 0; band < BAND_COUNT; band++) {
+            priceBands.add(new ItemStats.PriceBand(
+                    band == 0 ? 0 : PRICE_BAND_BOUNDS[band - 1],
+                    band < PRICE_BAND_BOUNDS.length ? PRICE_BAND_BOUNDS[band] : null,
+                    itemCounts[band], quantities[band], stockValues[band]));
+        }
+        return new ItemStats(Arrays.stream(itemCounts).sum(), Arrays.stream(quantities).sum(),
+                Arrays.stream(stockValues).sum(), priceBands);
+    }
+
+    @Override
+    public String toString() {
+        return "ItemStatsCounts(itemCounts=" + Arrays.toString(itemCounts)
+                + ", quantities=" + Arrays.toString(quantities)
+                + ", stockValues=" + Arrays.toString(stockValues) + ")";
+    }
+}
@@ -0,0 +1,88 @@
+package hello.itemservice.service.stats;
+
+import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.ItemSearchCond;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * 집계(ItemStatsStore)를 item 전체 scan 결과와 비교해서 다르면 scan 결과로 맞춤
+ *  - 시작 시 한번 실행 -> 메모리 집계는 0부터 시작하고, item_stats 테이블은 처음엔 비어있으므로 초기 적재 역할
+ *  - 이후 itemservice.stats.reconcile-interval-ms 주기로 실행 - 다르게 발견된 횟수는 itemservice.stats.mismatches 메트릭
+ * *** item 전체 scan은 잠그지 않고 실행 -> item_stats는 비교/교체하는 짧은 트랜잭션에서만 잠금
+ *  - scan 전에 읽은 집계와 잠근 뒤의 집계가 같으면 scan하는 동안 commit된 쓰기가 없음 -> scan 결과와 비교해서 교체
+ *    * item 변경과 집계 반영은 같은 트랜잭션이므로, commit되지 않은 쓰기는 scan에도 집계에도 보이지 않음
+ *  - 다르면 scan 도중에 쓰기가 commit된 것 -> MAX_ATTEMPTS번까지 다시 scan, 계속 겹치면 다음 주기에 검사
+ *  - 서로 상쇄되는 쓰기(같은 값으로 되돌린 수정)가 scan과 겹치면 틀리게 맞춰질 수 있음 -> 다음 검사에서 다시 맞춰짐
+ */
+@Slf4j
+public class ItemStatsReconciler {
+
+    static final int MAX_ATTEMPTS = 3;
+
+    private final ItemStatsStore statsStore;
+    private final ItemRepository itemRepository;
+    private final TransactionOperations transactionOperations;
+    private final Counter mismatchCounter;
+
+    public ItemStatsReconciler(ItemStatsStore statsStore, ItemRepository itemRepository,
+                               TransactionOperations transactionOperations, MeterRegistry meterRegistry) {
+        this.statsStore = statsStore;
+        this.itemRepository = itemRepository;
+        this.transactionOperations = transactionOperations;
+        this.mismatchCounter = Counter.builder("itemservice.stats.mismatches")
+                .description("정합성 검사에서 item 전체 scan과 다르게 발견된 횟수")
+                .register(meterRegistry);
+        Gauge.builder("itemservice.stats.items", statsStore, store -> store.get().getItemCount())
+                .description("집계된 item 수")
+                .register(meterRegistry);
+        Gauge.builder("itemservice.stats.stock.value", statsStore, store -> store.get().getTotalStockValue())
+                .description("집계된 재고 금액 (price * quantity 합)")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        reconcile();
+        log.info("item stats bootstrap stats={}", statsStore.get());
+    }
+
+    // 집계가 scan 결과와 같으면 true (쓰기가 계속 겹쳐서 비교하지 못한 경우도 true - 다음 주기에 다시 검사)
+    @Scheduled(initialDelayString = "${itemservice.stats.reconcile-interval-ms:300000}",
+            fixedDelayString = "${itemservice.stats.reconcile-interval-ms:300000}")
+    public boolean reconcile() {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            ItemStatsCounts before = statsStore.current();
+            ItemStatsCounts scanned = new ItemStatsCounts();
+            itemRepository.scan(new ItemSearchCond(), scanned::add);
+
+            Boolean matched = transactionOperations.execute(status -> compareAndReplace(before, scanned));
+            if (matched != null) {
+                return matched;
+            }
+        }
+        log.info("item stats reconcile skipped - writes committed during every scan, attempts={}", MAX_ATTEMPTS);
+        return true;
+    }
+
+    // scan하는 동안 집계가 바뀌었으면 null
+    private Boolean compareAndReplace(ItemStatsCounts before, ItemStatsCounts scanned) {
+        ItemStatsCounts recorded = statsStore.lock();
+        if (!recorded.equals(before)) {
+            return null;
+        }
+        if (scanned.equals(recorded)) {
+            return true;
+        }
+        log.warn("item stats mismatch recorded={}, scanned={} - replacing with scan result", recorded, scanned);
+        mismatchCounter.increment();
+        statsStore.replace(scanned);
+        return false;
+    }
+}
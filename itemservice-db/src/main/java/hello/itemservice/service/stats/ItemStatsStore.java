@@ -0,0 +1,27 @@
+package hello.itemservice.service.stats;
+
+/**
+ * 재고 집계 저장소 - 쓰기마다 변화량만 더해서 조회는 item 수와 상관없이 O(1)
+ *  - MemoryItemStatsStore : memory/sharded backend - 프로세스 안의 LongAdder
+ *  - JdbcItemStatsStore : DB backend - item_stats 테이블을 item 쓰기와 같은 트랜잭션에서 갱신
+ */
+public interface ItemStatsStore {
+
+    ItemStats get();
+
+    // 현재 값 - 잠그지 않음
+    ItemStatsCounts current();
+
+    void add(ItemStatsCounts delta);
+
+    // update 전 item 하나의 현재 값 - 수정되기 전 값을 빼기 위해 사용
+    ItemStatsCounts itemOf(Long itemId);
+
+    // id 범위 [fromId, toId]의 현재 값 - 대량 수정 chunk의 수정 전/후 차이를 구하기 위해 사용
+    ItemStatsCounts rangeOf(Long fromId, Long toId);
+
+    // 정합성 검사의 비교/교체 - 트랜잭션이 끝날 때까지 다른 쓰기의 집계 반영을 막을 수 있으면 막고 현재 값을 반환
+    ItemStatsCounts lock();
+
+    void replace(ItemStatsCounts counts);
+}
@@ -0,0 +1,55 @@
+package hello.itemservice.service.stats;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemUpdateDto;
+import hello.itemservice.service.write.ItemWriteListener;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * item 쓰기마다 집계(ItemStatsStore)에 변화량을 더함 - 쓰기는 ItemWriteAspect가 잡아서 전달
+ *  - 쓰기와 같은 트랜잭션에서 반영 -> JdbcItemStatsStore는 rollback되면 집계도 같이 rollback
+ *  - 대량 수정은 chunk의 수정 전/후 차이를 더함
+ */
+public class ItemStatsWriteListener implements ItemWriteListener {
+
+    private final ItemStatsStore statsStore;
+
+    public ItemStatsWriteListener(ItemStatsStore statsStore) {
+        this.statsStore = statsStore;
+    }
+
+    @Override
+    public Consumer<Item> save() {
+        return item -> statsStore.add(new ItemStatsCounts().add(item));
+    }
+
+    @Override
+    public Runnable saveAll(List<Item> items) {
+        return () -> {
+            ItemStatsCounts counts = new ItemStatsCounts();
+            items.forEach(counts::add);
+            statsStore.add(counts);
+        };
+    }
+
+    // * 수정 후 값은 DB에서 다시 읽지 않고 updateParam으로 계산 - JPA 변경 감지는 flush(commit) 전까지 update를 보내지 않음
+    // * 없는 item이면(JdbcTemplate은 예외 없이 0건 수정) 반영하지 않음
+    @Override
+    public Runnable update(Long itemId, ItemUpdateDto updateParam) {
+        ItemStatsCounts before = statsStore.itemOf(itemId);
+        return () -> {
+            if (!before.isEmpty()) {
+                statsStore.add(new ItemStatsCounts()
+                        .add(updateParam.getPrice(), updateParam.getQuantity(), 1).minus(before));
+            }
+        };
+    }
+
+    @Override
+    public Runnable bulkUpdate(Long fromId, Long toId) {
+        ItemStatsCounts before = statsStore.rangeOf(fromId, toId);
+        return () -> statsStore.add(statsStore.rangeOf(fromId, toId).minus(before));
+    }
+}
@@ -0,0 +1,105 @@
+package hello.itemservice.service.stats;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * 집계를 item_stats 테이블(가격대마다 row 하나)로 유지 - src/main/resources/sql 참고
+ *  - ItemStatsWriteListener가 item 쓰기와 같은 트랜잭션에서 변화량을 더함 -> rollback되면 집계도 같이 rollback
+ *    * JdbcTemplate은 트랜잭션 동기화 매니저의 con을 사용하므로 JPA(JpaTransactionManager)에서도 같은 트랜잭션
+ *  - 가격대마다 row가 나뉘어 있으므로 다른 가격대의 쓰기끼리는 row lock을 두고 기다리지 않음
+ * *** lock 순서
+ *  - 쓰기 : item row(for update) -> item_stats row(가격대 번호 순서) / 정합성 검사 : item은 잠그지 않고 읽은 뒤 item_stats row만 잠금
+ *    -> 항상 같은 순서로 잠그므로 deadlock이 생기지 않음
+ */
+public class JdbcItemStatsStore implements ItemStatsStore {
+
+    private static final String SELECT_STATS = "select band, item_count, total_quantity, total_stock_value from item_stats";
+
+    private final JdbcTemplate template;
+
+    public JdbcItemStatsStore(DataSource dataSource) {
+        this.template = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public ItemStats get() {
+        return current().toStats();
+    }
+
+    @Override
+    public ItemStatsCounts current() {
+        return query(SELECT_STATS);
+    }
+
+    @Override
+    public void add(ItemStatsCounts delta) {
+        for (int band = 0; band < ItemStatsCounts.BAND_COUNT; band++) {
+            if (delta.isEmpty(band)) {
+                continue;
+            }
+            int updated = template.update("update item_stats set item_count = item_count + ?," +
+                            " total_quantity = total_quantity + ?, total_stock_value = total_stock_value + ?" +
+                            " where band = ?",
+                    delta.getItemCount(band), delta.getQuantity(band), delta.getStockValue(band), band);
+            if (updated == 0) {
+                insert(band, delta);
+            }
+        }
+    }
+
+    // *** for update - 같은 item의 동시 update가 서로 같은 수정 전 값을 빼지 않도록 commit까지 row를 잠금
+    @Override
+    public ItemStatsCounts itemOf(Long itemId) {
+        return sumItems("select price, quantity from item where id = ? for update", itemId);
+    }
+
+    // * chunk 하나(chunkSize개) 범위이므로 한 건씩 읽어서 더해도 됨 + 수정이 끝날 때까지 다른 update가 끼어들지 않도록 잠금
+    @Override
+    public ItemStatsCounts rangeOf(Long fromId, Long toId) {
+        return sumItems("select price, quantity from item where id between ? and ? for update", fromId, toId);
+    }
+
+    @Override
+    public ItemStatsCounts lock() {
+        return query(SELECT_STATS + " order by band for update");
+    }
+
+    @Override
+    public void replace(ItemStatsCounts counts) {
+        for (int band = 0; band < ItemStatsCounts.BAND_COUNT; band++) {
+            int updated = template.update("update item_stats set item_count = ?, total_quantity = ?," +
+                            " total_stock_value = ? where band = ?",
+                    counts.getItemCount(band), counts.getQuantity(band), counts.getStockValue(band), band);
+            if (updated == 0) {
+                insert(band, counts);
+            }
+        }
+    }
+
+    private void insert(int band, ItemStatsCounts counts) {
+        template.update("insert into item_stats (band, item_count, total_quantity, total_stock_value)" +
+                        " values (?, ?, ?, ?)",
+                band, counts.getItemCount(band), counts.getQuantity(band), counts.getStockValue(band));
+    }
+
+    private ItemStatsCounts query(String sql) {
+        ItemStatsCounts counts = new ItemStatsCounts();
+        template.query(sql, rs -> {
+            counts.addBand(rs.getInt(1), rs.getLong(2), rs.getLong(3), rs.getLong(4));
+        });
+        return counts;
+    }
+
+    private ItemStatsCounts sumItems(String sql, Object... args) {
+        ItemStatsCounts counts = new ItemStatsCounts();
+        template.query(sql, rs -> {
+            int price = rs.getInt(1);
+            Integer nullablePrice = rs.wasNull() ? null : price;
+            int quantity = rs.getInt(2);
+            counts.add(nullablePrice, rs.wasNull() ? null : quantity, 1);
+        }, args);
+        return counts;
+    }
+}
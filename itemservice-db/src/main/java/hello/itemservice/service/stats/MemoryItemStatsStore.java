@@ -0,0 +1,86 @@
+package hello.itemservice.service.stats;
+
+import hello.itemservice.repository.ItemRepository;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 집계를 프로세스 메모리의 LongAdder로 유지 (memory/sharded backend)
+ *  - *** LongAdder : 스레드마다 나누어진 cell에 더하고 조회 시 합산 -> 동시에 많은 쓰기가 와도 하나의 값을 두고 CAS 경쟁하지 않음
+ *  - 트랜잭션이 없으므로 같은 item의 동시 update가 겹치면 어긋날 수 있음 -> 정합성 검사에서 맞춰짐
+ *  - 재시작하면 0부터 시작 -> 시작 시 정합성 검사(ItemStatsReconciler)로 DB의 값을 적재
+ */
+public class MemoryItemStatsStore implements ItemStatsStore {
+
+    private final ItemRepository itemRepository;
+    private final LongAdder[] itemCounts = newAdders();
+    private final LongAdder[] quantities = newAdders();
+    private final LongAdder[] stockValues = newAdders();
+
+    public MemoryItemStatsStore(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Override
+    public ItemStats get() {
+        return current().toStats();
+    }
+
+    @Override
+    public void add(ItemStatsCounts delta) {
+        for (int band = 0; band < ItemStatsCounts.BAND_COUNT; band++) {
+            if (delta.isEmpty(band)) {
+                continue;
+            }
+            itemCounts[band].add(delta.getItemCount(band));
+            quantities[band].add(delta.getQuantity(band));
+            stockValues[band].add(delta.getStockValue(band));
+        }
+    }
+
+    @Override
+    public ItemStatsCounts itemOf(Long itemId) {
+        ItemStatsCounts counts = new ItemStatsCounts();
+        itemRepository.findById(itemId).ifPresent(counts::add);
+        return counts;
+    }
+
+    // * chunk의 id 범위는 chunkSize 이하 -> 전체를 훑지 않고 범위 안의 id마다 findById (shard는 id로 하나만 조회)
+    @Override
+    public ItemStatsCounts rangeOf(Long fromId, Long toId) {
+        ItemStatsCounts counts = new ItemStatsCounts();
+        for (long id = fromId; id <= toId; id++) {
+            itemRepository.findById(id).ifPresent(counts::add);
+        }
+        return counts;
+    }
+
+    // * 잠글 수 없음 - 검사 중에 반영된 쓰기 때문에 틀어지면 다음 검사에서 다시 맞춰짐
+    @Override
+    public ItemStatsCounts lock() {
+        return current();
+    }
+
+    // * LongAdder는 값을 덮어쓸 수 없으므로 차이만큼 더함 -> 그 사이에 다른 스레드가 더한 값은 유지
+    @Override
+    public void replace(ItemStatsCounts counts) {
+        add(counts.minus(current()));
+    }
+
+    @Override
+    public ItemStatsCounts current() {
+        ItemStatsCounts counts = new ItemStatsCounts();
+        for (int band = 0; band < ItemStatsCounts.BAND_COUNT; band++) {
+            counts.addBand(band, itemCounts[band].sum(), quantities[band].sum(), stockValues[band].sum());
+        }
+        return counts;
+    }
+
+    private static LongAdder[] newAdders() {
+        LongAdder[] adders = new LongAdder[ItemStatsCounts.BAND_COUNT];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
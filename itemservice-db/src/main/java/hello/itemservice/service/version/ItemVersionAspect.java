@@ -0,0 +1,54 @@
+package hello.itemservice.service.version;
+
+import hello.itemservice.domain.Item;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * ItemService/ItemRepository의 쓰기 메서드가 끝나면 ItemVersionTracker의 버전을 올림
+ *  - ItemService를 거치지 않는 쓰기(TestDataInit, CSV import 등)도 ItemRepository에서 잡힘
+ *  - 같은 쓰기가 두 계층에서 모두 잡혀서 버전이 두 번 올라가도 ETag가 바뀌기만 하면 되므로 상관없음
+ * *** 트랜잭션 안에서 호출되면 commit 이후에 버전을 올림
+ *  - commit 전에 올리면, 다른 요청이 새 ETag로 commit 전의 데이터를 읽어서 캐시에 남길 수 있음
+ */
+@Aspect
+@RequiredArgsConstructor
+public class ItemVersionAspect {
+
+    private final ItemVersionTracker versionTracker;
+
+    @AfterReturning(pointcut = "execution(* hello.itemservice.service.ItemService.save(..))" +
+            " || execution(* hello.itemservice.repository.ItemRepository.save(..))", returning = "item")
+    public void saved(Item item) {
+        afterCommit(() -> versionTracker.itemChanged(item.getId()));
+    }
+
+    @AfterReturning("(execution(* hello.itemservice.service.ItemService.update(..))" +
+            " || execution(* hello.itemservice.repository.ItemRepository.update(..))) && args(itemId, ..)")
+    public void updated(Long itemId) {
+        afterCommit(() -> versionTracker.itemChanged(itemId));
+    }
+
+    @AfterReturning("execution(* hello.itemservice.service.ItemService.bulkUpdate(..))" +
+            " || execution(* hello.itemservice.repository.ItemRepository.bulkUpdate(..))" +
+            " || execution(* hello.itemservice.repository.ItemRepository.saveAll(..))")
+    public void bulkChanged() {
+        afterCommit(versionTracker::allChanged);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
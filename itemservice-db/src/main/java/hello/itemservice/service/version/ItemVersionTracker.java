@@ -0,0 +1,45 @@
+package hello.itemservice.service.version;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * item 변경 버전 - ETag 생성용
+ *  - catalogVersion : item이 하나라도 바뀌면 증가 -> 목록 페이지의 ETag
+ *  - itemVersions : item별 버전 -> 상세/수정 페이지의 ETag
+ *  - bulkVersion : 대량 수정/대량 저장처럼 어떤 item이 바뀌었는지 모를 때 증가 -> 모든 item의 ETag가 바뀜
+ *  - epoch : 버전은 메모리에만 있으므로 재시작하면 0부터 다시 시작 -> 시작 시각을 ETag에 포함해서 이전 ETag와 겹치지 않게 함
+ * *** 단일 writer 전용 - 이 JVM을 거치지 않은 DB 변경은 알 수 없음
+ *  - H2 콘솔로 직접 수정, 같은 DB를 쓰는 다른 서버, shard DB 직접 수정 등 -> 버전이 그대로라 이전 ETag로 304 응답
+ *    (Cache-Control: no-cache여도 브라우저는 304를 받으면 저장해둔 이전 페이지를 보여줌)
+ *  - 이 애플리케이션만 DB에 쓰는 경우에만 itemservice.http-cache.enabled=true (기본 false)
+ * * 서버가 여러 대면 epoch가 서로 달라서 다른 서버의 ETag와는 일치하지 않음 (304 대신 200으로 응답할 뿐)
+ */
+public class ItemVersionTracker {
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final AtomicLong bulkVersion = new AtomicLong();
+    private final Map<Long, Long> itemVersions = new ConcurrentHashMap<>();
+
+    public String catalogEtag() {
+        return "\"" + epoch + "-" + catalogVersion.get() + "\"";
+    }
+
+    public String itemEtag(Long itemId) {
+        return "\"" + epoch + "-" + bulkVersion.get() + "-" + itemVersions.getOrDefault(itemId, 0L) + "\"";
+    }
+
+    public void itemChanged(Long itemId) {
+        if (itemId != null) {
+            itemVersions.merge(itemId, 1L, Long::sum);
+        }
+        catalogVersion.incrementAndGet();
+    }
+
+    public void allChanged() {
+        bulkVersion.incrementAndGet();
+        catalogVersion.incrementAndGet();
+    }
+}
@@ -0,0 +1,194 @@
+package hello.itemservice.service.warmup;
+
+import com.zaxxer.hikari.HikariDataSource;
+import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemSort;
+import hello.itemservice.service.ItemService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 트래픽을 받기 전에 첫 요청들이 부담하는 초기화 비용을 미리 처리
+ *  1. 커넥션 풀 채우기 - Hikari 커넥션 생성
+ *  2. 검색 조건 shape마다 조회 - Hibernate/Querydsl query plan, MyBatis 동적 sql, JdbcTemplate 조회 경로
+ *     + ItemRepository.warmUp() (SimpleJdbcInsert 메타데이터 등)
+ *     - ItemService와 ItemRepository 양쪽으로 조회 -> CQRS처럼 ItemService의 조회가 DB를 거치지 않는 경우에도 DB 조회 경로가 준비됨
+ *  3. 자기 자신에게 HTTP 요청 - MVC 비동기 처리, Thymeleaf 템플릿 파싱
+ *  4. 조회 workload 반복 - JIT 컴파일
+ * *** ApplicationReadyEvent에서 실행하는 이유 (TestDataInit과 동일)
+ *  - 모든 Bean과 AOP(@Transactional)가 준비된 후
+ *  - SpringBoot는 ApplicationReadyEvent의 listener가 모두 끝난 다음에 readiness를 ACCEPTING_TRAFFIC으로 바꿈
+ *    -> warm-up이 끝날 때까지 /actuator/health/readiness 는 OUT_OF_SERVICE
+ * *** Tomcat은 ApplicationReadyEvent 전에 이미 요청을 받고 있음
+ *  - readiness를 보고 트래픽을 보내는 로드밸런서/k8s가 있을 때만 warm-up 중의 요청이 막힘
+ *    -> 그런 환경이 아니면 warm-up이 실제 요청과 커넥션/CPU를 나눠 쓰므로 기본은 끔 (itemservice.warmup.enabled)
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ItemServiceWarmup {
+
+    // * 조회는 데이터가 없어도 되므로 실제 데이터와 겹치지 않는 값 사용
+    private static final String WARMUP_ITEM_NAME = "warmup";
+    private static final int WARMUP_MIN_PRICE = 1000;
+    private static final int WARMUP_MAX_PRICE = 10000;
+    private static final int WARMUP_LIMIT = 20;
+
+    private final ItemService itemService;
+    private final ItemRepository itemRepository;
+    private final DataSource dataSource;
+    private final int connections;
+    private final int iterations;
+    private final int threads;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp(ApplicationReadyEvent event) {
+        Map<String, Long> timings = new LinkedHashMap<>();
+        long start = System.nanoTime();
+
+        timings.put("connection-pool", time(this::fillConnectionPool));
+        timings.put("query-shapes", time(this::runQueryShapes));
+        if (event.getApplicationContext() instanceof WebServerApplicationContext) {
+            int port = ((WebServerApplicationContext) event.getApplicationContext()).getWebServer().getPort();
+            timings.put("http", time(() -> requestPages(port)));
+        }
+        timings.put("workload", time(this::runWorkload));
+
+        log.info("warm-up finished in {}ms {}", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), timings);
+    }
+
+    // 검색 조건 조합마다 sql/jpql 모양이 다르므로 모든 조합을 한번씩 실행해야 함
+    // - 필터 조합 8가지 + 정렬 기준마다 limit 있는/없는 검색
+    public static List<ItemSearchCond> searchShapes() {
+        List<ItemSearchCond> shapes = new ArrayList<>();
+        for (int shape = 0; shape < 8; shape++) {
+            shapes.add(new ItemSearchCond(
+                    (shape & 1) != 0 ? WARMUP_ITEM_NAME : null,
+                    (shape & 2) != 0 ? WARMUP_MIN_PRICE : null,
+                    (shape & 4) != 0 ? WARMUP_MAX_PRICE : null,
+                    null, null));
+        }
+        for (ItemSort sort : ItemSort.values()) {
+            shapes.add(new ItemSearchCond(null, null, null, sort, null));
+            shapes.add(new ItemSearchCond(null, null, null, sort, WARMUP_LIMIT));
+        }
+        return shapes;
+    }
+
+    private void fillConnectionPool() {
+        List<Connection> borrowed = new ArrayList<>();
+        try {
+            // * 라우팅/Lazy DataSource는 getConnection()만으로 실제 커넥션을 만들지 않으므로 Hikari를 직접 사용
+            DataSource pool = dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class) : dataSource;
+            int size = connections > 0 ? connections : poolSize(pool);
+            for (int i = 0; i < size; i++) {
+                borrowed.add(pool.getConnection());
+            }
+        } catch (SQLException e) {
+            log.warn("warm-up connection pool fill failed", e);
+        } finally {
+            for (Connection connection : borrowed) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.warn("warm-up connection close failed", e);
+                }
+            }
+        }
+    }
+
+    private int poolSize(DataSource pool) {
+        if (pool instanceof HikariDataSource) {
+            return ((HikariDataSource) pool).getMaximumPoolSize();
+        }
+        return 1;
+    }
+
+    private void runQueryShapes() {
+        itemRepository.warmUp();
+        for (ItemSearchCond cond : searchShapes()) {
+            itemService.findItems(cond);
+            itemRepository.findAll(cond);
+            itemRepository.findIdRange(cond);
+        }
+        itemService.findById(Long.MAX_VALUE);
+        itemRepository.findById(Long.MAX_VALUE);
+    }
+
+    private void requestPages(int port) {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        List<String> paths = List.of(
+                "/items",
+                "/items?itemName=" + WARMUP_ITEM_NAME,
+                "/items?maxPrice=" + WARMUP_MAX_PRICE,
+                "/items?itemName=" + WARMUP_ITEM_NAME + "&maxPrice=" + WARMUP_MAX_PRICE,
+                "/items/add");
+        for (String path : paths) {
+            try {
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                        .timeout(Duration.ofSeconds(10))
+                        .build();
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                    log.warn("warm-up request {} status={}", path, response.statusCode());
+                }
+            } catch (IOException e) {
+                log.warn("warm-up request {} failed", path, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // 실제 요청처럼 여러 스레드에서 조회를 반복
+    private void runWorkload() {
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("item-warmup-"));
+        try {
+            for (int i = 0; i < iterations; i++) {
+                executor.execute(() -> {
+                    for (ItemSearchCond cond : searchShapes()) {
+                        itemService.findItems(cond);
+                        itemRepository.findAll(cond);
+                    }
+                    itemService.findById(Long.MAX_VALUE);
+                    itemRepository.findById(Long.MAX_VALUE);
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long time(Runnable phase) {
+        long start = System.nanoTime();
+        phase.run();
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
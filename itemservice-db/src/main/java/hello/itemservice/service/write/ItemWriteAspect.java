@@ -0,0 +1,106 @@
+package hello.itemservice.service.write;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemUpdateDto;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * ItemService/ItemRepository의 쓰기를 한 곳에서 잡아서 ItemWriteListener들에 전달 (집계, outbox)
+ *  - ItemService를 거치지 않는 쓰기(TestDataInit, CSV import, 데이터 생성기)도 ItemRepository에서 잡힘
+ *  - ItemService -> ItemRepository 처럼 겹쳐서 잡히면 바깥쪽 한번만 전달 (스레드마다 진행 중 여부를 기록)
+ *    -> listener마다 aspect를 따로 두지 않으므로 진행 중 여부도 하나
+ *  - 대량 수정은 chunk(트랜잭션) 단위인 Repository의 bulkUpdate에서만 잡음
+ *    -> v2 backend는 ItemQueryRepositoryV2.bulkUpdate
+ * *** 쓰기와 listener의 작업을 transactionOperations 하나로 묶음
+ *  - 바깥에 트랜잭션이 있으면 참여하고, 없으면(JdbcTemplate의 auto commit 등) 새로 시작 -> commit되면 모두, rollback되면 모두 없음
+ *  - memory/sharded backend는 트랜잭션 없이 그대로 실행 (TransactionOperations.withoutTransaction())
+ *  - @Transactional보다 바깥에서 실행 (@Transactional advisor는 LOWEST_PRECEDENCE)
+ *    -> 트랜잭션의 시작/commit이 항상 이 aspect 안에서 일어나므로 listener의 작업이 commit 뒤로 밀리지 않음
+ */
+@Aspect
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class ItemWriteAspect {
+
+    private final List<ItemWriteListener> listeners;
+    private final TransactionOperations transactionOperations;
+    private final ThreadLocal<Boolean> capturing = ThreadLocal.withInitial(() -> false);
+
+    public ItemWriteAspect(List<ItemWriteListener> listeners, TransactionOperations transactionOperations) {
+        this.listeners = listeners;
+        this.transactionOperations = transactionOperations;
+    }
+
+    @Around("execution(* hello.itemservice.service.ItemService.save(..))" +
+            " || execution(* hello.itemservice.repository.ItemRepository.save(..))")
+    public Object save(ProceedingJoinPoint joinPoint) throws Throwable {
+        return capture(joinPoint, listener -> {
+            Consumer<Item> saved = listener.save();
+            return item -> saved.accept((Item) item);
+        });
+    }
+
+    @Around("execution(* hello.itemservice.repository.ItemRepository.saveAll(..)) && args(items)")
+    public Object saveAll(ProceedingJoinPoint joinPoint, List<Item> items) throws Throwable {
+        return capture(joinPoint, listener -> afterWrite(listener.saveAll(items)));
+    }
+
+    @Around("(execution(* hello.itemservice.service.ItemService.update(..))" +
+            " || execution(* hello.itemservice.repository.ItemRepository.update(..))) && args(itemId, updateParam)")
+    public Object update(ProceedingJoinPoint joinPoint, Long itemId, ItemUpdateDto updateParam) throws Throwable {
+        return capture(joinPoint, listener -> afterWrite(listener.update(itemId, updateParam)));
+    }
+
+    @Around("(execution(* hello.itemservice.repository.ItemRepository.bulkUpdate(..))" +
+            " || execution(* hello.itemservice.repository.v2.ItemQueryRepositoryV2.bulkUpdate(..)))" +
+            " && args(.., fromId, toId)")
+    public Object bulkUpdate(ProceedingJoinPoint joinPoint, Long fromId, Long toId) throws Throwable {
+        return capture(joinPoint, listener -> afterWrite(listener.bulkUpdate(fromId, toId)));
+    }
+
+    // beforeWrite : 쓰기 전에 listener마다 호출 -> 반환한 작업에 쓰기 메서드의 반환값을 전달
+    private Object capture(ProceedingJoinPoint joinPoint,
+                           Function<ItemWriteListener, Consumer<Object>> beforeWrite) throws Throwable {
+        if (capturing.get()) {
+            return joinPoint.proceed();
+        }
+        capturing.set(true);
+        try {
+            return transactionOperations.execute(status -> {
+                List<Consumer<Object>> afterWrite = new ArrayList<>(listeners.size());
+                for (ItemWriteListener listener : listeners) {
+                    afterWrite.add(beforeWrite.apply(listener));
+                }
+                Object result = proceed(joinPoint);
+                afterWrite.forEach(action -> action.accept(result));
+                return result;
+            });
+        } finally {
+            capturing.remove();
+        }
+    }
+
+    private static Consumer<Object> afterWrite(Runnable action) {
+        return unused -> action.run();
+    }
+
+    // * 쓰기 메서드들은 checked 예외를 선언하지 않으므로 RuntimeException/Error만 그대로 던지면 됨
+    private static Object proceed(ProceedingJoinPoint joinPoint) {
+        try {
+            return joinPoint.proceed();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
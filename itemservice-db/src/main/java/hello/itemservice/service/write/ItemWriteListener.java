@@ -0,0 +1,26 @@
+package hello.itemservice.service.write;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemUpdateDto;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * ItemWriteAspect가 잡은 item 쓰기를 전달받음 (집계, outbox 등)
+ *  - 각 메서드는 쓰기 직전에 호출되고, 반환한 작업은 쓰기가 끝난 뒤 실행 - 둘 다 쓰기와 같은 트랜잭션
+ *    -> 쓰기 전 값이 필요하면 메서드 안에서 읽어두고, 쓰기 후 작업에서 사용
+ *  - 쓰기가 예외로 끝나면 반환한 작업은 실행되지 않음
+ */
+public interface ItemWriteListener {
+
+    // 반환한 작업에는 저장된 item(id가 채워진)이 전달됨
+    Consumer<Item> save();
+
+    Runnable saveAll(List<Item> items);
+
+    Runnable update(Long itemId, ItemUpdateDto updateParam);
+
+    // 대량 수정 chunk 하나 - id 범위 [fromId, toId]
+    Runnable bulkUpdate(Long fromId, Long toId);
+}
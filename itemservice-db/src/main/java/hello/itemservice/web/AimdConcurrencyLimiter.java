@@ -0,0 +1,86 @@
+package hello.itemservice.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 동시 처리 수 제한 - 측정한 응답 시간으로 제한값을 조절 (AIMD : additive increase / multiplicative decrease)
+ *  - 응답이 latencyThreshold 안에 끝나고 제한의 절반 이상을 쓰고 있으면 제한 +1
+ *  - 응답이 latencyThreshold를 넘거나 실패(5xx, 예외)하면 제한 * backoffRatio
+ *    -> 커넥션 풀이 포화되어 대기 시간이 늘어나면 제한이 빠르게 줄어들고, 회복되면 천천히 늘어남
+ *  - 제한을 넘는 요청은 기다리지 않고 바로 거절 (tryAcquire() == false)
+ *  - 메트릭 : itemservice.concurrency.limit / inflight / rejected (name 태그 - read, write)
+ */
+@Slf4j
+public class AimdConcurrencyLimiter {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private final Counter rejectedCounter;
+
+    public AimdConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                  long latencyThresholdMillis, double backoffRatio, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMillis);
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+
+        Gauge.builder("itemservice.concurrency.limit", this, AimdConcurrencyLimiter::getLimit)
+                .description("현재 동시 처리 제한값").tag("name", name).register(meterRegistry);
+        Gauge.builder("itemservice.concurrency.inflight", inFlight, AtomicInteger::get)
+                .description("처리 중인 요청 수").tag("name", name).register(meterRegistry);
+        this.rejectedCounter = Counter.builder("itemservice.concurrency.rejected")
+                .description("동시 처리 제한으로 거절된 요청 수").tag("name", name).register(meterRegistry);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                rejectedCounter.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // 요청 하나가 끝났을 때 - tryAcquire()가 true였던 요청마다 한번씩
+    public void release(long latencyNanos, boolean failed) {
+        int current = inFlight.getAndDecrement();
+        synchronized (this) {
+            double previous = limit;
+            if (failed || latencyNanos > latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (current * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+            if ((int) previous != (int) limit) {
+                log.debug("concurrency limit name={}, {} -> {}, latencyMs={}, failed={}", name,
+                        (int) previous, (int) limit, TimeUnit.NANOSECONDS.toMillis(latencyNanos), failed);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
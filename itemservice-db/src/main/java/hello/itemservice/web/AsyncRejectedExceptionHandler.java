@@ -0,0 +1,42 @@
+package hello.itemservice.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * AsyncItemService의 executor가 가득 차서 거절된 요청을 503 + Retry-After로 응답
+ *  - ExecutorAsyncItemService의 supplyAsync()에서 RejectedExecutionException이 바로 발생 -> 그대로 두면 500
+ *  - 거절 수는 itemservice.async.rejected 메트릭
+ *  - itemservice.async.retry-after-seconds : Retry-After 헤더 값
+ */
+@Slf4j
+@ControllerAdvice
+public class AsyncRejectedExceptionHandler {
+
+    private final MeterRegistry meterRegistry;
+    private final String retryAfterSeconds;
+
+    public AsyncRejectedExceptionHandler(MeterRegistry meterRegistry,
+                                         @Value("${itemservice.async.retry-after-seconds:1}") String retryAfterSeconds) {
+        this.meterRegistry = meterRegistry;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> rejected(RejectedExecutionException e, HttpServletRequest request) {
+        log.warn("async item service rejected uri={}, cause={}", request.getRequestURI(), e.getMessage());
+        meterRegistry.counter("itemservice.async.rejected").increment();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds)
+                .body("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+    }
+}
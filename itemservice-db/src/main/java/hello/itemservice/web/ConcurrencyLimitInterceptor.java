@@ -0,0 +1,52 @@
+package hello.itemservice.web;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * DB를 사용하는 item 요청의 입장 제어 - AimdConcurrencyLimiter의 제한을 넘으면 컨트롤러를 실행하지 않고 바로 503 + Retry-After
+ *  - method가 같은 요청만 처리 (GET -> 조회용 limiter, POST -> 저장/수정용 limiter)
+ *    -> 조회가 몰려도 저장/수정은 자기 몫의 제한 안에서 계속 처리됨
+ *  - CompletableFuture를 반환하는 컨트롤러는 async dispatch가 끝난 뒤(afterCompletion)에 반납 -> 실제 DB 작업 시간까지 포함
+ * * Bean 등록은 ConcurrencyLimitConfig에서 (web 패키지는 컴포넌트 스캔 대상이므로 @Component를 붙이지 않음)
+ */
+@RequiredArgsConstructor
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ACQUIRED_AT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".acquiredAt";
+
+    private final AimdConcurrencyLimiter limiter;
+    private final String method;
+    private final String retryAfterSeconds;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (request.getDispatcherType() != DispatcherType.REQUEST || !method.equals(request.getMethod())) {
+            return true;
+        }
+        if (!limiter.tryAcquire()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "too many concurrent requests");
+            return false;
+        }
+        request.setAttribute(ACQUIRED_AT_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Long acquiredAt = (Long) request.getAttribute(ACQUIRED_AT_ATTRIBUTE);
+        if (acquiredAt == null) {
+            return;
+        }
+        request.removeAttribute(ACQUIRED_AT_ATTRIBUTE);
+        limiter.release(System.nanoTime() - acquiredAt, ex != null || response.getStatus() >= 500);
+    }
+}
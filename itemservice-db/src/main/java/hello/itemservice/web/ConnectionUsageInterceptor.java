@@ -0,0 +1,68 @@
+package hello.itemservice.web;
+
+import hello.itemservice.datasource.ConnectionUsage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청마다 커넥션 사용량(ConnectionUsage)을 모아서 요청이 끝날 때 기록
+ *  - endpoint = method + 매핑 패턴 (ex. "GET /items/{itemId}") -> ConnectionHoldProfiler의 메트릭 태그로도 사용
+ *  - 메트릭 : itemservice.request.connection.hold - 요청 하나가 커넥션을 잡고 있던 시간의 합 (커넥션을 쓴 요청만)
+ *  - CompletableFuture를 반환하는 컨트롤러는 요청 스레드를 반납할 때 지우고, async dispatch에서 request attribute로 다시 설정
+ *    (afterCompletion은 async dispatch가 끝난 뒤에 한번만 호출됨 -> 뷰 렌더링 중에 잡은 커넥션까지 포함)
+ * * Bean 등록은 ConnectionProfilerConfig에서 (web 패키지는 컴포넌트 스캔 대상이므로 @Component를 붙이지 않음)
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ConnectionUsageInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String USAGE_ATTRIBUTE = ConnectionUsageInterceptor.class.getName() + ".usage";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ConnectionUsage usage = (ConnectionUsage) request.getAttribute(USAGE_ATTRIBUTE);
+        if (usage == null || request.getDispatcherType() == DispatcherType.REQUEST) {
+            usage = new ConnectionUsage(endpoint(request));
+            request.setAttribute(USAGE_ATTRIBUTE, usage);
+        }
+        ConnectionUsage.set(usage);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ConnectionUsage.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ConnectionUsage.clear();
+        ConnectionUsage usage = (ConnectionUsage) request.getAttribute(USAGE_ATTRIBUTE);
+        if (usage == null || usage.getConnections() == 0) {
+            return;
+        }
+        Timer.builder("itemservice.request.connection.hold")
+                .description("요청 하나가 커넥션을 잡고 있던 시간의 합")
+                .tag("endpoint", usage.getEndpoint())
+                .register(meterRegistry)
+                .record(usage.getHoldNanos(), TimeUnit.NANOSECONDS);
+        log.debug("connection usage endpoint={}, connections={}, holdMs={}, sqlMs={}", usage.getEndpoint(),
+                usage.getConnections(), usage.getHoldMillis(), usage.getSqlMillis());
+    }
+
+    private String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern == null ? "unknown" : pattern);
+    }
+}
@@ -0,0 +1,51 @@
+package hello.itemservice.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionException;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import java.sql.SQLTimeoutException;
+
+/**
+ * 요청 마감(RequestDeadline) 또는 query timeout으로 실패한 DB 작업을 503으로 응답
+ *  - backend마다 감싸는 예외가 다름 (JdbcTemplate/MyBatis/JPA -> QueryTimeoutException, 커넥션 획득 전 -> CannotGetJdbcConnectionException,
+ *    JPA 트랜잭션 시작 -> CannotCreateTransactionException) -> 원인에 SQLTimeoutException이 있는지로 판단
+ *  - 실패 수는 itemservice.deadline.exceeded 메트릭 (uri 태그는 /items/{itemId} 처럼 매핑 패턴)
+ *  - timeout이 아닌 DB 예외는 다시 던져서 기존 처리(500)를 그대로 따름
+ */
+@Slf4j
+@ControllerAdvice
+@ConditionalOnProperty(name = "itemservice.deadline.enabled", havingValue = "true")
+public class DeadlineExceptionHandler {
+
+    private final MeterRegistry meterRegistry;
+
+    public DeadlineExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @ExceptionHandler({DataAccessException.class, TransactionException.class})
+    public ResponseEntity<String> timeout(RuntimeException e, HttpServletRequest request) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+        if (!(cause instanceof SQLTimeoutException) && !(e instanceof org.springframework.dao.QueryTimeoutException)) {
+            throw e;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        log.warn("request deadline exceeded uri={}, cause={}", request.getRequestURI(), cause.getMessage());
+        meterRegistry.counter("itemservice.deadline.exceeded", "uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                .increment();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("요청 처리 시간이 초과되었습니다. 잠시 후 다시 시도해주세요.");
+    }
+}
@@ -3,34 +3,44 @@ package hello.itemservice.web;
 import hello.itemservice.domain.Item;
 import hello.itemservice.repository.ItemSearchCond;
 import hello.itemservice.repository.ItemUpdateDto;
-import hello.itemservice.service.ItemService;
+import hello.itemservice.service.async.AsyncItemService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * *** CompletableFuture를 반환하면 Spring MVC의 비동기 요청 처리로 동작
+ *  - 요청 스레드는 future만 반환하고 바로 Tomcat에 반납됨
+ *  - future가 완료되면 async dispatch로 다시 들어와서 반환된 view 이름으로 렌더링
+ *  - Model, RedirectAttributes는 async dispatch까지 그대로 유지됨
+ */
 @Controller
 @RequestMapping("/items")
 @RequiredArgsConstructor
 public class ItemController {
 
-    private final ItemService itemService;
+    private final AsyncItemService itemService;
 
     @GetMapping
-    public String items(@ModelAttribute("itemSearch") ItemSearchCond itemSearch, Model model) {
-        List<Item> items = itemService.findItems(itemSearch);
-        model.addAttribute("items", items);
-        return "items";
+    public CompletableFuture<String> items(@ModelAttribute("itemSearch") ItemSearchCond itemSearch, Model model) {
+        return itemService.findItems(itemSearch)
+                .thenApply(items -> {
+                    model.addAttribute("items", items);
+                    return "items";
+                });
     }
 
     @GetMapping("/{itemId}")
-    public String item(@PathVariable long itemId, Model model) {
-        Item item = itemService.findById(itemId).get();
-        model.addAttribute("item", item);
-        return "item";
+    public CompletableFuture<String> item(@PathVariable long itemId, Model model) {
+        return itemService.findById(itemId)
+                .thenApply(item -> {
+                    model.addAttribute("item", item.get());
+                    return "item";
+                });
     }
 
     @GetMapping("/add")
@@ -39,24 +49,28 @@ public class ItemController {
     }
 
     @PostMapping("/add")
-    public String addItem(@ModelAttribute Item item, RedirectAttributes redirectAttributes) {
-        Item savedItem = itemService.save(item);
-        redirectAttributes.addAttribute("itemId", savedItem.getId());
-        redirectAttributes.addAttribute("status", true);
-        return "redirect:/items/{itemId}";
+    public CompletableFuture<String> addItem(@ModelAttribute Item item, RedirectAttributes redirectAttributes) {
+        return itemService.save(item)
+                .thenApply(savedItem -> {
+                    redirectAttributes.addAttribute("itemId", savedItem.getId());
+                    redirectAttributes.addAttribute("status", true);
+                    return "redirect:/items/{itemId}";
+                });
     }
 
     @GetMapping("/{itemId}/edit")
-    public String editForm(@PathVariable Long itemId, Model model) {
-        Item item = itemService.findById(itemId).get();
-        model.addAttribute("item", item);
-        return "editForm";
+    public CompletableFuture<String> editForm(@PathVariable Long itemId, Model model) {
+        return itemService.findById(itemId)
+                .thenApply(item -> {
+                    model.addAttribute("item", item.get());
+                    return "editForm";
+                });
     }
 
     @PostMapping("/{itemId}/edit")
-    public String edit(@PathVariable Long itemId, @ModelAttribute ItemUpdateDto updateParam) {
-        itemService.update(itemId, updateParam);
-        return "redirect:/items/{itemId}";
+    public CompletableFuture<String> edit(@PathVariable Long itemId, @ModelAttribute ItemUpdateDto updateParam) {
+        return itemService.update(itemId, updateParam)
+                .thenApply(unused -> "redirect:/items/{itemId}");
     }
 
 }
@@ -0,0 +1,55 @@
+package hello.itemservice.web;
+
+import hello.itemservice.service.version.ItemVersionTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+
+/**
+ * item 페이지의 조건부 GET 처리 (If-None-Match -> 304)
+ *  - 컨트롤러보다 먼저 실행되므로 ETag가 일치하면 Repository 조회와 Thymeleaf 렌더링 없이 바로 304
+ *  - 경로에 itemId가 있으면 item별 ETag, 없으면(목록) 카탈로그 전체의 ETag
+ *  - ETag를 조회보다 먼저 계산하므로, 그 사이에 변경이 생기면 새 데이터가 이전 ETag로 나가게 됨
+ *    -> 다음 요청에서 ETag가 달라서 200으로 다시 받으므로 오래된 데이터가 남지는 않음
+ * * Bean 등록은 HttpCacheConfig에서 (web 패키지는 컴포넌트 스캔 대상이므로 @Component를 붙이지 않음)
+ */
+@RequiredArgsConstructor
+public class ItemEtagInterceptor implements HandlerInterceptor {
+
+    private final ItemVersionTracker versionTracker;
+    private final String cacheControl;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // CompletableFuture를 반환하는 컨트롤러는 async dispatch로 한번 더 들어오므로 처음 요청에서만 확인
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String itemId = pathVariables == null ? null : pathVariables.get("itemId");
+
+        String etag;
+        if (itemId == null) {
+            etag = versionTracker.catalogEtag();
+        } else {
+            try {
+                etag = versionTracker.itemEtag(Long.valueOf(itemId));
+            } catch (NumberFormatException e) {
+                return true;
+            }
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        // * 일치하면 304 상태를 설정하고 true 반환 / 일치하지 않으면 응답에 ETag 헤더만 추가
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
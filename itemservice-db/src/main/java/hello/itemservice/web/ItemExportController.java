@@ -0,0 +1,121 @@
+package hello.itemservice.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.service.ItemService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 검색 결과 export - GET /items/export?format=csv|ndjson&gzip=true&itemName=..&maxPrice=..
+ *  - gzip=true 이거나 요청의 Accept-Encoding에 gzip이 있으면 압축 (Content-Encoding: gzip, Vary: Accept-Encoding)
+ *  - ItemService.scanItems()로 DB cursor에서 한 건씩 읽으면서 바로 응답 stream에 씀
+ *    -> 결과 전체를 메모리에 올리지 않으므로 건수와 상관없이 메모리 사용량이 일정
+ *  - Content-Length를 지정하지 않으므로 Tomcat이 chunked 전송
+ *  - 헤더 행(또는 빈 응답)을 바로 flush하고 이후 FLUSH_ROWS마다 flush -> 첫 바이트까지의 시간이 짧음
+ * *** 비동기(StreamingResponseBody)가 아니라 요청 스레드에서 직접 쓰는 이유
+ *  - 수백만 건 export는 MVC 비동기 요청 timeout을 넘길 수 있음
+ */
+@Slf4j
+@Controller
+@RequestMapping("/items/export")
+@RequiredArgsConstructor
+public class ItemExportController {
+
+    private static final int FLUSH_ROWS = 1000;
+
+    private final ItemService itemService;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping
+    public void export(@ModelAttribute ItemSearchCond itemSearch,
+                       @RequestParam(defaultValue = "csv") String format,
+                       @RequestParam(defaultValue = "false") boolean gzip,
+                       @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                       HttpServletResponse response) throws IOException {
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        boolean compressed = gzip || acceptsGzip(acceptEncoding);
+        response.setContentType(ndjson ? "application/x-ndjson" : "text/csv");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"items." + (ndjson ? "ndjson" : "csv") + "\"");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (compressed) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        // * syncFlush=true -> flush() 시점까지 압축된 데이터를 바로 내보냄
+        OutputStream out = compressed
+                ? new GZIPOutputStream(response.getOutputStream(), 8192, true)
+                : response.getOutputStream();
+        long[] rows = {0};
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            if (!ndjson) {
+                writer.write("id,item_name,price,quantity\n");
+            }
+            writer.flush();
+
+            itemService.scanItems(itemSearch, item -> {
+                try {
+                    writer.write(ndjson ? objectMapper.writeValueAsString(item) : csvRow(item));
+                    writer.write('\n');
+                    if (++rows[0] % FLUSH_ROWS == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    // 클라이언트가 연결을 끊은 경우 등 -> cursor 조회도 중단
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        log.info("item export format={}, gzip={}, cond={}, rows={}", ndjson ? "ndjson" : "csv", compressed, itemSearch, rows[0]);
+    }
+
+    // * q=0 (ex. gzip;q=0)은 받지 않겠다는 뜻
+    private boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if ("gzip".equalsIgnoreCase(parts[0].trim())
+                    && !(parts.length > 1 && parts[1].replace(" ", "").matches("q=0(\\.0*)?"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String csvRow(Item item) {
+        return item.getId() + "," + csvValue(item.getItemName()) + "," + item.getPrice() + "," + item.getQuantity();
+    }
+
+    // 구분자/따옴표/줄바꿈이 있는 값만 큰따옴표로 감쌈
+    private String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
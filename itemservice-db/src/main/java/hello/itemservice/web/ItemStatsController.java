@@ -0,0 +1,26 @@
+package hello.itemservice.web;
+
+import hello.itemservice.service.stats.ItemStats;
+import hello.itemservice.service.stats.ItemStatsStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 대시보드용 재고 집계 JSON API
+ *  - item 테이블을 훑지 않고 쓰기마다 갱신해 둔 집계(ItemStatsStore)를 그대로 반환
+ *  - /items/* 이므로 ETag 설정(HttpCacheConfig)이 켜져 있으면 목록과 같은 catalog ETag로 304 응답
+ */
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "itemservice.stats.enabled", havingValue = "true")
+public class ItemStatsController {
+
+    private final ItemStatsStore itemStatsStore;
+
+    @GetMapping("/items/stats")
+    public ItemStats stats() {
+        return itemStatsStore.get();
+    }
+}
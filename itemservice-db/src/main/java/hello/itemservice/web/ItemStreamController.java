@@ -0,0 +1,103 @@
+package hello.itemservice.web;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.service.ItemService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 상품 목록 스트리밍 렌더링 - GET /items/stream?itemName=..&maxPrice=..&sort=..&limit=..
+ *  - /items 는 List<Item> 전체를 model에 담은 뒤에 렌더링 -> 검색 결과가 많으면 첫 바이트가 늦고, 결과 전체와 HTML 전체가 메모리에 올라감
+ *  - 여기서는 items-stream.html을 세 부분으로 나눠서 씀
+ *    1. head : items가 빈 상태로 페이지 전체를 렌더링한 뒤 '<!-- item rows -->' 주석 앞부분 -> 조회 전에 바로 flush
+ *    2. rows : ItemService.scanItems()로 DB cursor에서 읽은 item을 CHUNK_ROWS개씩 모아서 'rows' fragment만 렌더링 -> chunk마다 flush
+ *       -> sort/limit도 cursor 조회에 그대로 적용 (order by + limit query의 cursor)
+ *    3. tail : 주석 뒷부분
+ *  - 메모리에는 chunk 하나(CHUNK_ROWS개)만 올라가므로 결과 건수와 상관없이 사용량이 일정
+ *    * sharded backend에서 정렬하면 shard 결과를 병합하므로 예외 (ShardedItemRepository.scan())
+ * *** Thymeleaf의 data-driven 렌더링(ReactiveDataDriverContextVariable)은 WebFlux 전용 -> MVC에서는 fragment를 직접 나눠서 렌더링
+ * * 검색 form과 row는 items.html과 같은 fragment 사용 (fragments/items.html)
+ * * 요청 스레드에서 직접 씀 - ItemExportController와 같은 이유 (MVC 비동기 요청 timeout)
+ */
+@Slf4j
+@Controller
+@RequestMapping("/items/stream")
+@RequiredArgsConstructor
+public class ItemStreamController {
+
+    private static final String TEMPLATE = "items-stream";
+    private static final String FRAGMENTS = "fragments/items";
+    private static final String ROWS_MARKER = "<!-- item rows -->";
+    private static final int CHUNK_ROWS = 100;
+
+    private final ItemService itemService;
+    private final ITemplateEngine templateEngine;
+
+    @GetMapping
+    public void items(@ModelAttribute("itemSearch") ItemSearchCond itemSearch,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType("text/html");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        WebContext context = new WebContext(request, response, request.getServletContext(), request.getLocale());
+        context.setVariable("itemSearch", itemSearch);
+        context.setVariable("items", Collections.emptyList());
+
+        String page = templateEngine.process(TEMPLATE, context);
+        int marker = page.indexOf(ROWS_MARKER);
+        String head = page.substring(0, marker);
+        String tail = page.substring(marker + ROWS_MARKER.length());
+
+        PrintWriter writer = response.getWriter();
+        writer.write(head);
+        writer.flush();
+
+        List<Item> chunk = new ArrayList<>(CHUNK_ROWS);
+        long[] rows = {0};
+        itemService.scanItems(itemSearch, item -> {
+            chunk.add(item);
+            if (chunk.size() == CHUNK_ROWS) {
+                rows[0] += writeRows(writer, context, chunk);
+            }
+        });
+        rows[0] += writeRows(writer, context, chunk);
+
+        writer.write(tail);
+        writer.flush();
+        log.info("item stream cond={}, rows={}", itemSearch, rows[0]);
+    }
+
+    private int writeRows(PrintWriter writer, WebContext context, List<Item> chunk) {
+        int size = chunk.size();
+        if (size == 0) {
+            return 0;
+        }
+        context.setVariable("items", chunk);
+        templateEngine.process(FRAGMENTS, Set.of("rows"), context, writer);
+        // * PrintWriter는 IOException을 던지지 않음 -> 클라이언트가 연결을 끊었으면 cursor 조회도 중단
+        writer.flush();
+        if (writer.checkError()) {
+            throw new UncheckedIOException(new IOException("client disconnected during item stream"));
+        }
+        chunk.clear();
+        return size;
+    }
+}
@@ -0,0 +1,55 @@
+package hello.itemservice.web;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemUpdateDto;
+import hello.itemservice.repository.r2dbc.ReactiveItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC Repository를 사용하는 JSON API
+ *  - Spring MVC도 Mono/Flux 반환을 지원 -> 요청 스레드는 바로 반납되고 결과가 오면 async dispatch로 응답
+ *  - /stream : NDJSON으로 한 건씩 응답에 써줌
+ *    -> MVC가 한 건을 다 쓴 뒤에 다음 한 건을 request(1) 하므로, 클라이언트가 느리면 DB에서도 그만큼 천천히 읽음 (backpressure)
+ */
+@RestController
+@RequestMapping("/reactive/items")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "itemservice.r2dbc.enabled", havingValue = "true")
+public class ReactiveItemController {
+
+    private final ReactiveItemRepository itemRepository;
+
+    @GetMapping
+    public Flux<Item> items(@ModelAttribute ItemSearchCond itemSearch) {
+        return itemRepository.findAll(itemSearch);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Item> streamItems(@ModelAttribute ItemSearchCond itemSearch) {
+        return itemRepository.findAll(itemSearch);
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<ResponseEntity<Item>> item(@PathVariable Long itemId) {
+        return itemRepository.findById(itemId)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping
+    public Mono<Item> addItem(@RequestBody Item item) {
+        return itemRepository.save(item);
+    }
+
+    @PutMapping("/{itemId}")
+    public Mono<Void> edit(@PathVariable Long itemId, @RequestBody ItemUpdateDto updateParam) {
+        return itemRepository.update(itemId, updateParam);
+    }
+}
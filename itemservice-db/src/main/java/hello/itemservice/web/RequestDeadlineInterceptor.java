@@ -0,0 +1,58 @@
+package hello.itemservice.web;
+
+import hello.itemservice.datasource.RequestDeadline;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * item 요청마다 처리 마감 시각(RequestDeadline)을 설정
+ *  - 기본은 itemservice.deadline.timeout-ms / 요청 헤더(X-Request-Timeout-Ms)로 더 짧게 줄 수 있음 (길게는 불가)
+ *  - CompletableFuture를 반환하는 컨트롤러는 작업이 executor 스레드로 넘어가므로
+ *    요청 스레드가 반납될 때(afterConcurrentHandlingStarted) 지우고, async dispatch에서는 request attribute로 다시 설정
+ * * Bean 등록은 DeadlineConfig에서 (web 패키지는 컴포넌트 스캔 대상이므로 @Component를 붙이지 않음)
+ */
+@RequiredArgsConstructor
+public class RequestDeadlineInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+    private static final String DEADLINE_ATTRIBUTE = RequestDeadlineInterceptor.class.getName() + ".deadline";
+
+    private final long timeoutMillis;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestDeadline deadline = (RequestDeadline) request.getAttribute(DEADLINE_ATTRIBUTE);
+        if (deadline == null || request.getDispatcherType() == DispatcherType.REQUEST) {
+            deadline = RequestDeadline.after(timeoutMillis(request));
+            request.setAttribute(DEADLINE_ATTRIBUTE, deadline);
+        }
+        RequestDeadline.set(deadline);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestDeadline.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestDeadline.clear();
+    }
+
+    private long timeoutMillis(HttpServletRequest request) {
+        String header = request.getHeader(TIMEOUT_HEADER);
+        if (header == null) {
+            return timeoutMillis;
+        }
+        try {
+            return Math.max(0, Math.min(Long.parseLong(header), timeoutMillis));
+        } catch (NumberFormatException e) {
+            return timeoutMillis;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package hello.itemservice;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * @Tag("benchmark") 테스트들의 측정 도구 - ./gradlew benchmark
+ *  - measure() : 현재 스레드에서 반복 실행한 1회당 CPU 시간/할당 바이트 (ThreadMXBean)
+ *  - Allocation : 여러 스레드가 같이 처리하는 측정의 할당 바이트 합 + 최대 스레드 수
+ *  - percentileMicros() : 요청마다 기록한 지연 시간의 백분위
+ * * JMH가 아니므로(fork/blackhole 없음) 절대값보다는 같은 JVM에서 번갈아 잰 방식 사이의 차이를 보는 용도
+ */
+public final class Benchmarks {
+
+    private static final com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private Benchmarks() {
+    }
+
+    // warmup회 실행 후 iterations회 측정
+    public static Result measure(int warmup, int iterations, Runnable operation) {
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < warmup; i++) {
+            operation.run();
+        }
+
+        long cpuStart = threadBean.getCurrentThreadCpuTime();
+        long bytesStart = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        long cpu = threadBean.getCurrentThreadCpuTime() - cpuStart;
+        long bytes = threadBean.getThreadAllocatedBytes(threadId) - bytesStart;
+        return new Result(cpu / iterations, bytes / iterations);
+    }
+
+    // nanos 단위 지연 시간 -> percentile(0 ~ 100) 위치의 값 (micros)
+    public static long percentileMicros(AtomicLongArray latencies, int percentile) {
+        long[] sorted = new long[latencies.length()];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = latencies.get(i);
+        }
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)] / 1000;
+    }
+
+    public static class Result {
+        public final long nanosPerOp;
+        public final long bytesPerOp;
+
+        Result(long nanosPerOp, long bytesPerOp) {
+            this.nanosPerOp = nanosPerOp;
+            this.bytesPerOp = bytesPerOp;
+        }
+    }
+
+    // 생성 시점부터 살아있는 모든 스레드의 할당 바이트 합 (측정 중 종료된 스레드는 빠짐) + 최대 스레드 수
+    public static class Allocation {
+        private final Map<Long, Long> start;
+
+        public Allocation() {
+            threadBean.resetPeakThreadCount();
+            start = allocatedBytes();
+        }
+
+        public int peakThreads() {
+            return threadBean.getPeakThreadCount();
+        }
+
+        public long bytes() {
+            long total = 0;
+            for (Map.Entry<Long, Long> entry : allocatedBytes().entrySet()) {
+                total += entry.getValue() - start.getOrDefault(entry.getKey(), 0L);
+            }
+            return total;
+        }
+
+        private static Map<Long, Long> allocatedBytes() {
+            long[] ids = threadBean.getAllThreadIds();
+            long[] bytes = threadBean.getThreadAllocatedBytes(ids);
+            Map<Long, Long> result = new HashMap<>();
+            for (int i = 0; i < ids.length; i++) {
+                if (bytes[i] >= 0) {
+                    result.put(ids[i], bytes[i]);
+                }
+            }
+            return result;
+        }
+    }
+}
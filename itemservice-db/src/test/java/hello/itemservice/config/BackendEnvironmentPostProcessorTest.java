@@ -0,0 +1,64 @@
+package hello.itemservice.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BackendEnvironmentPostProcessorTest {
+
+    BackendEnvironmentPostProcessor postProcessor = new BackendEnvironmentPostProcessor();
+
+    @Test
+    void excludeUnusedStacks() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("itemservice.backend", "jdbc-v3")
+                .withProperty("spring.autoconfigure.exclude",
+                        "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration");
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        // 기존 제외 목록은 유지하고 JPA/MyBatis 자동 설정 추가
+        assertThat(environment.getProperty("spring.autoconfigure.exclude"))
+                .contains("R2dbcAutoConfiguration")
+                .contains("HibernateJpaAutoConfiguration")
+                .contains("JpaRepositoriesAutoConfiguration")
+                .contains("MybatisAutoConfiguration");
+    }
+
+    @Test
+    void defaultBackendKeepsJpa() {
+        MockEnvironment environment = new MockEnvironment();
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertThat(environment.getProperty("spring.autoconfigure.exclude"))
+                .contains("MybatisAutoConfiguration")
+                .doesNotContain("HibernateJpaAutoConfiguration");
+    }
+
+    @Test
+    void keepShadowBackendStack() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("itemservice.backend", "jpa")
+                .withProperty("itemservice.shadow.backend", "mybatis");
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        // jpa와 mybatis 모두 사용하지 않는 Spring Data JPA만 제외
+        assertThat(environment.getProperty("spring.autoconfigure.exclude"))
+                .contains("JpaRepositoriesAutoConfiguration")
+                .doesNotContain("HibernateJpaAutoConfiguration")
+                .doesNotContain("MybatisAutoConfiguration");
+    }
+
+    @Test
+    void unknownBackend() {
+        MockEnvironment environment = new MockEnvironment().withProperty("itemservice.backend", "oracle");
+
+        assertThatThrownBy(() -> postProcessor.postProcessEnvironment(environment, new SpringApplication()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,51 @@
+package hello.itemservice.config;
+
+import hello.itemservice.datasource.ConnectionHoldProfiler;
+import hello.itemservice.datasource.DeadlineDataSource;
+import hello.itemservice.domain.Item;
+import hello.itemservice.service.ItemService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"itemservice.datasource.lazy-connection=true", "itemservice.connection-profiler.enabled=true"})
+@Transactional
+class LazyConnectionConfigTest {
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    ItemService itemService;
+
+    // profiler보다 바깥에서 한번만 감싸고, 그대로 저장/조회 가능
+    @Test
+    void wrapOutermost() {
+        assertThat(dataSource).isInstanceOf(LazyConnectionDataSourceProxy.class);
+        assertThat(LazyConnectionConfig.hasLazyProxy(
+                ((LazyConnectionDataSourceProxy) dataSource).getTargetDataSource())).isFalse();
+
+        Item item = itemService.save(new Item("lazyA", 10000, 10));
+        assertThat(itemService.findById(item.getId())).contains(item);
+    }
+
+    // routing처럼 안쪽에 이미 LazyConnectionDataSourceProxy가 있으면 감싸지 않음 - Profiler(Deadline(Lazy(...)))
+    @Test
+    void detectInnerLazyProxy() {
+        DataSource inner = new LazyConnectionDataSourceProxy(
+                new DriverManagerDataSource("jdbc:h2:mem:lazy;DB_CLOSE_DELAY=-1", "sa", ""));
+        DataSource wrapped = new ConnectionHoldProfiler(new DeadlineDataSource(inner), new SimpleMeterRegistry(), 100);
+
+        assertThat(LazyConnectionConfig.hasLazyProxy(wrapped)).isTrue();
+        assertThat(LazyConnectionConfig.hasLazyProxy(new DeadlineDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:lazy;DB_CLOSE_DELAY=-1", "sa", "")))).isFalse();
+    }
+}
@@ -0,0 +1,105 @@
+package hello.itemservice.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConnectionHoldProfilerTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ConnectionHoldProfiler dataSource = new ConnectionHoldProfiler(
+            new DriverManagerDataSource("jdbc:h2:mem:profiler;DB_CLOSE_DELAY=-1", "sa", ""), meterRegistry, 50);
+
+    @AfterEach
+    void afterEach() {
+        ConnectionUsage.clear();
+    }
+
+    @Test
+    void holdOutsideSql() throws Exception {
+        ConnectionUsage usage = new ConnectionUsage("GET /items");
+        ConnectionUsage.set(usage);
+
+        try (Connection con = dataSource.getConnection()) {
+            try (PreparedStatement pstmt = con.prepareStatement("select 1");
+                 ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+            }
+            //SQL 없이 커넥션만 잡고 있음 (ex. 뷰 렌더링)
+            Thread.sleep(80);
+        }
+
+        assertThat(usage.getConnections()).isEqualTo(1);
+        assertThat(usage.getHoldMillis()).isGreaterThanOrEqualTo(80);
+        assertThat(usage.getSqlMillis()).isLessThan(80);
+        assertThat(idleMillis("GET /items")).isGreaterThanOrEqualTo(80);
+        assertThat(meterRegistry.counter("itemservice.connection.idle.flagged", "endpoint", "GET /items").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void noRequest() throws Exception {
+        try (Connection con = dataSource.getConnection();
+             PreparedStatement pstmt = con.prepareStatement("select 1")) {
+            pstmt.executeQuery();
+        }
+
+        assertThat(meterRegistry.timer("itemservice.connection.hold", "endpoint", ConnectionUsage.NO_ENDPOINT).count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.counter("itemservice.connection.idle.flagged", "endpoint", ConnectionUsage.NO_ENDPOINT)
+                .count()).isEqualTo(0);
+    }
+
+    // * LazyConnectionDataSourceProxy가 바깥에 있으면 statement를 만들기 전까지 풀에서 꺼내지 않음
+    @Test
+    void lazyConnection() throws Exception {
+        ConnectionUsage usage = new ConnectionUsage("GET /items/{itemId}");
+        ConnectionUsage.set(usage);
+        DataSource lazy = new LazyConnectionDataSourceProxy(dataSource);
+
+        try (Connection con = lazy.getConnection()) {
+            con.setAutoCommit(false);
+            con.setReadOnly(true);
+            con.commit();
+        }
+        assertThat(usage.getConnections()).isEqualTo(0);
+
+        try (Connection con = lazy.getConnection();
+             PreparedStatement pstmt = con.prepareStatement("select 1")) {
+            pstmt.executeQuery();
+        }
+        assertThat(usage.getConnections()).isEqualTo(1);
+    }
+
+    @Test
+    void propagateToOtherThread() throws Exception {
+        ConnectionUsage usage = new ConnectionUsage("POST /items/add");
+        ConnectionUsage.set(usage);
+
+        Thread thread = new Thread(ConnectionUsage.propagate(() -> {
+            try (Connection con = dataSource.getConnection()) {
+                con.createStatement().close();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        thread.start();
+        thread.join();
+
+        assertThat(usage.getConnections()).isEqualTo(1);
+    }
+
+    private double idleMillis(String endpoint) {
+        return meterRegistry.timer("itemservice.connection.idle", "endpoint", endpoint).totalTime(TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,154 @@
+package hello.itemservice.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeadlineDataSourceTest {
+
+    DeadlineDataSource dataSource = new DeadlineDataSource(
+            new DriverManagerDataSource("jdbc:h2:mem:deadline;DB_CLOSE_DELAY=-1", "sa", ""));
+
+    @AfterEach
+    void afterEach() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void noDeadline() throws Exception {
+        try (Connection con = dataSource.getConnection();
+             Statement stmt = con.createStatement()) {
+            assertThat(stmt.getQueryTimeout()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    void remainingTimeAsQueryTimeout() throws Exception {
+        RequestDeadline.set(RequestDeadline.after(2500));
+
+        try (Connection con = dataSource.getConnection();
+             PreparedStatement pstmt = con.prepareStatement("select 1")) {
+            //남은 시간을 초 단위로 올림
+            assertThat(pstmt.getQueryTimeout()).isEqualTo(3);
+
+            //남은 시간보다 길게는 설정할 수 없음
+            pstmt.setQueryTimeout(10);
+            assertThat(pstmt.getQueryTimeout()).isEqualTo(3);
+            pstmt.setQueryTimeout(1);
+            assertThat(pstmt.getQueryTimeout()).isEqualTo(1);
+        }
+    }
+
+    // * 커넥션 풀을 흉내내서 같은 커넥션(session)을 다시 사용
+    @Test
+    void resetOnClose() throws Exception {
+        SingleConnectionDataSource single = new SingleConnectionDataSource(
+                "jdbc:h2:mem:deadline;DB_CLOSE_DELAY=-1", "sa", "", true);
+        DeadlineDataSource pooled = new DeadlineDataSource(single);
+
+        RequestDeadline.set(RequestDeadline.after(2500));
+        try (Connection con = pooled.getConnection();
+             Statement stmt = con.createStatement()) {
+            assertThat(stmt.getQueryTimeout()).isEqualTo(3);
+        }
+
+        RequestDeadline.clear();
+        try (Connection con = pooled.getConnection();
+             Statement stmt = con.createStatement()) {
+            assertThat(stmt.getQueryTimeout()).isEqualTo(0);
+        }
+        single.destroy();
+    }
+
+    // statement 없이 닫으면 되돌릴 것이 없음 -> 지연된 실제 커넥션을 가져오지 않음
+    @Test
+    void closeWithoutStatement() throws Exception {
+        AtomicInteger fetched = new AtomicInteger();
+        DriverManagerDataSource target = new DriverManagerDataSource("jdbc:h2:mem:deadline;DB_CLOSE_DELAY=-1", "sa", "") {
+            @Override
+            public Connection getConnection() throws SQLException {
+                fetched.incrementAndGet();
+                return super.getConnection();
+            }
+        };
+        DeadlineDataSource lazy = new DeadlineDataSource(new LazyConnectionDataSourceProxy(target));
+        //LazyConnectionDataSourceProxy는 생성 시 기본 autoCommit/isolation을 확인하려고 한번 가져옴
+        fetched.set(0);
+
+        RequestDeadline.set(RequestDeadline.after(2500));
+        try (Connection con = lazy.getConnection()) {
+            con.setReadOnly(true);
+        }
+        assertThat(fetched.get()).isEqualTo(0);
+    }
+
+    // 풀 대기는 남은 시간까지만 - 풀의 connectionTimeout은 그대로
+    @Test
+    void poolWaitWithinDeadline() throws Exception {
+        HikariDataSource hikari = new HikariDataSource();
+        hikari.setJdbcUrl("jdbc:h2:mem:deadline;DB_CLOSE_DELAY=-1");
+        hikari.setUsername("sa");
+        hikari.setMaximumPoolSize(1);
+        DeadlineDataSource pooled = new DeadlineDataSource(hikari);
+
+        try (Connection held = hikari.getConnection()) {
+            RequestDeadline.set(RequestDeadline.after(300));
+            long start = System.nanoTime();
+            assertThatThrownBy(pooled::getConnection)
+                    .isInstanceOf(SQLTimeoutException.class);
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2000);
+            assertThat(hikari.getConnectionTimeout()).isEqualTo(30_000);
+        } finally {
+            hikari.close();
+        }
+    }
+
+    @Test
+    void expiredDeadline() {
+        RequestDeadline.set(RequestDeadline.after(0));
+
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(SQLTimeoutException.class);
+    }
+
+    @Test
+    void propagateToOtherThread() throws Exception {
+        RequestDeadline deadline = RequestDeadline.after(1000);
+        RequestDeadline.set(deadline);
+        RequestDeadline[] seen = new RequestDeadline[1];
+
+        Thread thread = new Thread(RequestDeadline.propagate(() -> seen[0] = RequestDeadline.current()));
+        thread.start();
+        thread.join();
+
+        assertThat(seen[0]).isSameAs(deadline);
+    }
+
+    // * dataSource Bean을 대신하므로 종료 시 안쪽 커넥션 풀까지 닫혀야 함 (Lazy -> Profiler -> Deadline -> Hikari)
+    @Test
+    void closeTarget() throws Exception {
+        HikariDataSource hikari = new HikariDataSource();
+        hikari.setJdbcUrl("jdbc:h2:mem:deadline;DB_CLOSE_DELAY=-1");
+        hikari.setUsername("sa");
+        CloseableLazyConnectionDataSourceProxy wrapped = new CloseableLazyConnectionDataSourceProxy(
+                new ConnectionHoldProfiler(new DeadlineDataSource(hikari), new SimpleMeterRegistry(), 100));
+
+        wrapped.close();
+        assertThat(hikari.isClosed()).isTrue();
+    }
+}
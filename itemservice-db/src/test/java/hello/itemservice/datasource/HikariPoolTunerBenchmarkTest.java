@@ -0,0 +1,141 @@
+package hello.itemservice.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.jdbctemplate.JdbcTemplateItemRepositoryV3;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 고정 크기 풀과 HikariPoolTuner로 조정하는 풀의 처리량 비교 - ./gradlew benchmark 로만 실행
+ *  - DB는 동시에 DB_CAPACITY개의 query만 처리하는 것으로 흉내냄 (H2 함수 + Semaphore) -> 그 이상은 DB 안에서 기다림
+ *    -> item은 select할 때마다 db_work(QUERY_MILLIS)를 호출하는 H2 view (item_data 1건)
+ *  - CLIENTS개의 스레드가 쉬지 않고 JdbcTemplateItemRepositoryV3.findById() 실행
+ *    / 조정이 자리잡은 뒤 MEASURE_SECONDS 동안의 처리량을 비교
+ *  - 고정 크기는 FIXED_SIZES (Hikari 기본값 10, DB 용량에 맞춘 크기, 조정 범위의 최대값)
+ *    -> 조정하는 풀은 DB 용량을 모르고 시작해도 용량에 맞춘 고정 크기 풀의 처리량에 근접해야 함
+ */
+@Slf4j
+@Tag("benchmark")
+class HikariPoolTunerBenchmarkTest {
+
+    static final String URL = "jdbc:h2:mem:pool-tuner;DB_CLOSE_DELAY=-1";
+    static final int DB_CAPACITY = 32;
+    static final int QUERY_MILLIS = 5;
+    static final int CLIENTS = 64;
+    static final int[] FIXED_SIZES = {10, DB_CAPACITY, 64};
+    static final int TUNED_MAX_SIZE = 64;
+    static final int WARMUP_SECONDS = 4;
+    static final int MEASURE_SECONDS = 4;
+    static final int TUNE_INTERVAL_MILLIS = 200;
+    // 용량에 맞춘 고정 크기 대비 허용하는 처리량 비율
+    static final double TOLERANCE = 0.9;
+
+    static long itemId;
+
+    @BeforeAll
+    static void beforeAll() {
+        JdbcTemplate template = new JdbcTemplate(new DriverManagerDataSource(URL, "sa", ""));
+        template.execute("create alias if not exists db_work for \"" + SimulatedDb.class.getName() + ".work\"");
+        template.execute("drop view if exists item");
+        template.execute("drop table if exists item_data");
+        template.execute("create table item_data (id bigint generated by default as identity," +
+                " item_name varchar(10), price integer, quantity integer, primary key (id))");
+        template.update("insert into item_data (item_name, price, quantity) values ('itemA', 10000, 10)");
+        template.execute("create view item as select id, item_name, price, quantity + db_work(" + QUERY_MILLIS
+                + ") * 0 as quantity from item_data");
+        itemId = template.queryForObject("select id from item_data", Long.class);
+    }
+
+    @Test
+    void throughput() throws Exception {
+        Map<Integer, Double> fixed = new LinkedHashMap<>();
+        for (int size : FIXED_SIZES) {
+            fixed.put(size, run(size, false));
+        }
+        double tuned = run(10, true);
+
+        fixed.forEach((size, result) -> log.info("fixed({}) : {} query/s", size, result.longValue()));
+        log.info("tuned     : {} query/s", (long) tuned);
+        assertThat(tuned).isGreaterThan(fixed.get(10));
+        assertThat(tuned).isGreaterThanOrEqualTo(fixed.get(DB_CAPACITY) * TOLERANCE);
+    }
+
+    private double run(int poolSize, boolean tune) throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(URL);
+        dataSource.setUsername("sa");
+        dataSource.setPoolName(tune ? "tuned" : "fixed-" + poolSize);
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setMinimumIdle(tune ? 2 : poolSize);
+        dataSource.setMetricRegistry(meterRegistry);
+        HikariPoolTuner tuner = new HikariPoolTuner(dataSource, meterRegistry, 5, TUNED_MAX_SIZE, 2, 5, 1.5, 2);
+
+        ItemRepository itemRepository = new JdbcTemplateItemRepositoryV3(dataSource);
+        LongAdder queries = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.execute(() -> {
+                    while (running.get()) {
+                        itemRepository.findById(itemId).orElseThrow();
+                        queries.increment();
+                    }
+                });
+            }
+            if (tune) {
+                scheduler.scheduleWithFixedDelay(tuner::tune, TUNE_INTERVAL_MILLIS, TUNE_INTERVAL_MILLIS,
+                        TimeUnit.MILLISECONDS);
+            }
+
+            Thread.sleep(TimeUnit.SECONDS.toMillis(WARMUP_SECONDS));
+            long start = queries.sum();
+            Thread.sleep(TimeUnit.SECONDS.toMillis(MEASURE_SECONDS));
+            long measured = queries.sum() - start;
+            log.info("{} pool maximumPoolSize={}", dataSource.getPoolName(), dataSource.getMaximumPoolSize());
+            return (double) measured / MEASURE_SECONDS;
+        } finally {
+            running.set(false);
+            scheduler.shutdownNow();
+            clients.shutdown();
+            clients.awaitTermination(10, TimeUnit.SECONDS);
+            dataSource.close();
+        }
+    }
+
+    // * H2가 reflection으로 호출하므로 public
+    public static class SimulatedDb {
+
+        private static final Semaphore CAPACITY = new Semaphore(DB_CAPACITY);
+
+        public static int work(int millis) throws InterruptedException {
+            CAPACITY.acquire();
+            try {
+                Thread.sleep(millis);
+            } finally {
+                CAPACITY.release();
+            }
+            return millis;
+        }
+    }
+}
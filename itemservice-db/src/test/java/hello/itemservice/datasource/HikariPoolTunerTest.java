@@ -0,0 +1,71 @@
+package hello.itemservice.datasource;
+
+import hello.itemservice.datasource.HikariPoolTuner.Decision;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HikariPoolTunerTest {
+
+    static final double NO_WAIT = Double.NaN;
+    static final double WAIT = TimeUnit.MILLISECONDS.toNanos(50);
+    static final double LATENCY = TimeUnit.MILLISECONDS.toNanos(10);
+
+    // decide()만 사용하므로 dataSource 없이 생성
+    HikariPoolTuner tuner = new HikariPoolTuner(null, new SimpleMeterRegistry(), 4, 12, 2, 5, 1.5, 2);
+
+    @Test
+    void growOnWait() {
+        Decision decision = tuner.decide(10, 10, 3, WAIT, LATENCY);
+        assertThat(decision.maximumPoolSize).isEqualTo(12);
+        //minimumIdle은 필요한 커넥션 수를 따라감 (최대 크기 이하)
+        assertThat(decision.minimumIdle).isEqualTo(12);
+
+        //최대값 위로는 늘지 않음
+        assertThat(tuner.decide(12, 12, 3, WAIT, LATENCY).maximumPoolSize).isEqualTo(12);
+    }
+
+    @Test
+    void shrinkWhenLatencyRises() {
+        tuner.decide(8, 2, 0, NO_WAIT, LATENCY);
+
+        //기다림이 있지만 사용 시간이 baseline * 1.5 초과 -> DB 포화
+        Decision decision = tuner.decide(8, 8, 4, WAIT, LATENCY * 2);
+        assertThat(decision.maximumPoolSize).isEqualTo(6);
+        assertThat(decision.reason).isEqualTo("latency above baseline");
+    }
+
+    @Test
+    void shrinkWhenUnderused() {
+        for (int i = 1; i < HikariPoolTuner.SHRINK_AFTER_TICKS; i++) {
+            assertThat(tuner.decide(10, 1, 0, NO_WAIT, LATENCY).maximumPoolSize).isEqualTo(10);
+        }
+        Decision decision = tuner.decide(10, 1, 0, NO_WAIT, LATENCY);
+        assertThat(decision.maximumPoolSize).isEqualTo(9);
+        assertThat(decision.minimumIdle).isEqualTo(2);
+
+        //최소값 아래로는 줄지 않음
+        for (int i = 0; i < HikariPoolTuner.SHRINK_AFTER_TICKS; i++) {
+            decision = tuner.decide(4, 0, 0, NO_WAIT, NO_WAIT);
+        }
+        assertThat(decision.maximumPoolSize).isEqualTo(4);
+    }
+
+    @Test
+    void minimumIdleHysteresis() {
+        assertThat(tuner.decide(12, 10, 0, NO_WAIT, LATENCY).minimumIdle).isEqualTo(10);
+
+        //잠깐 줄어든 것으로는 바로 따라 내려가지 않음
+        for (int i = 1; i < HikariPoolTuner.SHRINK_AFTER_TICKS; i++) {
+            assertThat(tuner.decide(12, 2, 0, NO_WAIT, LATENCY).minimumIdle).isEqualTo(10);
+        }
+        //계속 낮으면 차이의 절반씩 줄어듦
+        assertThat(tuner.decide(12, 2, 0, NO_WAIT, LATENCY).minimumIdle).isEqualTo(6);
+
+        //다시 몰리면 바로 늘어남
+        assertThat(tuner.decide(12, 9, 0, NO_WAIT, LATENCY).minimumIdle).isEqualTo(9);
+    }
+}
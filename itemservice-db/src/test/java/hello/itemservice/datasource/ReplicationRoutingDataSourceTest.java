@@ -0,0 +1,83 @@
+package hello.itemservice.datasource;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.service.ItemService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// * 두 개의 H2 메모리 DB로 읽기/쓰기 분리 확인
+//   - primary : 기존 테스트와 같은 testdb (스키마는 SpringBoot가 초기화)
+//   - replica : 별도의 replica DB - 복제가 없으므로 테스트에서 직접 테이블/데이터를 만들어 primary와 구분
+// * @Transactional을 붙이지 않음 - 테스트의 트랜잭션이 readOnly가 아니면 내부의 readOnly 트랜잭션도 primary를 사용하므로
+@SpringBootTest(properties = {
+        "itemservice.datasource.routing.enabled=true",
+        "itemservice.datasource.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "itemservice.datasource.replica.lag-query=select lag_seconds from replica_status",
+        "itemservice.datasource.replica.max-lag-seconds=5"
+})
+class ReplicationRoutingDataSourceTest {
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    DataSource replicaDataSource;
+
+    @Autowired
+    ReplicaLagMonitor lagMonitor;
+
+    JdbcTemplate replica;
+
+    @BeforeEach
+    void beforeEach() {
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("drop table if exists item");
+        replica.execute("create table item (id bigint generated by default as identity, " +
+                "item_name varchar(10), price integer, quantity integer, primary key (id))");
+        replica.execute("drop table if exists replica_status");
+        replica.execute("create table replica_status (lag_seconds bigint)");
+        replica.update("insert into replica_status values (0)");
+        replica.update("insert into item(item_name, price, quantity) values ('replicaA', 10000, 10)");
+        lagMonitor.checkLag();
+
+        itemService.save(new Item("primaryA", 10000, 10));
+    }
+
+    @AfterEach
+    void afterEach() {
+        //테스트 트랜잭션이 없으므로 primary에 commit된 데이터 직접 정리
+        new JdbcTemplate(primaryDataSource).update("delete from item where item_name = 'primaryA'");
+    }
+
+    @Test
+    void readOnlyTransactionUsesReplica() {
+        List<Item> items = itemService.findItems(new ItemSearchCond());
+        assertThat(items).extracting(Item::getItemName).containsExactly("replicaA");
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        replica.update("update replica_status set lag_seconds = 100");
+        lagMonitor.checkLag();
+
+        List<Item> items = itemService.findItems(new ItemSearchCond());
+        assertThat(lagMonitor.isReplicaAvailable()).isFalse();
+        assertThat(items).extracting(Item::getItemName).contains("primaryA").doesNotContain("replicaA");
+    }
+}
@@ -0,0 +1,112 @@
+package hello.itemservice.domain;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 영속성 컨텍스트에 있는 Item 수(1, 1천, 10만)에 따른 flush 1회 비용 - ./gradlew benchmark 로만 실행
+ *  - 매 flush마다 item 하나만 setter로 수정 -> 실제 update는 1건(모든 컬럼을 set하는 고정 SQL), 나머지는 변경 확인 비용
+ *  - dirty tracking(enhancement) : 변경 기록만 확인 / 끈 경우(-PdirtyTracking=false) : 모든 item의 스냅샷과 필드 비교
+ */
+@Slf4j
+@Tag("benchmark")
+class ItemFlushBenchmarkTest {
+
+    static final int MAX_ITEMS = 100_000;
+    static final int[] MANAGED_ITEMS = {1, 1_000, 100_000};
+    static final int WARMUP = 20;
+    static final int FLUSHES = 100;
+
+    static LocalContainerEntityManagerFactoryBean factoryBean;
+    static EntityManagerFactory emf;
+
+    @BeforeAll
+    static void beforeAll() {
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource("jdbc:h2:mem:flush-benchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("hello.itemservice.domain");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create",
+                "hibernate.generate_statistics", "true"));
+        factoryBean.afterPropertiesSet();
+        emf = factoryBean.getObject();
+
+        new JdbcTemplate(dataSource).batchUpdate("insert into item(item_name, price, quantity) values (?,?,?)",
+                IntStream.range(0, MAX_ITEMS)
+                        .mapToObj(i -> new Object[]{"item" + i, 10000, 10})
+                        .collect(Collectors.toList()));
+    }
+
+    @AfterAll
+    static void afterAll() {
+        factoryBean.destroy();
+    }
+
+    @Test
+    void flush() {
+        log.info("dirty tracking enhanced = {}", SelfDirtinessTracker.class.isAssignableFrom(Item.class));
+
+        for (int managed : MANAGED_ITEMS) {
+            long nanosPerFlush = measure(managed);
+            log.info("managed items = {} : {} us/flush", managed, nanosPerFlush / 1000);
+        }
+    }
+
+    private long measure(int managed) {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        EntityManager em = emf.createEntityManager();
+        em.getTransaction().begin();
+        try {
+            List<Item> items = em.createQuery("select i from Item i order by i.id", Item.class)
+                    .setMaxResults(managed)
+                    .getResultList();
+
+            for (int i = 0; i < WARMUP; i++) {
+                modifyAndFlush(em, items, i);
+            }
+
+            statistics.clear();
+            long elapsed = 0;
+            for (int i = 0; i < FLUSHES; i++) {
+                elapsed += modifyAndFlush(em, items, i);
+            }
+            //수정한 item만 update
+            assertThat(statistics.getEntityUpdateCount()).isEqualTo(FLUSHES);
+            return elapsed / FLUSHES;
+        } finally {
+            em.getTransaction().rollback();
+            em.close();
+        }
+    }
+
+    // item 하나를 수정하고 flush에 걸린 시간 (nanos)
+    private long modifyAndFlush(EntityManager em, List<Item> items, int round) {
+        Item item = items.get(round % items.size());
+        item.setQuantity(item.getQuantity() + 1);
+        long start = System.nanoTime();
+        em.flush();
+        return System.nanoTime() - start;
+    }
+}
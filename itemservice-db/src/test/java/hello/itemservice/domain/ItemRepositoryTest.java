@@ -1,7 +1,10 @@
 package hello.itemservice.domain;
 
+import hello.itemservice.repository.ItemBulkUpdateDto;
+import hello.itemservice.repository.ItemIdRange;
 import hello.itemservice.repository.ItemRepository;
 import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemSort;
 import hello.itemservice.repository.ItemUpdateDto;
 import hello.itemservice.repository.memory.MemoryItemRepository;
 import lombok.extern.slf4j.Slf4j;
@@ -16,9 +19,11 @@ import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.DefaultTransactionDefinition;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 // * @SpringBootTest
 // - 해당 어노테이션은 @SpringBootApplication 어노테이션이 붙은 클래스를 탐색
@@ -143,6 +148,98 @@ class ItemRepositoryTest {
         test("itemA", 10000, item1);
     }
 
+    @Test
+    void findItemsSorted() {
+        //given
+        Item item1 = itemRepository.save(new Item("itemA-1", 30000, 10));
+        Item item2 = itemRepository.save(new Item("itemA-2", 10000, 30));
+        Item item3 = itemRepository.save(new Item("itemA-3", 20000, 20));
+        Item item4 = itemRepository.save(new Item("itemB-1", 10000, 40));
+
+        //정렬 + 같은 값은 id 순서
+        assertThat(itemRepository.findAll(new ItemSearchCond(null, null, null, ItemSort.PRICE_ASC, null)))
+                .containsExactly(item2, item4, item3, item1);
+
+        //가장 싼 2개
+        assertThat(itemRepository.findAll(new ItemSearchCond("itemA", null, null, ItemSort.PRICE_ASC, 2)))
+                .containsExactly(item2, item3);
+
+        //재고 많은 순 + 가격 범위
+        assertThat(itemRepository.findAll(new ItemSearchCond(null, 10000, 20000, ItemSort.QUANTITY_DESC, null)))
+                .containsExactly(item4, item2, item3);
+
+        //정렬 없이 limit만 지정하면 id 순서
+        assertThat(itemRepository.findAll(new ItemSearchCond(null, null, null, null, 3)))
+                .containsExactly(item1, item2, item3);
+    }
+
+    @Test
+    void scanSorted() {
+        //given
+        Item item1 = itemRepository.save(new Item("itemA-1", 30000, 10));
+        Item item2 = itemRepository.save(new Item("itemA-2", 10000, 30));
+        Item item3 = itemRepository.save(new Item("itemA-3", 20000, 20));
+        itemRepository.save(new Item("itemB-1", 40000, 40));
+
+        //cursor 조회도 findAll()과 같은 정렬/limit
+        List<Item> scanned = new ArrayList<>();
+        itemRepository.scan(new ItemSearchCond("itemA", null, null, ItemSort.PRICE_DESC, null), scanned::add);
+        assertThat(scanned).containsExactly(item1, item3, item2);
+
+        scanned.clear();
+        itemRepository.scan(new ItemSearchCond("itemA", null, null, ItemSort.PRICE_DESC, 2), scanned::add);
+        assertThat(scanned).containsExactly(item1, item3);
+    }
+
+    @Test
+    void bulkUpdate() {
+        //given
+        Item item1 = itemRepository.save(new Item("itemA-1", 10000, 10));
+        Item item2 = itemRepository.save(new Item("itemA-2", 20000, 20));
+        Item item3 = itemRepository.save(new Item("itemB-1", 10000, 30));
+        ItemSearchCond cond = new ItemSearchCond("itemA", 10000);
+
+        //when
+        ItemIdRange range = itemRepository.findIdRange(cond).get();
+        int updated = itemRepository.bulkUpdate(cond, new ItemBulkUpdateDto(5, -3),
+                range.getMinId(), range.getMaxId());
+
+        //then
+        assertThat(range.getMinId()).isEqualTo(item1.getId());
+        assertThat(range.getMaxId()).isEqualTo(item1.getId());
+        assertThat(updated).isEqualTo(1);
+
+        Item findItem1 = itemRepository.findById(item1.getId()).get();
+        assertThat(findItem1.getPrice()).isEqualTo(10500);
+        assertThat(findItem1.getQuantity()).isEqualTo(7);
+        assertThat(itemRepository.findById(item2.getId()).get().getPrice()).isEqualTo(20000);
+        assertThat(itemRepository.findById(item3.getId()).get().getPrice()).isEqualTo(10000);
+
+        //대상이 없는 경우
+        assertThat(itemRepository.findIdRange(new ItemSearchCond("itemC", null))).isEmpty();
+    }
+
+    @Test
+    void bulkUpdateChunks() {
+        ItemBulkUpdateDto updateParam = new ItemBulkUpdateDto(5, -3);
+        updateParam.setChunkSize(4);
+
+        //id 범위 [1, 10] -> [1, 4], [5, 8], [9, 10]
+        List<Long> fromIds = new ArrayList<>();
+        int updated = updateParam.updateInChunks(new ItemIdRange(1L, 10L), (fromId, toId) -> {
+            fromIds.add(fromId);
+            return (int) (toId - fromId + 1);
+        });
+        assertThat(fromIds).containsExactly(1L, 5L, 9L);
+        assertThat(updated).isEqualTo(10);
+
+        //chunkSize가 0 이하이거나 수정식이 null이면 실행하지 않음
+        updateParam.setChunkSize(0);
+        assertThatThrownBy(updateParam::validate).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ItemBulkUpdateDto(null, 1).validate()).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ItemBulkUpdateDto(5, null).validate()).isInstanceOf(IllegalArgumentException.class);
+    }
+
     void test(String itemName, Integer maxPrice, Item... items) { // *** 가변인수 문법 확인하기
         List<Item> result = itemRepository.findAll(new ItemSearchCond(itemName, maxPrice));
         assertThat(result).containsExactly(items);
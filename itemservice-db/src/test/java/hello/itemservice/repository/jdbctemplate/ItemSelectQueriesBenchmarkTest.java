@@ -0,0 +1,101 @@
+package hello.itemservice.repository.jdbctemplate;
+
+import hello.itemservice.Benchmarks;
+import hello.itemservice.Benchmarks.Result;
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemSearchCond;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 기존 findAll(호출마다 sql 조립 + named parameter 파싱 + BeanPropertyRowMapper)과
+ * ItemSelectQueries(미리 만든 sql + index 기반 RowMapper)의 query 1회당 CPU 시간/할당 바이트 비교
+ *  - ./gradlew benchmark 로만 실행 (일반 test에서는 'benchmark' 태그 제외)
+ *  - 같은 connection, 같은 데이터로 번갈아 측정 -> DB 시간은 양쪽에 똑같이 포함되므로 차이가 곧 애플리케이션 쪽 비용
+ */
+@Slf4j
+@Tag("benchmark")
+class ItemSelectQueriesBenchmarkTest {
+
+    static final int ROWS = 100;
+    static final int WARMUP = 20_000;
+    static final int ITERATIONS = 50_000;
+
+    static NamedParameterJdbcTemplate template;
+    static final ItemSearchCond cond = new ItemSearchCond("item", 1_000_000);
+    static final RowMapper<Item> beanRowMapper = BeanPropertyRowMapper.newInstance(Item.class);
+
+    @BeforeAll
+    static void beforeAll() {
+        SingleConnectionDataSource dataSource =
+                new SingleConnectionDataSource("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1", "sa", "", true);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("drop table if exists item");
+        jdbcTemplate.execute("create table item (id bigint generated by default as identity, " +
+                "item_name varchar(10), price integer, quantity integer, primary key (id))");
+        for (int i = 0; i < ROWS; i++) {
+            jdbcTemplate.update("insert into item(item_name, price, quantity) values (?,?,?)", "item" + i, i * 100, i);
+        }
+        template = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Test
+    void findAll() {
+        assertThat(precompiled()).usingRecursiveFieldByFieldElementComparator().isEqualTo(dynamic());
+
+        Result dynamic = measure(this::dynamic);
+        Result precompiled = measure(this::precompiled);
+        dynamic = measure(this::dynamic);
+        precompiled = measure(this::precompiled);
+
+        log.info("dynamic     : {} ns/op, {} bytes/op", dynamic.nanosPerOp, dynamic.bytesPerOp);
+        log.info("precompiled : {} ns/op, {} bytes/op", precompiled.nanosPerOp, precompiled.bytesPerOp);
+        log.info("saved       : {} ns/op, {} bytes/op",
+                dynamic.nanosPerOp - precompiled.nanosPerOp, dynamic.bytesPerOp - precompiled.bytesPerOp);
+    }
+
+    // 변경 전의 JdbcTemplateItemRepositoryV2.findAll()
+    private List<Item> dynamic() {
+        String itemName = cond.getItemName();
+        Integer maxPrice = cond.getMaxPrice();
+        String sql = "select id, item_name, price, quantity from item";
+        if (StringUtils.hasText(itemName) || maxPrice != null) {
+            sql += " where";
+        }
+        boolean andFlag = false;
+        if (StringUtils.hasText(itemName)) {
+            sql += " item_name like concat('%',:itemName,'%')";
+            andFlag = true;
+        }
+        if (maxPrice != null) {
+            if (andFlag) {
+                sql += " and";
+            }
+            sql += " price <= :maxPrice";
+        }
+        return template.query(sql, new BeanPropertySqlParameterSource(cond), beanRowMapper);
+    }
+
+    private List<Item> precompiled() {
+        return template.getJdbcTemplate().query(ItemSelectQueries.findAllSql(cond),
+                ItemSelectQueries.ITEM_ROW_MAPPER, ItemSelectQueries.findAllArgs(cond));
+    }
+
+    private Result measure(Supplier<List<Item>> query) {
+        return Benchmarks.measure(WARMUP, ITERATIONS, query::get);
+    }
+}
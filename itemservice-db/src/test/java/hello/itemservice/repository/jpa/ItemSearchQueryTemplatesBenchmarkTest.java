@@ -0,0 +1,135 @@
+package hello.itemservice.repository.jpa;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import hello.itemservice.Benchmarks;
+import hello.itemservice.Benchmarks.Result;
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemSearchCond;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static hello.itemservice.domain.QItem.item;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Querydsl 검색 1회당 CPU 시간/할당 바이트 비교 - ./gradlew benchmark 로만 실행
+ *  - dynamic : 변경 전의 JpaItemRepositoryV3.findAll() (호출마다 select/from/where 트리 생성)
+ *  - template : ItemSearchQueryTemplates (조건 조합별 template 복사 + Param 바인딩)
+ *  - 각각 hibernate.generate_statistics를 켠 EntityManagerFactory와 끈 것에서 측정
+ *    -> itemservice.jpa.statistics.enabled=true 로 켰을 때 검색마다 추가되는 비용
+ *  - 요청처럼 검색마다 EntityManager를 새로 열고 닫음 / 같은 H2 DB를 사용하므로 DB 시간은 양쪽에 똑같이 포함
+ */
+@Slf4j
+@Tag("benchmark")
+class ItemSearchQueryTemplatesBenchmarkTest {
+
+    static final int ROWS = 100;
+    static final int WARMUP = 20_000;
+    static final int ITERATIONS = 50_000;
+
+    static final ItemSearchCond cond = new ItemSearchCond("item", 1_000_000);
+
+    static LocalContainerEntityManagerFactoryBean statisticsOnFactory;
+    static LocalContainerEntityManagerFactoryBean statisticsOffFactory;
+
+    @BeforeAll
+    static void beforeAll() {
+        DataSource dataSource =
+                new DriverManagerDataSource("jdbc:h2:mem:search-benchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        statisticsOnFactory = entityManagerFactory(dataSource, true);
+        statisticsOffFactory = entityManagerFactory(dataSource, false);
+
+        new JdbcTemplate(dataSource).batchUpdate("insert into item(item_name, price, quantity) values (?,?,?)",
+                IntStream.range(0, ROWS)
+                        .mapToObj(i -> new Object[]{"item" + i, i * 100, i})
+                        .collect(Collectors.toList()));
+    }
+
+    @AfterAll
+    static void afterAll() {
+        statisticsOnFactory.destroy();
+        statisticsOffFactory.destroy();
+    }
+
+    private static LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource, boolean statistics) {
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("hello.itemservice.domain");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        //스키마는 처음 만드는 쪽에서만 생성
+        factoryBean.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", statistics ? "create" : "none",
+                "hibernate.generate_statistics", String.valueOf(statistics)));
+        factoryBean.afterPropertiesSet();
+        return factoryBean;
+    }
+
+    @Test
+    void search() {
+        EntityManagerFactory on = statisticsOnFactory.getObject();
+        EntityManagerFactory off = statisticsOffFactory.getObject();
+        assertThat(run(off, this::template)).hasSize(ROWS)
+                .usingRecursiveFieldByFieldElementComparator().isEqualTo(run(off, this::dynamic));
+
+        Result dynamicOn = measure(on, this::dynamic);
+        Result templateOn = measure(on, this::template);
+        Result dynamicOff = measure(off, this::dynamic);
+        Result templateOff = measure(off, this::template);
+        dynamicOn = measure(on, this::dynamic);
+        templateOn = measure(on, this::template);
+        dynamicOff = measure(off, this::dynamic);
+        templateOff = measure(off, this::template);
+
+        log.info("dynamic,  statistics on  : {} ns/op, {} bytes/op", dynamicOn.nanosPerOp, dynamicOn.bytesPerOp);
+        log.info("template, statistics on  : {} ns/op, {} bytes/op", templateOn.nanosPerOp, templateOn.bytesPerOp);
+        log.info("dynamic,  statistics off : {} ns/op, {} bytes/op", dynamicOff.nanosPerOp, dynamicOff.bytesPerOp);
+        log.info("template, statistics off : {} ns/op, {} bytes/op", templateOff.nanosPerOp, templateOff.bytesPerOp);
+        log.info("saved by template   : {} ns/op, {} bytes/op",
+                dynamicOff.nanosPerOp - templateOff.nanosPerOp, dynamicOff.bytesPerOp - templateOff.bytesPerOp);
+        log.info("saved by statistics off : {} ns/op, {} bytes/op",
+                templateOn.nanosPerOp - templateOff.nanosPerOp, templateOn.bytesPerOp - templateOff.bytesPerOp);
+    }
+
+    // 변경 전의 JpaItemRepositoryV3.findAll()
+    private List<Item> dynamic(EntityManager em) {
+        return new JPAQueryFactory(em)
+                .select(item)
+                .from(item)
+                .where(item.itemName.like("%" + cond.getItemName() + "%"), item.price.loe(cond.getMaxPrice()))
+                .fetch();
+    }
+
+    private List<Item> template(EntityManager em) {
+        return ItemSearchQueryTemplates.search(em, cond).fetch();
+    }
+
+    // 요청 1건처럼 EntityManager를 열고 검색 후 닫음
+    private List<Item> run(EntityManagerFactory emf, Function<EntityManager, List<Item>> query) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            return query.apply(em);
+        } finally {
+            em.close();
+        }
+    }
+
+    private Result measure(EntityManagerFactory emf, Function<EntityManager, List<Item>> query) {
+        return Benchmarks.measure(WARMUP, ITERATIONS, () -> run(emf, query));
+    }
+}
@@ -0,0 +1,133 @@
+package hello.itemservice.repository.mybatis;
+
+import hello.itemservice.domain.Item;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ItemMapper의 executor 종류 / 2차 캐시 on/off 비교 - ./gradlew benchmark 로만 실행
+ *  - findById : 같은 item 10개를 반복 조회 (트랜잭션 하나에 100번씩)
+ *    -> SIMPLE(캐시 없음) / REUSE(캐시 없음) / SIMPLE + 2차 캐시
+ *  - saveAll : 1000건 저장 -> multi-row insert / BATCH executor
+ */
+@Slf4j
+@Tag("benchmark")
+class MyBatisExecutorBenchmarkTest {
+
+    static final int HOT_ITEMS = 10;
+    static final int CALLS_PER_TX = 100;
+    static final int TX_COUNT = 2_000;
+    static final int SAVE_ROWS = 1_000;
+    static final int SAVE_ROUNDS = 50;
+
+    static DataSource dataSource;
+    static TransactionTemplate txTemplate;
+
+    @BeforeAll
+    static void beforeAll() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:mybatis-benchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("drop table if exists item");
+        jdbcTemplate.execute("create table item (id bigint generated by default as identity, " +
+                "item_name varchar(10), price integer, quantity integer, primary key (id))");
+        for (int i = 0; i < HOT_ITEMS; i++) {
+            jdbcTemplate.update("insert into item(item_name, price, quantity) values (?,?,?)", "item" + i, i * 100, i);
+        }
+        txTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @Test
+    void findById() throws Exception {
+        long simple = findByIdMillis(mapper(ExecutorType.SIMPLE, false));
+        long reuse = findByIdMillis(mapper(ExecutorType.REUSE, false));
+        long cached = findByIdMillis(mapper(ExecutorType.SIMPLE, true));
+
+        log.info("findById x {} : simple={}ms, reuse={}ms, simple+cache={}ms",
+                TX_COUNT * CALLS_PER_TX, simple, reuse, cached);
+    }
+
+    @Test
+    void saveAll() throws Exception {
+        ItemMapper mapper = mapper(ExecutorType.SIMPLE, false);
+        ItemMapper batchMapper = mapper(ExecutorType.BATCH, false);
+        MyBatisItemRepository multiRow = new MyBatisItemRepository(mapper);
+        MyBatisItemRepository batch = new MyBatisItemRepository(mapper, batchMapper);
+
+        assertThat(txTemplate.execute(status -> batch.saveAll(items()))).isEqualTo(SAVE_ROWS);
+
+        long multiRowMillis = saveAllMillis(multiRow);
+        long batchMillis = saveAllMillis(batch);
+        multiRowMillis = saveAllMillis(multiRow);
+        batchMillis = saveAllMillis(batch);
+
+        log.info("saveAll {} rows x {} : multi-row={}ms, batch={}ms", SAVE_ROWS, SAVE_ROUNDS, multiRowMillis, batchMillis);
+    }
+
+    private long findByIdMillis(ItemMapper mapper) {
+        // warm-up 1회 + 측정 1회
+        runFindById(mapper);
+        long start = System.nanoTime();
+        runFindById(mapper);
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private void runFindById(ItemMapper mapper) {
+        for (int tx = 0; tx < TX_COUNT; tx++) {
+            txTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < CALLS_PER_TX; i++) {
+                    assertThat(mapper.findById((long) (i % HOT_ITEMS) + 1)).isPresent();
+                }
+            });
+        }
+    }
+
+    private long saveAllMillis(MyBatisItemRepository repository) {
+        long start = System.nanoTime();
+        for (int i = 0; i < SAVE_ROUNDS; i++) {
+            List<Item> items = items();
+            txTemplate.executeWithoutResult(status -> repository.saveAll(items));
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private List<Item> items() {
+        List<Item> items = new ArrayList<>(SAVE_ROWS);
+        for (int i = 0; i < SAVE_ROWS; i++) {
+            items.add(new Item("bench" + (i % 100), i, i));
+        }
+        return items;
+    }
+
+    // ShardingConfig와 같은 방식으로 SqlSessionFactory를 직접 생성 - executor와 캐시 사용 여부만 다르게
+    private ItemMapper mapper(ExecutorType executorType, boolean cacheEnabled) throws Exception {
+        SqlSessionFactoryBean factoryBean = new SqlSessionFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setTypeAliasesPackage("hello.itemservice.domain");
+        factoryBean.setMapperLocations(new ClassPathResource("hello/itemservice/repository/mybatis/ItemMapper.xml"));
+
+        org.apache.ibatis.session.Configuration configuration = new org.apache.ibatis.session.Configuration();
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.setCacheEnabled(cacheEnabled);
+        factoryBean.setConfiguration(configuration);
+
+        SqlSessionFactory sqlSessionFactory = factoryBean.getObject();
+        return new SqlSessionTemplate(sqlSessionFactory, executorType).getMapper(ItemMapper.class);
+    }
+}
@@ -0,0 +1,160 @@
+package hello.itemservice.repository.r2dbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import hello.itemservice.Benchmarks;
+import hello.itemservice.Benchmarks.Allocation;
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.jdbctemplate.JdbcTemplateItemRepositoryV3;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 DB, 같은 커넥션 수(POOL_SIZE)에서 blocking(JdbcTemplate + Hikari)과 R2DBC(DatabaseClient + r2dbc-pool)의
+ * findById() 지연 시간/메모리 비교 - ./gradlew benchmark 로만 실행
+ *  - 동시에 CLIENTS건의 요청이 처리 중인 상태를 유지 (커넥션보다 요청이 훨씬 많음 -> 커넥션 대기 시간 포함)
+ *  - blocking : 요청마다 스레드 1개 (Tomcat 요청 스레드 역할) -> CLIENTS개의 스레드
+ *  - r2dbc : flatMap(concurrency = CLIENTS) -> 스레드 없이 구독만 CLIENTS개
+ *  - 지연 시간 p50/p99, 요청 1건당 할당 바이트(측정 중 살아있던 모든 스레드의 합), 측정 중 JVM 스레드 수
+ * *** r2dbc-h2는 임베디드 H2를 구독한 스레드에서 바로 실행 -> 네트워크 I/O를 기다리지 않는 DB라 논블로킹의 이점은 드러나지 않음
+ *     -> 여기서 보이는 것은 스레드 수/메모리와 리액티브 계층의 오버헤드 (tcp DB + 논블로킹 드라이버면 결과가 달라질 수 있음)
+ */
+@Slf4j
+@Tag("benchmark")
+class R2dbcItemRepositoryBenchmarkTest {
+
+    static final int ITEMS = 100;
+    static final int POOL_SIZE = 10;
+    static final int CLIENTS = 200;
+    static final int WARMUP = 20_000;
+    static final int REQUESTS = 100_000;
+
+    static HikariDataSource dataSource;
+    static ConnectionFactory connectionFactory;
+    static ItemRepository blockingRepository;
+    static ReactiveItemRepository reactiveRepository;
+
+    @BeforeAll
+    static void beforeAll() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:r2dbc-benchmark;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(POOL_SIZE);
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("drop table if exists item");
+        template.execute("create table item (id bigint generated by default as identity," +
+                " item_name varchar(10), price integer, quantity integer, primary key (id))");
+        for (int i = 1; i <= ITEMS; i++) {
+            template.update("insert into item(item_name, price, quantity) values (?,?,?)", "item" + i, i * 100, i);
+        }
+        blockingRepository = new JdbcTemplateItemRepositoryV3(dataSource);
+
+        connectionFactory = ConnectionFactories.get("r2dbc:pool:h2:mem:///r2dbc-benchmark" +
+                "?initialSize=" + POOL_SIZE + "&maxSize=" + POOL_SIZE + "&options=DB_CLOSE_DELAY=-1");
+        reactiveRepository = new R2dbcItemRepository(DatabaseClient.create(connectionFactory));
+    }
+
+    @AfterAll
+    static void afterAll() {
+        ((Disposable) connectionFactory).dispose();
+        dataSource.close();
+    }
+
+    @Test
+    void findById() throws Exception {
+        assertThat(reactiveRepository.findById(1L).block()).isEqualTo(blockingRepository.findById(1L).get());
+
+        // * 요청 스레드는 blocking 측정이 끝나면 종료 -> r2dbc 측정의 스레드 수에 포함되지 않도록
+        ExecutorService requestThreads = Executors.newFixedThreadPool(CLIENTS);
+        Result blocking;
+        try {
+            blocking(requestThreads, WARMUP);
+            blocking = blocking(requestThreads, REQUESTS);
+        } finally {
+            requestThreads.shutdown();
+            requestThreads.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        reactive(WARMUP);
+        Result reactive = reactive(REQUESTS);
+
+        log.info("blocking : p50={} us, p99={} us, {} bytes/op, threads={}",
+                blocking.p50Micros, blocking.p99Micros, blocking.bytesPerOp, blocking.threads);
+        log.info("r2dbc    : p50={} us, p99={} us, {} bytes/op, threads={}",
+                reactive.p50Micros, reactive.p99Micros, reactive.bytesPerOp, reactive.threads);
+        //같은 동시 요청 수를 요청 스레드 없이 처리
+        assertThat(reactive.threads).isLessThan(blocking.threads);
+    }
+
+    // CLIENTS개의 스레드가 각자 순서대로 요청 -> 동시에 CLIENTS건
+    private Result blocking(ExecutorService requestThreads, int requests) throws Exception {
+        AtomicLongArray latencies = new AtomicLongArray(requests);
+        AtomicInteger next = new AtomicInteger();
+        Allocation allocation = new Allocation();
+        Future<?>[] clients = new Future<?>[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = requestThreads.submit(() -> {
+                for (int n = next.getAndIncrement(); n < requests; n = next.getAndIncrement()) {
+                    long start = System.nanoTime();
+                    blockingRepository.findById(randomId()).orElseThrow();
+                    latencies.set(n, System.nanoTime() - start);
+                }
+            });
+        }
+        for (Future<?> client : clients) {
+            client.get();
+        }
+        return new Result(latencies, allocation.bytes() / requests, allocation.peakThreads());
+    }
+
+    // 처리 중인 구독을 CLIENTS개로 유지
+    private Result reactive(int requests) {
+        AtomicLongArray latencies = new AtomicLongArray(requests);
+        Allocation allocation = new Allocation();
+        Flux.range(0, requests)
+                .flatMap(n -> Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    return reactiveRepository.findById(randomId())
+                            .doOnNext(item -> latencies.set(n, System.nanoTime() - start));
+                }), CLIENTS)
+                .blockLast();
+        return new Result(latencies, allocation.bytes() / requests, allocation.peakThreads());
+    }
+
+    private static long randomId() {
+        return ThreadLocalRandom.current().nextLong(ITEMS) + 1;
+    }
+
+    static class Result {
+        final long p50Micros;
+        final long p99Micros;
+        final long bytesPerOp;
+        final int threads;
+
+        Result(AtomicLongArray latencies, long bytesPerOp, int threads) {
+            this.p50Micros = Benchmarks.percentileMicros(latencies, 50);
+            this.p99Micros = Benchmarks.percentileMicros(latencies, 99);
+            this.bytesPerOp = bytesPerOp;
+            this.threads = threads;
+        }
+    }
+}
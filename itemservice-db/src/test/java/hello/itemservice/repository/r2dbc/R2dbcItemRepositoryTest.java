@@ -0,0 +1,82 @@
+package hello.itemservice.repository.r2dbc;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemSort;
+import hello.itemservice.repository.ItemUpdateDto;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// * 스프링 컨테이너 없이 H2 메모리 DB에 R2dbcItemRepository만 연결 - 테이블은 같은 DB에 JDBC로 생성
+class R2dbcItemRepositoryTest {
+
+    ReactiveItemRepository itemRepository;
+
+    @BeforeEach
+    void beforeEach() {
+        JdbcTemplate template = new JdbcTemplate(
+                new DriverManagerDataSource("jdbc:h2:mem:r2dbc-test;DB_CLOSE_DELAY=-1", "sa", ""));
+        template.execute("drop table if exists item");
+        template.execute("create table item (id bigint generated by default as identity," +
+                " item_name varchar(10), price integer, quantity integer, primary key (id))");
+        itemRepository = new R2dbcItemRepository(DatabaseClient.create(
+                ConnectionFactories.get("r2dbc:h2:mem:///r2dbc-test?options=DB_CLOSE_DELAY=-1")));
+    }
+
+    @Test
+    void save() {
+        Item savedItem = itemRepository.save(new Item("itemA", 10000, 10)).block();
+
+        assertThat(savedItem.getId()).isNotNull();
+        assertThat(itemRepository.findById(savedItem.getId()).block()).isEqualTo(savedItem);
+    }
+
+    @Test
+    void updateItem() {
+        Item savedItem = itemRepository.save(new Item("item1", 10000, 10)).block();
+
+        itemRepository.update(savedItem.getId(), new ItemUpdateDto("item2", 20000, 30)).block();
+
+        Item findItem = itemRepository.findById(savedItem.getId()).block();
+        assertThat(findItem.getItemName()).isEqualTo("item2");
+        assertThat(findItem.getPrice()).isEqualTo(20000);
+        assertThat(findItem.getQuantity()).isEqualTo(30);
+
+        //null은 bindNull()로 바인딩
+        itemRepository.update(savedItem.getId(), new ItemUpdateDto("item2", null, 30)).block();
+        assertThat(itemRepository.findById(savedItem.getId()).block().getPrice()).isNull();
+    }
+
+    @Test
+    void findById() {
+        //없으면 비어있는 Mono
+        assertThat(itemRepository.findById(Long.MAX_VALUE).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void findItems() {
+        Item item1 = itemRepository.save(new Item("itemA-1", 10000, 10)).block();
+        Item item2 = itemRepository.save(new Item("itemA-2", 20000, 20)).block();
+        Item item3 = itemRepository.save(new Item("itemB-1", 30000, 30)).block();
+
+        test(null, null, item1, item2, item3);
+        test("itemA", null, item1, item2);
+        test(null, 10000, item1);
+        test("itemA", 10000, item1);
+
+        //정렬 + limit
+        assertThat(itemRepository.findAll(new ItemSearchCond(null, 15000, null, ItemSort.PRICE_DESC, 2))
+                .collectList().block()).containsExactly(item3, item2);
+    }
+
+    void test(String itemName, Integer maxPrice, Item... items) {
+        assertThat(itemRepository.findAll(new ItemSearchCond(itemName, maxPrice)).collectList().block())
+                .containsExactlyInAnyOrder(items);
+    }
+}
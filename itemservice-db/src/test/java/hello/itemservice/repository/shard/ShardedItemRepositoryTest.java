@@ -0,0 +1,175 @@
+package hello.itemservice.repository.shard;
+
+import hello.itemservice.datasource.RequestDeadline;
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemBulkUpdateDto;
+import hello.itemservice.repository.ItemIdRange;
+import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemUpdateDto;
+import hello.itemservice.repository.jdbctemplate.JdbcTemplateItemRepositoryV3;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// * 3개의 H2 메모리 DB를 shard로 사용 - 스프링 컨테이너 없이 ShardedItemRepository만 확인
+class ShardedItemRepositoryTest {
+
+    static final int SHARD_COUNT = 3;
+
+    List<DataSource> dataSources = new ArrayList<>();
+    ItemShardIdAllocator idAllocator = new ItemShardIdAllocator(SHARD_COUNT);
+    ShardedItemRepository itemRepository;
+
+    @BeforeEach
+    void beforeEach() {
+        List<ItemRepository> shards = new ArrayList<>();
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:shard" + i + ";DB_CLOSE_DELAY=-1", "sa", "");
+            new JdbcTemplate(dataSource).execute("drop table if exists item");
+            idAllocator.createTableIfNotExists(dataSource, i);
+            dataSources.add(dataSource);
+            shards.add(new JdbcTemplateItemRepositoryV3(dataSource));
+        }
+        itemRepository = new ShardedItemRepository(shards, idAllocator, Duration.ofSeconds(3), 100);
+    }
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.shutdown();
+    }
+
+    @Test
+    void saveAndRoute() {
+        Item itemA = itemRepository.save(new Item("itemA", 10000, 10));
+        Item itemB = itemRepository.save(new Item("itemB", 20000, 20));
+        Item itemC = itemRepository.save(new Item("itemC", 30000, 30));
+
+        // 돌아가면서 저장되므로 shard마다 1건씩 - id로 shard를 찾을 수 있어야 함
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            Integer count = new JdbcTemplate(dataSources.get(i)).queryForObject("select count(*) from item", Integer.class);
+            assertThat(count).isEqualTo(1);
+        }
+        assertThat(idAllocator.shardIndexOf(itemA.getId())).isNotEqualTo(idAllocator.shardIndexOf(itemB.getId()));
+
+        itemRepository.update(itemB.getId(), new ItemUpdateDto("itemB2", 21000, 21));
+        Item findItem = itemRepository.findById(itemB.getId()).get();
+        assertThat(findItem.getItemName()).isEqualTo("itemB2");
+        assertThat(itemRepository.findById(itemC.getId()).get()).isEqualTo(itemC);
+    }
+
+    @Test
+    void verifyIdentity() {
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            idAllocator.verifyIdentity(dataSources.get(i), i);
+        }
+
+        //shard 번호가 인코딩되지 않은 identity (1, 2, 3...)
+        DataSource plain = new DriverManagerDataSource("jdbc:h2:mem:shard-plain;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(plain);
+        template.execute("drop table if exists item");
+        template.execute("create table item (id bigint generated by default as identity," +
+                " item_name varchar(10), price integer, quantity integer, primary key (id))");
+        assertThatThrownBy(() -> idAllocator.verifyIdentity(plain, 1))
+                .isInstanceOf(IllegalStateException.class);
+        //확인용 insert는 rollback
+        assertThat(template.queryForObject("select count(*) from item", Integer.class)).isEqualTo(0);
+    }
+
+    @Test
+    void scatterGather() {
+        Item item1 = itemRepository.save(new Item("itemA-1", 10000, 10));
+        Item item2 = itemRepository.save(new Item("itemA-2", 20000, 20));
+        Item item3 = itemRepository.save(new Item("itemB-1", 30000, 30));
+        Item item4 = itemRepository.save(new Item("itemA-3", 40000, 40));
+
+        // 여러 shard의 결과를 id 순서로 합침
+        assertThat(itemRepository.findAll(new ItemSearchCond())).containsExactly(item1, item2, item3, item4);
+        assertThat(itemRepository.findAll(new ItemSearchCond("itemA", 20000))).containsExactly(item1, item2);
+
+        ItemIdRange range = itemRepository.findIdRange(new ItemSearchCond("itemA", null)).get();
+        assertThat(range.getMinId()).isEqualTo(item1.getId());
+        assertThat(range.getMaxId()).isEqualTo(item4.getId());
+
+        int updated = itemRepository.bulkUpdate(new ItemSearchCond("itemA", null), new ItemBulkUpdateDto(0, 5),
+                range.getMinId(), range.getMaxId());
+        assertThat(updated).isEqualTo(3);
+        assertThat(itemRepository.findById(item4.getId()).get().getQuantity()).isEqualTo(45);
+        assertThat(itemRepository.findById(item3.getId()).get().getQuantity()).isEqualTo(30);
+    }
+
+    @Test
+    void shardTimeout() {
+        ItemRepository slowShard = new JdbcTemplateItemRepositoryV3(dataSources.get(0)) {
+            @Override
+            public List<Item> findAll(ItemSearchCond cond) {
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.findAll(cond);
+            }
+        };
+        ShardedItemRepository repository = new ShardedItemRepository(
+                List.of(slowShard, new JdbcTemplateItemRepositoryV3(dataSources.get(1)), new JdbcTemplateItemRepositoryV3(dataSources.get(2))),
+                idAllocator, Duration.ofMillis(100), 100);
+
+        assertThatThrownBy(() -> repository.findAll(new ItemSearchCond()))
+                .isInstanceOf(QueryTimeoutException.class);
+        repository.shutdown();
+    }
+
+    // shard 작업은 timeout 이내의 마감 시각으로 실행 (shard DataSource가 DeadlineDataSource면 query timeout이 됨)
+    @Test
+    void shardDeadline() {
+        List<Long> remaining = new CopyOnWriteArrayList<>();
+        List<ItemRepository> shards = new ArrayList<>();
+        for (DataSource dataSource : dataSources) {
+            shards.add(new JdbcTemplateItemRepositoryV3(dataSource) {
+                @Override
+                public List<Item> findAll(ItemSearchCond cond) {
+                    remaining.add(RequestDeadline.current().remainingMillis());
+                    return super.findAll(cond);
+                }
+
+                @Override
+                public Optional<Item> findById(Long id) {
+                    remaining.add(RequestDeadline.current().remainingMillis());
+                    return super.findById(id);
+                }
+            });
+        }
+        ShardedItemRepository repository = new ShardedItemRepository(shards, idAllocator, Duration.ofSeconds(3), 100);
+
+        repository.findAll(new ItemSearchCond());
+        repository.findById(1L);
+        assertThat(remaining).hasSize(SHARD_COUNT + 1).allMatch(millis -> millis > 0 && millis <= 3000);
+        //작업이 끝나면 호출한 스레드의 마감 시각은 원래대로
+        assertThat(RequestDeadline.current()).isNull();
+
+        //요청의 마감 시각이 더 이르면 그쪽을 따름
+        remaining.clear();
+        RequestDeadline.set(RequestDeadline.after(500));
+        try {
+            repository.findById(1L);
+        } finally {
+            RequestDeadline.clear();
+        }
+        assertThat(remaining).allMatch(millis -> millis <= 500);
+        repository.shutdown();
+    }
+}
@@ -0,0 +1,158 @@
+package hello.itemservice.service.async;
+
+import com.zaxxer.hikari.HikariDataSource;
+import hello.itemservice.repository.jdbctemplate.JdbcTemplateItemRepositoryV3;
+import hello.itemservice.service.ItemService;
+import hello.itemservice.service.ItemServiceV1;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 요청 스레드에서 바로 ItemService를 호출하는 방식과 ExecutorAsyncItemService의 처리량 비교 - ./gradlew benchmark 로만 실행
+ *  - CLIENTS개의 스레드(Tomcat 요청 스레드 역할)가 쉬지 않고 findById() 호출 / MEASURE_SECONDS 동안의 처리량
+ *  - blocking : 요청 스레드에서 직접 호출 -> 커넥션 풀(POOL_SIZE)에서 기다림
+ *  - executor : AsyncConfig와 같은 고정 크기(POOL_SIZE) + 제한된 큐 -> 가득 차면 거절 (요청에는 503)
+ *    -> CLIENTS가 POOL_SIZE + QUEUE_CAPACITY보다 많으므로 거절이 생겨야 하고, 그래도 풀은 계속 바쁘므로
+ *       처리량은 blocking의 절반 아래로 떨어지지 않아야 함
+ *    -> 거절된 client는 Retry-After를 받은 것처럼 REJECT_BACKOFF_MILLIS 쉬고 다시 요청 (쉬지 않으면 거절 예외 생성이 CPU를 차지)
+ *  - virtual : JDK 21 이상에서만 실행
+ */
+@Slf4j
+@Tag("benchmark")
+class AsyncItemServiceBenchmarkTest {
+
+    static final int ITEMS = 100;
+    static final int POOL_SIZE = 10;
+    static final int QUEUE_CAPACITY = 100;
+    static final int CLIENTS = 200;
+    static final int WARMUP_SECONDS = 2;
+    static final int MEASURE_SECONDS = 4;
+    static final int REJECT_BACKOFF_MILLIS = 1;
+
+    static HikariDataSource dataSource;
+    static ItemService itemService;
+
+    @BeforeAll
+    static void beforeAll() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:async-benchmark;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(POOL_SIZE);
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("drop table if exists item");
+        template.execute("create table item (id bigint generated by default as identity," +
+                " item_name varchar(10), price integer, quantity integer, primary key (id))");
+        for (int i = 1; i <= ITEMS; i++) {
+            template.update("insert into item(item_name, price, quantity) values (?,?,?)", "item" + i, i * 100, i);
+        }
+        itemService = new ItemServiceV1(new JdbcTemplateItemRepositoryV3(dataSource));
+    }
+
+    @AfterAll
+    static void afterAll() {
+        dataSource.close();
+    }
+
+    @Test
+    void throughput() throws Exception {
+        Result blocking = run(id -> itemService.findById(id).orElseThrow());
+
+        ExecutorAsyncItemService fixed = new ExecutorAsyncItemService(itemService,
+                new ThreadPoolExecutor(POOL_SIZE, POOL_SIZE, 0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(QUEUE_CAPACITY), new ThreadPoolExecutor.AbortPolicy()));
+        Result executor = run(id -> fixed.findById(id).join().orElseThrow());
+        fixed.shutdown();
+
+        log.info("blocking : {} query/s", blocking.perSecond);
+        log.info("executor : {} query/s, rejected={}/s", executor.perSecond, executor.rejectedPerSecond);
+
+        ExecutorService virtualThreads = virtualThreadExecutor();
+        if (virtualThreads != null) {
+            ExecutorAsyncItemService virtual = new ExecutorAsyncItemService(itemService, virtualThreads);
+            Result result = run(id -> virtual.findById(id).join().orElseThrow());
+            virtual.shutdown();
+            log.info("virtual  : {} query/s", result.perSecond);
+        }
+
+        //blocking은 풀에서 기다릴 뿐 거절하지 않음 / executor는 용량을 넘는 요청을 거절하면서 처리량은 유지
+        assertThat(blocking.rejectedPerSecond).isZero();
+        assertThat(executor.rejectedPerSecond).isPositive();
+        assertThat(executor.perSecond).isGreaterThan(blocking.perSecond / 2);
+    }
+
+    private Result run(LongConsumer call) throws Exception {
+        LongAdder completed = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.execute(() -> {
+                    while (running.get()) {
+                        try {
+                            call.accept(ThreadLocalRandom.current().nextLong(ITEMS) + 1);
+                            completed.increment();
+                        } catch (RejectedExecutionException e) {
+                            rejected.increment();
+                            backOff();
+                        }
+                    }
+                });
+            }
+            Thread.sleep(TimeUnit.SECONDS.toMillis(WARMUP_SECONDS));
+            long startCompleted = completed.sum();
+            long startRejected = rejected.sum();
+            Thread.sleep(TimeUnit.SECONDS.toMillis(MEASURE_SECONDS));
+            return new Result((completed.sum() - startCompleted) / MEASURE_SECONDS,
+                    (rejected.sum() - startRejected) / MEASURE_SECONDS);
+        } finally {
+            running.set(false);
+            clients.shutdown();
+            clients.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void backOff() {
+        try {
+            Thread.sleep(REJECT_BACKOFF_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // AsyncConfig와 같은 방식 - JDK 21 미만이면 null
+    private ExecutorService virtualThreadExecutor() throws ReflectiveOperationException {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    static class Result {
+        final long perSecond;
+        final long rejectedPerSecond;
+
+        Result(long perSecond, long rejectedPerSecond) {
+            this.perSecond = perSecond;
+            this.rejectedPerSecond = rejectedPerSecond;
+        }
+    }
+}
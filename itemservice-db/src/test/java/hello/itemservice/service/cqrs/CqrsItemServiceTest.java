@@ -0,0 +1,95 @@
+package hello.itemservice.service.cqrs;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemUpdateDto;
+import hello.itemservice.service.ItemService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// * @Transactional을 붙이지 않음 - 읽기 모델은 commit 이후에 반영되므로 테스트의 트랜잭션이 rollback되면 확인할 수 없음
+//   -> 테스트에서 저장한 데이터는 직접 삭제
+@SpringBootTest(properties = "itemservice.cqrs.enabled=true")
+class CqrsItemServiceTest {
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    ItemReadModel readModel;
+
+    @Autowired
+    ItemReadModelUpdater readModelUpdater;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void afterEach() {
+        new JdbcTemplate(dataSource).update("delete from item where item_name like 'cqrs%'");
+        readModelUpdater.checkConsistency();
+    }
+
+    @Test
+    void readFromReadModel() {
+        assertThat(itemService).isInstanceOf(CqrsItemService.class);
+        assertThat(readModel.isReady()).isTrue();
+
+        Item item = itemService.save(new Item("cqrsA", 10000, 10));
+        itemService.update(item.getId(), new ItemUpdateDto("cqrsA2", 15000, 15));
+
+        // commit 이후 읽기 모델에 반영
+        Item findItem = readModel.findById(item.getId()).get();
+        assertThat(findItem.getItemName()).isEqualTo("cqrsA2");
+        assertThat(findItem.getPrice()).isEqualTo(15000);
+        assertThat(itemService.findItems(new ItemSearchCond("cqrs", 15000))).containsExactly(findItem);
+        assertThat(itemService.findItems(new ItemSearchCond("cqrs", 10000))).isEmpty();
+    }
+
+    @Test
+    void consistencyCheck() {
+        // ItemService를 거치지 않은 쓰기는 정합성 검사에서 반영
+        Item item = itemRepository.save(new Item("cqrsB", 20000, 20));
+        assertThat(readModel.findById(item.getId())).isEmpty();
+
+        assertThat(readModelUpdater.checkConsistency()).isEqualTo(1);
+        assertThat(itemService.findById(item.getId())).isPresent();
+        assertThat(readModelUpdater.checkConsistency()).isZero();
+    }
+
+    @Test
+    void applyAfterCommit() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+
+        // 바깥 트랜잭션이 commit되기 전에는 반영되지 않음
+        Item item = template.execute(status -> {
+            Item savedItem = itemService.save(new Item("cqrsC", 30000, 30));
+            assertThat(readModel.findById(savedItem.getId())).isEmpty();
+            return savedItem;
+        });
+        assertThat(readModel.findById(item.getId())).isPresent();
+
+        // rollback되면 반영되지 않음
+        template.executeWithoutResult(status -> {
+            itemService.update(item.getId(), new ItemUpdateDto("cqrsC2", 31000, 31));
+            status.setRollbackOnly();
+        });
+        assertThat(readModel.findById(item.getId()).get().getItemName()).isEqualTo("cqrsC");
+    }
+}
@@ -0,0 +1,38 @@
+package hello.itemservice.service.generator;
+
+import hello.itemservice.domain.Item;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemDataGeneratorTest {
+
+    @Test
+    void deterministic() {
+        List<Item> first = new ItemDataGenerator(42, 1.1, 1.2).items(0, 1000);
+        List<Item> second = new ItemDataGenerator(42, 1.1, 1.2).items(0, 1000);
+        List<Item> otherSeed = new ItemDataGenerator(7, 1.1, 1.2).items(0, 1000);
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first).isNotEqualTo(otherSeed);
+        assertThat(first).allSatisfy(item -> assertThat(item.getItemName().length()).isLessThanOrEqualTo(10));
+    }
+
+    @Test
+    void skewed() {
+        List<Item> items = new ItemDataGenerator(42, 1.1, 1.2).items(0, 10000);
+
+        // 1순위 접두어/가격대가 가장 많아야 함
+        Map<String, Long> prefixCounts = items.stream()
+                .collect(Collectors.groupingBy(item -> item.getItemName().replaceAll("[0-9]", ""), Collectors.counting()));
+        assertThat(prefixCounts.get("item")).isEqualTo(prefixCounts.values().stream().max(Long::compare).get());
+
+        Map<Integer, Long> priceCounts = items.stream()
+                .collect(Collectors.groupingBy(Item::getPrice, Collectors.counting()));
+        assertThat(priceCounts.get(1000)).isGreaterThan(priceCounts.getOrDefault(50000, 0L) * 10);
+    }
+}
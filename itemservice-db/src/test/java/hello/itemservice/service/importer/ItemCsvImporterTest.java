@@ -0,0 +1,104 @@
+package hello.itemservice.service.importer;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.memory.MemoryItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+// * 저장은 importer의 스레드에서 각자의 트랜잭션으로 commit되므로 @Transactional 대신 직접 삭제
+@SpringBootTest(properties = {"itemservice.import.batch-size=10", "itemservice.import.writer-threads=2"})
+class ItemCsvImporterTest {
+
+    @Autowired
+    ItemCsvImporter importer;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void afterEach() {
+        new JdbcTemplate(dataSource).update("delete from item where item_name like 'imp%'");
+    }
+
+    @Test
+    void importFile() throws Exception {
+        List<String> lines = new ArrayList<>();
+        lines.add("item_name,price,quantity");
+        for (int i = 0; i < 25; i++) {
+            lines.add("imp" + i + "," + (1000 + i) + "," + i);
+        }
+        lines.add("\"imp,quote\",1000,1");
+        lines.add("impTooLongName,1000,1");
+        lines.add("impBad,abc,1");
+        Path file = tempDir.resolve("items.csv");
+        Files.write(file, lines);
+
+        ItemImportResult result = importer.importFile(file);
+
+        assertThat(result.getImported()).isEqualTo(26);
+        assertThat(result.getRejected()).isEqualTo(2);
+        assertThat(Files.readAllLines(Path.of(result.getRejectedFile()))).hasSize(2);
+
+        Integer count = new JdbcTemplate(dataSource)
+                .queryForObject("select count(*) from item where item_name like 'imp%'", Integer.class);
+        assertThat(count).isEqualTo(26);
+    }
+
+    // 저장도 실패하고 거부 기록도 실패 -> 저장 스레드가 모두 죽어도 멈추지 않고 실패를 던짐
+    @Test
+    void writersFail() throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            lines.add("imp" + i + ",1000,1");
+        }
+        Path file = tempDir.resolve("fail.csv");
+        Files.write(file, lines);
+
+        MemoryItemRepository failingRepository = new MemoryItemRepository() {
+            @Override
+            public int saveAll(List<Item> items) {
+                throw new IllegalStateException("saveAll failed");
+            }
+        };
+        ItemCsvImporter failingImporter = new ItemCsvImporter(failingRepository, transactionManager, 10, 2, 1) {
+            @Override
+            RejectedRowWriter openRejects(Path rejectedFile) throws IOException {
+                return new RejectedRowWriter(rejectedFile) {
+                    @Override
+                    synchronized void write(long lineNumber, String reason, String line) {
+                        throw new UncheckedIOException(new IOException("disk full"));
+                    }
+                };
+            }
+        };
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+                assertThatThrownBy(() -> failingImporter.importFile(file))
+                        .isInstanceOf(UncheckedIOException.class)
+                        .hasMessageContaining("disk full"));
+    }
+}
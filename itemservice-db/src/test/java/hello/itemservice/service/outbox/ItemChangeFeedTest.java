@@ -0,0 +1,119 @@
+package hello.itemservice.service.outbox;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+// * sequence를 직접 지정해서 commit 순서가 뒤바뀐 경우를 흉내내는 outbox로 확인
+class ItemChangeFeedTest {
+
+    static final Instant OLD = Instant.now().minusSeconds(60);
+
+    TreeMap<Long, ItemChange> records = new TreeMap<>();
+    ItemChangeFeed feed = new ItemChangeFeed(new StubOutbox(), 100, Duration.ofSeconds(5), Duration.ofMinutes(10));
+
+    @Test
+    void waitForRecentGap() {
+        put(1, OLD);
+        put(3, Instant.now());
+
+        //2가 비어있고 3이 최근 기록 -> 2 앞에서 멈춤
+        ItemChangeFeed.ItemChangeBatch batch = feed.poll(ItemChangeCursor.at(0), 10);
+        assertThat(sequences(batch.getChanges())).containsExactly(1L);
+        assertThat(batch.getCursor().getSequence()).isEqualTo(1);
+        assertThat(batch.getCursor().getGaps()).isEmpty();
+    }
+
+    @Test
+    void recheckOldGap() {
+        put(1, OLD);
+        put(4, OLD);
+
+        //gapTimeout이 지난 빈 구간(2~3)은 건너뛰고 cursor에 남김
+        ItemChangeFeed.ItemChangeBatch batch = feed.poll(ItemChangeCursor.at(0), 10);
+        assertThat(sequences(batch.getChanges())).containsExactly(1L, 4L);
+        assertThat(batch.getCursor().getGaps()).hasSize(1);
+
+        //나중에 commit된 3은 다음 poll에서 전달, 2는 계속 확인
+        put(3, OLD);
+        put(5, Instant.now());
+        batch = feed.poll(batch.getCursor(), 10);
+        assertThat(sequences(batch.getChanges())).containsExactly(3L, 5L);
+        assertThat(batch.getCursor().getSequence()).isEqualTo(5);
+        assertThat(batch.getCursor().getGaps())
+                .extracting(ItemChangeCursor.Gap::getFromSequence, ItemChangeCursor.Gap::getToSequence)
+                .containsExactly(tuple(2L, 2L));
+    }
+
+    @Test
+    void expireGap() {
+        put(1, OLD);
+        put(3, OLD);
+        ItemChangeCursor cursor = new ItemChangeCursor(3,
+                List.of(new ItemChangeCursor.Gap(2, 2, Instant.now().minus(Duration.ofMinutes(11)))));
+
+        //gapExpiry가 지나면 rollback된 것으로 보고 확인을 멈춤
+        ItemChangeFeed.ItemChangeBatch batch = feed.poll(cursor, 10);
+        assertThat(batch.getChanges()).isEmpty();
+        assertThat(batch.getCursor().getGaps()).isEmpty();
+    }
+
+    private void put(long sequence, Instant createdAt) {
+        records.put(sequence, new ItemChange(sequence, sequence, ItemChangeType.SAVED, "item" + sequence, 1000, 1, createdAt));
+    }
+
+    private static List<Long> sequences(List<ItemChange> changes) {
+        return changes.stream().map(ItemChange::getSequence).collect(Collectors.toList());
+    }
+
+    class StubOutbox implements ItemOutbox {
+
+        @Override
+        public void append(ItemChange change) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void appendIfItemExists(ItemChange change) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void appendRange(Long fromId, Long toId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ItemChange> readAfter(long sequence, int limit) {
+            return first(records.tailMap(sequence, false).values(), limit);
+        }
+
+        @Override
+        public List<ItemChange> readBetween(long fromSequence, long toSequence, int limit) {
+            return first(records.subMap(fromSequence, true, toSequence, true).values(), limit);
+        }
+
+        @Override
+        public long lastSequence() {
+            return records.isEmpty() ? 0 : records.lastKey();
+        }
+
+        @Override
+        public int deleteBefore(Instant before) {
+            return 0;
+        }
+
+        private List<ItemChange> first(Collection<ItemChange> values, int limit) {
+            return new ArrayList<>(values).subList(0, Math.min(limit, values.size()));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package hello.itemservice.service.outbox;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemUpdateDto;
+import hello.itemservice.service.ItemService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+// * @Transactional을 붙이지 않음 - commit/rollback에 따라 기록이 남는지 확인해야 하므로 테스트에서 저장한 데이터는 직접 삭제
+@SpringBootTest(properties = "itemservice.outbox.enabled=true")
+class ItemOutboxTest {
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ItemChangeFeed feed;
+
+    @Autowired
+    ItemOutbox outbox;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    DataSource dataSource;
+
+    @AfterEach
+    void afterEach() {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.update("delete from item where item_name like 'outbox%'");
+        template.update("delete from item_outbox where item_name like 'outbox%'");
+    }
+
+    @Test
+    void recordCommittedWrites() {
+        long start = feed.lastSequence();
+
+        //given
+        Item item = itemService.save(new Item("outboxA", 10000, 10));
+        itemService.update(item.getId(), new ItemUpdateDto("outboxA2", 20000, 20));
+        //없는 id의 수정은 기록하지 않음 (JdbcTemplate/MyBatis backend는 예외 없이 0건 수정)
+        outbox.appendIfItemExists(ItemChange.updated(-1L, new ItemUpdateDto("outboxX", 1, 1)));
+
+        //rollback된 쓰기는 기록도 없음
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            itemService.save(new Item("outboxB", 30000, 30));
+            status.setRollbackOnly();
+        });
+
+        //then
+        List<ItemChange> changes = feed.poll(start, 100);
+        assertThat(changes)
+                .extracting(ItemChange::getItemId, ItemChange::getType, ItemChange::getItemName, ItemChange::getPrice)
+                .containsExactly(
+                        tuple(item.getId(), ItemChangeType.SAVED, "outboxA", 10000),
+                        tuple(item.getId(), ItemChangeType.UPDATED, "outboxA2", 20000));
+    }
+
+    @Test
+    void consumeInBatches() {
+        long start = feed.lastSequence();
+        for (int i = 0; i < 5; i++) {
+            itemService.save(new Item("outbox" + i, 10000, i));
+        }
+
+        List<Integer> batchSizes = new ArrayList<>();
+        ItemChangeCursor last = feed.consume(ItemChangeCursor.at(start), 2, batch -> batchSizes.add(batch.size()));
+
+        assertThat(batchSizes).containsExactly(2, 2, 1);
+        assertThat(last.getSequence()).isEqualTo(feed.lastSequence());
+        assertThat(feed.poll(last, 2).getChanges()).isEmpty();
+    }
+}
@@ -0,0 +1,91 @@
+package hello.itemservice.service.shadow;
+
+import hello.itemservice.config.ShadowConfig;
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.service.ItemService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// * @Transactional을 붙이지 않음 - shadow는 다른 스레드에서 조회하므로 commit되지 않은 데이터는 보이지 않음
+//   -> 테스트에서 저장한 데이터는 직접 삭제
+@SpringBootTest(properties = {"itemservice.shadow.backend=jpa", "itemservice.shadow.sample-rate=1"})
+class ShadowReadItemServiceTest {
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ApplicationContext context;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    DataSource dataSource;
+
+    @AfterEach
+    void afterEach() {
+        new JdbcTemplate(dataSource).update("delete from item where item_name like 'shadow%'");
+    }
+
+    @Test
+    void shadowBeans() {
+        assertThat(itemService).isInstanceOf(ShadowReadItemService.class);
+
+        //shadow도 Spring Bean -> JPA repository의 @Transactional이 적용됨
+        assertThat(AopUtils.isAopProxy(context.getBean("shadowItemRepository"))).isTrue();
+        assertThat(AopUtils.isAopProxy(context.getBean("shadowItemService"))).isTrue();
+    }
+
+    @Test
+    void replay() throws InterruptedException {
+        Item item = itemService.save(new Item("shadowA", 10000, 10));
+
+        assertThat(itemService.findById(item.getId())).contains(item);
+        assertThat(itemService.findItems(new ItemSearchCond("shadow", null))).containsExactly(item);
+
+        //양쪽 모두 ItemService 단위로 기록
+        for (String operation : new String[]{"findById", "findItems"}) {
+            assertThat(awaitCount(operation, "shadow")).isPositive();
+            assertThat(awaitCount(operation, "primary")).isPositive();
+            assertThat(meterRegistry.find("itemservice.shadow.mismatches").tag("operation", operation).counter())
+                    .isNull();
+        }
+        assertThat(meterRegistry.find("itemservice.shadow.errors").counter().count()).isZero();
+    }
+
+    @Test
+    void rejectMemoryBackend() {
+        ShadowConfig config = new ShadowConfig(dataSource, null, null, null);
+        ReflectionTestUtils.setField(config, "shadowBackend", "memory");
+
+        assertThatThrownBy(config::shadowItemRepository)
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private long awaitCount(String operation, String target) throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            Timer timer = meterRegistry.find("itemservice.shadow.latency")
+                    .tags("operation", operation, "target", target).timer();
+            if (timer != null && timer.count() > 0) {
+                return timer.count();
+            }
+            Thread.sleep(100);
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,114 @@
+package hello.itemservice.service.stats;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemBulkUpdateDto;
+import hello.itemservice.repository.ItemRepository;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.ItemUpdateDto;
+import hello.itemservice.repository.memory.MemoryItemRepository;
+import hello.itemservice.service.ItemService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// * item_stats 테이블도 item과 같은 트랜잭션에서 갱신되므로 테스트가 끝나면 같이 rollback
+@Transactional
+@SpringBootTest(properties = "itemservice.stats.enabled=true")
+class ItemStatsTest {
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    ItemStatsStore statsStore;
+
+    @Autowired
+    ItemStatsReconciler reconciler;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Test
+    void statsFollowWrites() {
+        ItemStats before = statsStore.get();
+
+        //given
+        Item itemA = itemService.save(new Item("statsA", 5000, 10));
+        Item itemB = itemRepository.save(new Item("statsB", 20000, 3));
+
+        //when
+        itemService.update(itemA.getId(), new ItemUpdateDto("statsA", 60000, 2));
+        itemRepository.bulkUpdate(new ItemSearchCond("statsB", null), new ItemBulkUpdateDto(0, 7),
+                itemB.getId(), itemB.getId());
+
+        //then
+        ItemStats after = statsStore.get();
+        assertThat(after.getItemCount() - before.getItemCount()).isEqualTo(2);
+        assertThat(after.getTotalQuantity() - before.getTotalQuantity()).isEqualTo(2 + 10);
+        assertThat(after.getTotalStockValue() - before.getTotalStockValue()).isEqualTo(60000L * 2 + 20000L * 10);
+
+        //가격대 이동 - itemA는 [0, 10000) -> [50000, 100000)
+        assertThat(bandCount(after, 0) - bandCount(before, 0)).isEqualTo(0);
+        assertThat(bandCount(after, 1) - bandCount(before, 1)).isEqualTo(1);
+        assertThat(bandCount(after, 2) - bandCount(before, 2)).isEqualTo(1);
+
+        //item 전체 scan과 같음
+        assertThat(reconciler.reconcile()).isTrue();
+    }
+
+    @Test
+    void reconcileReplacesDrift() {
+        itemService.save(new Item("statsC", 100000, 1));
+        new JdbcTemplate(dataSource).update("update item_stats set item_count = item_count + 5 where band = 3");
+
+        assertThat(reconciler.reconcile()).isFalse();
+        assertThat(reconciler.reconcile()).isTrue();
+    }
+
+    // scan 도중에 commit된 쓰기가 있으면 집계를 바꾸지 않고 다시 scan
+    @Test
+    void reconcileRescansWhenWritesOverlap() {
+        AtomicInteger scans = new AtomicInteger();
+        List<ItemStatsStore> store = new ArrayList<>();
+        MemoryItemRepository repository = new MemoryItemRepository() {
+            @Override
+            public void scan(ItemSearchCond cond, Consumer<Item> action) {
+                if (scans.getAndIncrement() == 0) {
+                    Item item = save(new Item("statsD", 1000, 1));
+                    store.get(0).add(new ItemStatsCounts().add(item));
+                }
+                super.scan(cond, action);
+            }
+        };
+        store.add(new MemoryItemStatsStore(repository));
+        ItemStatsReconciler memoryReconciler = new ItemStatsReconciler(store.get(0), repository,
+                TransactionOperations.withoutTransaction(), new SimpleMeterRegistry());
+
+        try {
+            memoryReconciler.reconcile();
+            assertThat(scans.get()).isEqualTo(2);
+            assertThat(memoryReconciler.reconcile()).isTrue();
+        } finally {
+            repository.clearStore();
+        }
+    }
+
+    private long bandCount(ItemStats stats, int band) {
+        return stats.getPriceBands().get(band).getItemCount();
+    }
+}
@@ -0,0 +1,46 @@
+package hello.itemservice.service.write;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.service.ItemService;
+import hello.itemservice.service.outbox.ItemChange;
+import hello.itemservice.service.outbox.ItemChangeType;
+import hello.itemservice.service.outbox.ItemOutbox;
+import hello.itemservice.service.stats.ItemStats;
+import hello.itemservice.service.stats.ItemStatsStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+// * 집계와 outbox를 같이 켜도 쓰기 하나는 aspect 하나가 한번만 잡아서 두 listener에 전달
+@Transactional
+@SpringBootTest(properties = {"itemservice.stats.enabled=true", "itemservice.outbox.enabled=true"})
+class ItemWriteAspectTest {
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ItemStatsStore statsStore;
+
+    @Autowired
+    ItemOutbox outbox;
+
+    @Test
+    void captureOnce() {
+        ItemStats before = statsStore.get();
+        long start = outbox.lastSequence();
+
+        //ItemService.save -> ItemRepository.save 로 겹쳐서 잡혀도 바깥쪽 한번만
+        Item item = itemService.save(new Item("writeA", 10000, 10));
+
+        assertThat(statsStore.get().getItemCount() - before.getItemCount()).isEqualTo(1);
+        assertThat(statsStore.get().getTotalQuantity() - before.getTotalQuantity()).isEqualTo(10);
+        assertThat(outbox.readAfter(start, 100))
+                .extracting(ItemChange::getItemId, ItemChange::getType)
+                .containsExactly(tuple(item.getId(), ItemChangeType.SAVED));
+    }
+}
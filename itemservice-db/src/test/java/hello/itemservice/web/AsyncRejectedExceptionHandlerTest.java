@@ -0,0 +1,36 @@
+package hello.itemservice.web;
+
+import hello.itemservice.service.async.ExecutorAsyncItemService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AsyncRejectedExceptionHandlerTest {
+
+    @Test
+    void rejectedAs503() throws Exception {
+        // 종료된 executor -> 모든 작업을 RejectedExecutionException으로 거절 (ItemService는 호출되지 않음)
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MockMvc mockMvc = MockMvcBuilders
+                .standaloneSetup(new ItemController(new ExecutorAsyncItemService(null, executor)))
+                .setControllerAdvice(new AsyncRejectedExceptionHandler(meterRegistry, "2"))
+                .build();
+
+        mockMvc.perform(get("/items/1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+        assertThat(meterRegistry.counter("itemservice.async.rejected").count()).isEqualTo(1);
+    }
+}
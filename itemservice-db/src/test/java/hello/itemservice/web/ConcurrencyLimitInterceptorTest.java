@@ -0,0 +1,96 @@
+package hello.itemservice.web;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.service.ItemService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// * 조회/저장 limiter 모두 제한 1로 고정 - async dispatch 전까지는 처리 중인 요청으로 남음
+@SpringBootTest(properties = {
+        "itemservice.concurrency-limit.enabled=true",
+        "itemservice.concurrency-limit.retry-after-seconds=2",
+        "itemservice.concurrency-limit.read.initial-limit=1",
+        "itemservice.concurrency-limit.read.min-limit=1",
+        "itemservice.concurrency-limit.read.max-limit=1",
+        "itemservice.concurrency-limit.write.initial-limit=1",
+        "itemservice.concurrency-limit.write.min-limit=1",
+        "itemservice.concurrency-limit.write.max-limit=1"})
+@AutoConfigureMockMvc
+class ConcurrencyLimitInterceptorTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    @Qualifier("readConcurrencyLimiter")
+    AimdConcurrencyLimiter readLimiter;
+
+    @Autowired
+    @Qualifier("writeConcurrencyLimiter")
+    AimdConcurrencyLimiter writeLimiter;
+
+    @AfterEach
+    void afterEach() {
+        new JdbcTemplate(dataSource).update("delete from item where item_name like 'limit%'");
+    }
+
+    @Test
+    void limit() throws Exception {
+        Item item = itemService.save(new Item("limitA", 10000, 10));
+
+        MvcResult read = mockMvc.perform(get("/items/{itemId}", item.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(readLimiter.getInFlight()).isEqualTo(1);
+
+        //조회 제한 초과 -> 컨트롤러를 실행하지 않고 503
+        mockMvc.perform(get("/items"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(request().asyncNotStarted());
+
+        //저장/수정은 별도 limiter -> 조회가 가득 차도 처리됨
+        MvcResult write = mockMvc.perform(post("/items/{itemId}/edit", item.getId())
+                        .param("itemName", "limitB")
+                        .param("price", "20000")
+                        .param("quantity", "20"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(writeLimiter.getInFlight()).isEqualTo(1);
+
+        //async dispatch가 끝나야 반납
+        mockMvc.perform(asyncDispatch(read)).andExpect(status().isOk());
+        mockMvc.perform(asyncDispatch(write)).andExpect(status().is3xxRedirection());
+        assertThat(readLimiter.getInFlight()).isEqualTo(0);
+        assertThat(writeLimiter.getInFlight()).isEqualTo(0);
+
+        MvcResult next = mockMvc.perform(get("/items/{itemId}", item.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(next)).andExpect(status().isOk());
+    }
+}
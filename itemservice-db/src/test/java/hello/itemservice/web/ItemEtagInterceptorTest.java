@@ -0,0 +1,93 @@
+package hello.itemservice.web;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.service.ItemService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// * 쓰기가 각자의 트랜잭션으로 commit된 후에 버전이 올라가므로 @Transactional 대신 직접 삭제
+@SpringBootTest(properties = "itemservice.http-cache.enabled=true")
+@AutoConfigureMockMvc
+class ItemEtagInterceptorTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    DataSource dataSource;
+
+    @AfterEach
+    void afterEach() {
+        new JdbcTemplate(dataSource).update("delete from item where item_name like 'etag%'");
+    }
+
+    @Test
+    void conditionalGet() throws Exception {
+        Item item = itemService.save(new Item("etagA", 10000, 10));
+
+        // 200 - 컨트롤러는 CompletableFuture를 반환 -> async dispatch에서는 다시 확인하지 않음
+        String etag = render(get("/items/{itemId}", item.getId()))
+                .getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+
+        // 304 - 컨트롤러를 실행하지 않음
+        mockMvc.perform(get("/items/{itemId}", item.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(request().asyncNotStarted());
+
+        // POST는 If-None-Match가 있어도 확인하지 않고 그대로 처리
+        MvcResult edit = mockMvc.perform(post("/items/{itemId}/edit", item.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .param("itemName", "etagB")
+                        .param("price", "20000")
+                        .param("quantity", "20"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(edit))
+                .andExpect(status().is3xxRedirection());
+
+        // 수정 후에는 이전 ETag로 200
+        MvcResult changed = render(get("/items/{itemId}", item.getId()).header(HttpHeaders.IF_NONE_MATCH, etag));
+        assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(itemService.findById(item.getId()).get().getItemName()).isEqualTo("etagB");
+    }
+
+    // item 페이지가 아닌 경로는 ETag/Cache-Control을 붙이지 않음
+    @Test
+    void notItemPages() throws Exception {
+        mockMvc.perform(get("/items/stream"))
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(header().doesNotExist(HttpHeaders.CACHE_CONTROL));
+    }
+
+    // 처음 요청(async 시작) + async dispatch(렌더링) -> 200
+    private MvcResult render(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+        return result;
+    }
+}
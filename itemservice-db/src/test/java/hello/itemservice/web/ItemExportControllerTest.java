@@ -0,0 +1,149 @@
+package hello.itemservice.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.Item;
+import hello.itemservice.service.ItemService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// * 요청 스레드에서 응답 stream에 직접 쓰므로 async dispatch 없이 바로 응답 확인
+// * 모든 요청에 itemName=exp 조건 -> 다른 테스트/초기 데이터의 item은 나오지 않음
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemExportControllerTest {
+
+    static final String HEADER = "id,item_name,price,quantity";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    DataSource dataSource;
+
+    Item quoted;
+    Item multiline;
+    Item plain;
+    Item expensive;
+
+    @BeforeEach
+    void beforeEach() {
+        quoted = itemService.save(new Item("exp,\"q\"", 1000, 1));
+        multiline = itemService.save(new Item("exp\nline", 2000, 2));
+        plain = itemService.save(new Item("expPlain", 3000, 3));
+        expensive = itemService.save(new Item("expHigh", 90000, 4));
+        itemService.save(new Item("other", 1000, 5));
+    }
+
+    @AfterEach
+    void afterEach() {
+        new JdbcTemplate(dataSource).update("delete from item where item_name like 'exp%' or item_name = 'other'");
+    }
+
+    @Test
+    void csv() throws Exception {
+        String csv = mockMvc.perform(get("/items/export").param("itemName", "exp").param("sort", "ID"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"items.csv\""))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        //구분자/따옴표/줄바꿈이 있는 값만 큰따옴표로 감싸고, 따옴표는 두번
+        assertThat(csv).isEqualTo(HEADER + "\n"
+                + quoted.getId() + ",\"exp,\"\"q\"\"\",1000,1\n"
+                + multiline.getId() + ",\"exp\nline\",2000,2\n"
+                + plain.getId() + ",expPlain,3000,3\n"
+                + expensive.getId() + ",expHigh,90000,4\n");
+    }
+
+    @Test
+    void ndjson() throws Exception {
+        String ndjson = mockMvc.perform(get("/items/export").param("format", "ndjson")
+                        .param("itemName", "exp").param("sort", "ID"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"items.ndjson\""))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        //한 줄에 item 하나 - 줄바꿈이 있는 값은 JSON 안에서 escape되므로 줄이 나뉘지 않음
+        assertThat(ndjson).endsWith("\n");
+        List<Item> items = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            items.add(objectMapper.readValue(line, Item.class));
+        }
+        assertThat(items).containsExactly(quoted, multiline, plain, expensive);
+    }
+
+    @Test
+    void gzip() throws Exception {
+        MvcResult result = mockMvc.perform(get("/items/export").param("itemName", "exp").param("sort", "ID")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn();
+
+        //압축을 풀면 압축하지 않은 응답과 같음
+        String plainCsv = mockMvc.perform(get("/items/export").param("itemName", "exp").param("sort", "ID"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertThat(gunzip(result.getResponse().getContentAsByteArray())).isEqualTo(plainCsv);
+
+        //gzip;q=0 은 압축하지 않음
+        mockMvc.perform(get("/items/export").param("itemName", "exp")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void searchCondition() throws Exception {
+        String csv = mockMvc.perform(get("/items/export")
+                        .param("itemName", "exp").param("minPrice", "2000").param("maxPrice", "50000")
+                        .param("sort", "PRICE_DESC"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        //조건에 맞는 item만, 요청한 정렬 순서대로
+        assertThat(csv).isEqualTo(HEADER + "\n"
+                + plain.getId() + ",expPlain,3000,3\n"
+                + multiline.getId() + ",\"exp\nline\",2000,2\n");
+
+        //조건에 맞는 item이 없으면 헤더 행만
+        assertThat(mockMvc.perform(get("/items/export").param("itemName", "exp").param("maxPrice", "10"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8))
+                .isEqualTo(HEADER + "\n");
+    }
+
+    private static String gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
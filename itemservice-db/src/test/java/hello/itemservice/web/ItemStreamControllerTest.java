@@ -0,0 +1,134 @@
+package hello.itemservice.web;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.ItemSearchCond;
+import hello.itemservice.repository.memory.MemoryItemRepository;
+import hello.itemservice.service.ItemServiceV1;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// * scanItems()가 item을 넘겨줄 때마다 그때까지 응답에 쓰인 내용을 기록 -> head/chunk가 조회 도중에 나가는지 확인
+class ItemStreamControllerTest {
+
+    static final int ITEMS = 250;
+    static final int CHUNK_ROWS = 100;
+    static final String ROWS_MARKER = "<!-- item rows -->";
+    static final Pattern ROW = Pattern.compile("<a href=\"/items/(\\d+)\">\\1</a>");
+
+    MemoryItemRepository itemRepository = new MemoryItemRepository();
+    List<String> written = new ArrayList<>();
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void beforeEach() {
+        itemRepository.clearStore();
+
+        // 조회 도중 CHUNK_ROWS개마다(첫 item 포함) 응답에 쓰인 내용
+        ItemServiceV1 itemService = new ItemServiceV1(itemRepository) {
+            @Override
+            public void scanItems(ItemSearchCond itemSearch, Consumer<Item> action) {
+                AtomicInteger count = new AtomicInteger();
+                super.scanItems(itemSearch, item -> {
+                    if (count.getAndIncrement() % CHUNK_ROWS == 0) {
+                        written.add(currentContent());
+                    }
+                    action.accept(item);
+                });
+            }
+        };
+
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new ItemStreamController(itemService, templateEngine)).build();
+    }
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void sortedInChunks() throws Exception {
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            expected.add(0, itemRepository.save(new Item("stream" + i, 100 + i, 1)).getId());
+        }
+
+        String page = mockMvc.perform(get("/items/stream").param("sort", "PRICE_DESC"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        //정렬해도 findItems()로 모으지 않고 cursor 조회 - chunk가 다 찰 때마다 그 전까지의 row가 이미 응답에 쓰여 있음
+        assertThat(written).hasSize(3);
+        String head = written.get(0);
+        assertThat(head).contains("<tbody>").doesNotContain(ROWS_MARKER);
+        assertThat(rowIds(head)).isEmpty();
+        assertThat(rowIds(written.get(1))).hasSize(CHUNK_ROWS);
+        assertThat(rowIds(written.get(2))).hasSize(CHUNK_ROWS * 2);
+
+        //head + 정렬 순서대로 모든 row + tail
+        assertThat(page).startsWith(head).doesNotContain(ROWS_MARKER).endsWith("</html>");
+        assertThat(rowIds(page)).isEqualTo(expected);
+        String tail = page.substring(page.lastIndexOf("</tr>") + "</tr>".length());
+        assertThat(tail.trim()).startsWith("</tbody>");
+    }
+
+    @Test
+    void limit() throws Exception {
+        for (int i = 0; i < ITEMS; i++) {
+            itemRepository.save(new Item("stream" + i, 100 + i, 1));
+        }
+
+        String page = mockMvc.perform(get("/items/stream").param("sort", "PRICE_ASC").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(rowIds(page)).hasSize(5);
+    }
+
+    private static List<Long> rowIds(String content) {
+        List<Long> ids = new ArrayList<>();
+        Matcher matcher = ROW.matcher(content);
+        while (matcher.find()) {
+            ids.add(Long.parseLong(matcher.group(1)));
+        }
+        return ids;
+    }
+
+    private static String currentContent() {
+        MockHttpServletResponse response = (MockHttpServletResponse)
+                ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getResponse();
+        try {
+            return response.getContentAsString();
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package hello.itemservice.web;
+
+import hello.itemservice.domain.Item;
+import hello.itemservice.repository.r2dbc.R2dbcItemRepository;
+import hello.itemservice.repository.r2dbc.ReactiveItemRepository;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// * Mono/Flux 반환 -> 요청은 async로 시작되고 결과가 오면 asyncDispatch로 응답이 써짐
+class ReactiveItemControllerTest {
+
+    ReactiveItemRepository itemRepository;
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void beforeEach() {
+        JdbcTemplate template = new JdbcTemplate(
+                new DriverManagerDataSource("jdbc:h2:mem:reactive-controller-test;DB_CLOSE_DELAY=-1", "sa", ""));
+        template.execute("drop table if exists item");
+        template.execute("create table item (id bigint generated by default as identity," +
+                " item_name varchar(10), price integer, quantity integer, primary key (id))");
+        itemRepository = new R2dbcItemRepository(DatabaseClient.create(
+                ConnectionFactories.get("r2dbc:h2:mem:///reactive-controller-test?options=DB_CLOSE_DELAY=-1")));
+        mockMvc = MockMvcBuilders.standaloneSetup(new ReactiveItemController(itemRepository)).build();
+    }
+
+    @Test
+    void items() throws Exception {
+        itemRepository.save(new Item("itemA-1", 10000, 10)).block();
+        itemRepository.save(new Item("itemB-1", 20000, 20)).block();
+
+        MvcResult result = mockMvc.perform(get("/reactive/items").param("itemName", "itemA"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].itemName").value("itemA-1"));
+    }
+
+    @Test
+    void streamItems() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            itemRepository.save(new Item("item" + i, 10000, 10)).block();
+        }
+
+        MvcResult result = mockMvc.perform(get("/reactive/items/stream").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        //스트리밍 응답은 다 쓴 뒤에 완료됨 - 한 줄에 item 하나
+        result.getAsyncResult();
+        assertThat(result.getResponse().getContentAsString().trim().split("\n")).hasSize(3);
+    }
+
+    @Test
+    void item() throws Exception {
+        Item savedItem = itemRepository.save(new Item("itemA", 10000, 10)).block();
+
+        MvcResult found = mockMvc.perform(get("/reactive/items/{itemId}", savedItem.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(found))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemName").value("itemA"));
+
+        //비어있는 Mono -> 404
+        MvcResult notFound = mockMvc.perform(get("/reactive/items/{itemId}", Long.MAX_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(notFound))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void edit() throws Exception {
+        Item savedItem = itemRepository.save(new Item("itemA", 10000, 10)).block();
+
+        MvcResult result = mockMvc.perform(put("/reactive/items/{itemId}", savedItem.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemName\":\"itemB\",\"price\":20000,\"quantity\":20}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        assertThat(itemRepository.findById(savedItem.getId()).block().getItemName()).isEqualTo("itemB");
+    }
+}
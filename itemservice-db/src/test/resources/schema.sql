@@ -5,4 +5,26 @@ create table item (
     price       integer,
     quantity    integer,
     primary key (id)
-);
\ No newline at end of file
+);
+create index idx_item_price on item (price, id);
+create index idx_item_quantity on item (quantity, id);
+drop table if exists item_stats CASCADE;
+create table item_stats (
+    band                integer,
+    item_count          bigint not null,
+    total_quantity      bigint not null,
+    total_stock_value   bigint not null,
+    primary key (band)
+);
+drop table if exists item_outbox CASCADE;
+create table item_outbox (
+    seq         bigint generated by default as identity,
+    item_id     bigint,
+    change_type varchar(10) not null,
+    item_name   varchar(10),
+    price       integer,
+    quantity    integer,
+    created_at  timestamp not null,
+    primary key (seq)
+);
+create index idx_item_outbox_created_at on item_outbox (created_at);
\ No newline at end of file